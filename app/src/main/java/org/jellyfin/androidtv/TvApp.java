@@ -19,7 +19,10 @@ import android.support.v4.app.ActivityCompat;
 import android.support.v4.content.ContextCompat;
 import android.util.Log;
 
+import com.bumptech.glide.Glide;
+
 import org.jellyfin.androidtv.base.BaseActivity;
+import org.jellyfin.androidtv.details.DetailsPrefetcher;
 import org.jellyfin.androidtv.playback.MediaManager;
 import org.jellyfin.androidtv.playback.PlaybackController;
 import org.jellyfin.androidtv.playback.PlaybackOverlayActivity;
@@ -120,6 +123,18 @@ public class TvApp extends Application implements ActivityCompat.OnRequestPermis
 
     }
 
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        Glide.get(this).trimMemory(level);
+    }
+
+    @Override
+    public void onLowMemory() {
+        super.onLowMemory();
+        Glide.get(this).clearMemory();
+    }
+
     public static TvApp getApplication() {
         return app;
     }
@@ -147,7 +162,14 @@ public class TvApp extends Application implements ActivityCompat.OnRequestPermis
     }
 
     public void setCurrentUser(UserDto currentUser) {
+        boolean changed = this.currentUser == null || currentUser == null || !this.currentUser.getId().equals(currentUser.getId());
         this.currentUser = currentUser;
+        if (changed) {
+            // anything held for the previous user must not show up for the new one
+            DetailsPrefetcher.clear();
+        }
+        // also brings the queues back after a log out and in again as the same user
+        MediaManager.onCurrentUserChanged();
     }
 
     public GsonJsonSerializer getSerializer() {
@@ -1,7 +1,6 @@
 package org.jellyfin.androidtv.browsing;
 
 import android.app.Fragment;
-import android.graphics.Bitmap;
 import android.graphics.drawable.Drawable;
 import android.os.Bundle;
 import android.os.Handler;
@@ -20,13 +19,12 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.request.animation.GlideAnimation;
-import com.bumptech.glide.request.target.SimpleTarget;
-
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
 import org.jellyfin.androidtv.base.BaseActivity;
+import org.jellyfin.androidtv.imagehandling.BackdropLoader;
+import org.jellyfin.androidtv.details.DetailsPrefetcher;
+import org.jellyfin.androidtv.imagehandling.ImagePrefetcher;
 import org.jellyfin.androidtv.itemhandling.BaseRowItem;
 import org.jellyfin.androidtv.itemhandling.ItemLauncher;
 import org.jellyfin.androidtv.itemhandling.ItemRowAdapter;
@@ -34,11 +32,10 @@ import org.jellyfin.androidtv.presentation.CardPresenter;
 import org.jellyfin.androidtv.presentation.PositionableListRowPresenter;
 import org.jellyfin.androidtv.querying.QueryType;
 import org.jellyfin.androidtv.querying.ViewQuery;
+import org.jellyfin.androidtv.util.Debouncer;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * Created by Eric on 4/15/2015.
@@ -57,10 +54,8 @@ public class CustomBrowseFragment extends Fragment implements IRowLoader {
     protected CompositeSelectedListener mSelectedListener = new CompositeSelectedListener();
     protected ArrayObjectAdapter mRowsAdapter;
     private Drawable mDefaultBackground;
-    private SimpleTarget<Bitmap> mBackgroundTarget;
+    private BackdropLoader mBackdropLoader;
     private DisplayMetrics mMetrics;
-    private Timer mBackgroundTimer;
-    private final Handler mHandler = new Handler();
     private String mBackgroundUrl;
     protected ArrayList<BrowseRowDef> mRows = new ArrayList<>();
     CardPresenter mCardPresenter;
@@ -109,9 +104,7 @@ public class CustomBrowseFragment extends Fragment implements IRowLoader {
     @Override
     public void onDestroy() {
         super.onDestroy();
-        if (null != mBackgroundTimer) {
-            mBackgroundTimer.cancel();
-        }
+        Debouncer.cancel(updateBackgroundTask);
     }
 
     @Override
@@ -206,12 +199,7 @@ public class CustomBrowseFragment extends Fragment implements IRowLoader {
         mMetrics = new DisplayMetrics();
         getActivity().getWindowManager().getDefaultDisplay().getMetrics(mMetrics);
 
-        mBackgroundTarget = new SimpleTarget<Bitmap>(mMetrics.widthPixels, mMetrics.heightPixels) {
-            @Override
-            public void onResourceReady(Bitmap resource, GlideAnimation<? super Bitmap> glideAnimation) {
-                backgroundManager.setBitmap(resource);
-            }
-        };
+        mBackdropLoader = new BackdropLoader(getActivity(), backgroundManager, mMetrics);
 
     }
 
@@ -241,6 +229,7 @@ public class CustomBrowseFragment extends Fragment implements IRowLoader {
         @Override
         public void onItemSelected(Presenter.ViewHolder itemViewHolder, Object item,
                                    RowPresenter.ViewHolder rowViewHolder, Row row) {
+            DetailsPrefetcher.onItemSelected(item);
             if (!(item instanceof BaseRowItem)) {
                 //fill in default background
                 mBackgroundUrl = null;
@@ -254,6 +243,7 @@ public class CustomBrowseFragment extends Fragment implements IRowLoader {
 
             //mApplication.getLogger().Debug("Selected Item "+rowItem.getIndex() + " type: "+ (rowItem.getItemType().equals(BaseRowItem.ItemType.BaseItem) ? rowItem.getBaseItem().getType() : "other"));
             ItemRowAdapter adapter = (ItemRowAdapter) ((ListRow)row).getAdapter();
+            adapter.prefetchImages(rowItem.getIndex(), ImagePrefetcher.ROW_DISTANCE);
             adapter.loadMoreItemsIfNeeded(rowItem.getIndex());
 
             mBackgroundUrl = rowItem.getBackdropImageUrl();
@@ -271,48 +261,31 @@ public class CustomBrowseFragment extends Fragment implements IRowLoader {
     }
 
     protected void updateBackground(String url) {
-        Glide.with(getActivity())
-                .load(url)
-                .asBitmap()
-                .override(mMetrics.widthPixels, mMetrics.heightPixels)
-                .centerCrop()
-                .error(mDefaultBackground)
-                .into(mBackgroundTarget);
+        mBackdropLoader.load(url, mDefaultBackground);
     }
 
     protected void updateBackground(Drawable drawable) {
-        BackgroundManager.getInstance(getActivity()).setDrawable(drawable);
+        mBackdropLoader.show(drawable);
     }
 
     protected void clearBackground() {
-        BackgroundManager.getInstance(getActivity()).setDrawable(mDefaultBackground);
+        mBackdropLoader.show(mDefaultBackground);
     }
 
     private void startBackgroundTimer() {
-        if (null != mBackgroundTimer) {
-            mBackgroundTimer.cancel();
-        }
-        mBackgroundTimer = new Timer();
-        mBackgroundTimer.schedule(new UpdateBackgroundTask(), BACKGROUND_UPDATE_DELAY);
+        Debouncer.schedule(updateBackgroundTask, BACKGROUND_UPDATE_DELAY);
     }
 
-    private class UpdateBackgroundTask extends TimerTask {
-
+    private Runnable updateBackgroundTask = new Runnable() {
         @Override
         public void run() {
-            mHandler.post(new Runnable() {
-                @Override
-                public void run() {
-                    if (mBackgroundUrl != null) {
-                        updateBackground(mBackgroundUrl);
-                    } else {
-                        updateBackground(mDefaultBackground);
-                    }
-                }
-            });
-
+            if (mBackgroundUrl != null) {
+                updateBackground(mBackgroundUrl);
+            } else {
+                updateBackground(mDefaultBackground);
+            }
         }
-    }
+    };
 
 
 }
@@ -2,7 +2,6 @@ package org.jellyfin.androidtv.browsing;
 
 import android.app.Fragment;
 import android.content.Intent;
-import android.graphics.Bitmap;
 import android.graphics.Color;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
@@ -29,10 +28,6 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.request.animation.GlideAnimation;
-import com.bumptech.glide.request.target.SimpleTarget;
-
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
 import org.jellyfin.androidtv.base.BaseActivity;
@@ -40,8 +35,12 @@ import org.jellyfin.androidtv.base.CustomMessage;
 import org.jellyfin.androidtv.base.IKeyListener;
 import org.jellyfin.androidtv.base.IMessageListener;
 import org.jellyfin.androidtv.details.ItemListActivity;
+import org.jellyfin.androidtv.imagehandling.BackdropLoader;
+import org.jellyfin.androidtv.details.DetailsPrefetcher;
+import org.jellyfin.androidtv.imagehandling.ImagePrefetcher;
 import org.jellyfin.androidtv.itemhandling.BaseRowItem;
 import org.jellyfin.androidtv.itemhandling.ItemLauncher;
+import org.jellyfin.androidtv.itemhandling.ItemRefresher;
 import org.jellyfin.androidtv.itemhandling.ItemRowAdapter;
 import org.jellyfin.androidtv.playback.MediaManager;
 import org.jellyfin.androidtv.presentation.CardPresenter;
@@ -50,13 +49,12 @@ import org.jellyfin.androidtv.presentation.PositionableListRowPresenter;
 import org.jellyfin.androidtv.querying.QueryType;
 import org.jellyfin.androidtv.querying.ViewQuery;
 import org.jellyfin.androidtv.ui.GridButton;
+import org.jellyfin.androidtv.util.Debouncer;
 import org.jellyfin.androidtv.util.InfoLayoutHelper;
 import org.jellyfin.androidtv.util.KeyProcessor;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
 
 import mediabrowser.apiinteraction.EmptyResponse;
 import mediabrowser.apiinteraction.Response;
@@ -93,7 +91,7 @@ public class EnhancedBrowseFragment extends Fragment implements IRowLoader {
 
     protected BaseRowItem favSongsRowItem;
 
-    private SimpleTarget<Bitmap> mBackgroundTarget;
+    private BackdropLoader mBackdropLoader;
     private DisplayMetrics mMetrics;
 
     RowsFragment mRowsFragment;
@@ -101,8 +99,6 @@ public class EnhancedBrowseFragment extends Fragment implements IRowLoader {
     protected CompositeSelectedListener mSelectedListener = new CompositeSelectedListener();
     protected ArrayObjectAdapter mRowsAdapter;
     private Drawable mDefaultBackground;
-    private Timer mBackgroundTimer;
-    private final Handler mHandler = new Handler();
     private String mBackgroundUrl;
     protected ArrayList<BrowseRowDef> mRows = new ArrayList<>();
     CardPresenter mCardPresenter;
@@ -206,9 +202,8 @@ public class EnhancedBrowseFragment extends Fragment implements IRowLoader {
     @Override
     public void onDestroy() {
         super.onDestroy();
-        if (null != mBackgroundTimer) {
-            mBackgroundTimer.cancel();
-        }
+        Debouncer.cancel(updateBackgroundTask);
+        Debouncer.cancel(updateContentTask);
     }
 
     @Override
@@ -386,7 +381,7 @@ public class EnhancedBrowseFragment extends Fragment implements IRowLoader {
         if (mCurrentItem != null && !"Photo".equals(mCurrentItem.getType()) && !"MusicArtist".equals(mCurrentItem.getType())
                 && !"MusicAlbum".equals(mCurrentItem.getType()) && !"Playlist".equals(mCurrentItem.getType())) {
             TvApp.getApplication().getLogger().Debug("Refresh item "+mCurrentItem.getFullName());
-            mCurrentItem.refresh(new EmptyResponse() {
+            ItemRefresher.refresh(mRowsAdapter, mCurrentItem, new EmptyResponse() {
                 @Override
                 public void onResponse() {
                     ItemRowAdapter adapter = (ItemRowAdapter) ((ListRow) mCurrentRow).getAdapter();
@@ -509,7 +504,8 @@ public class EnhancedBrowseFragment extends Fragment implements IRowLoader {
         @Override
         public void onItemSelected(Presenter.ViewHolder itemViewHolder, Object item,
                                    RowPresenter.ViewHolder rowViewHolder, Row row) {
-            mHandler.removeCallbacks(updateContentTask);
+            DetailsPrefetcher.onItemSelected(item);
+            Debouncer.cancel(updateContentTask);
             if (item instanceof GridButton && ((GridButton)item).getId() == FAVSONGS) {
                 //set to specialized item
                 mCurrentItem = favSongsRowItem;
@@ -532,10 +528,11 @@ public class EnhancedBrowseFragment extends Fragment implements IRowLoader {
             mTitle.setText(mCurrentItem.getName());
             mInfoRow.removeAllViews();
             mSummary.setText("");
-            mHandler.postDelayed(updateContentTask, 500);
+            Debouncer.schedule(updateContentTask, 500);
 
             //mApplication.getLogger().Debug("Selected Item "+rowItem.getIndex() + " type: "+ (rowItem.getItemType().equals(BaseRowItem.ItemType.BaseItem) ? rowItem.getBaseItem().getType() : "other"));
             ItemRowAdapter adapter = (ItemRowAdapter) ((ListRow)row).getAdapter();
+            adapter.prefetchImages(rowItem.getIndex(), ImagePrefetcher.ROW_DISTANCE);
             adapter.loadMoreItemsIfNeeded(rowItem.getIndex());
 
             mBackgroundUrl = rowItem.getBackdropImageUrl();
@@ -564,60 +561,34 @@ public class EnhancedBrowseFragment extends Fragment implements IRowLoader {
         mMetrics = new DisplayMetrics();
         getActivity().getWindowManager().getDefaultDisplay().getMetrics(mMetrics);
 
-        mBackgroundTarget = new SimpleTarget<Bitmap>(mMetrics.widthPixels, mMetrics.heightPixels) {
-            @Override
-            public void onResourceReady(Bitmap resource, GlideAnimation<? super Bitmap> glideAnimation) {
-                backgroundManager.setBitmap(resource);
-            }
-        };
+        mBackdropLoader = new BackdropLoader(getActivity(), backgroundManager, mMetrics);
     }
 
     protected void updateBackground(String url) {
-        if (url == null) {
-            clearBackground();
-        } else {
-            Glide.with(getActivity())
-                    .load(url)
-                    .asBitmap()
-                    .override(mMetrics.widthPixels, mMetrics.heightPixels)
-                    .centerCrop()
-                    .error(mDefaultBackground)
-                    .into(mBackgroundTarget);
-        }
+        mBackdropLoader.load(url, mDefaultBackground);
     }
 
     protected void updateBackground(Drawable drawable) {
-        BackgroundManager.getInstance(getActivity()).setDrawable(drawable);
+        mBackdropLoader.show(drawable);
     }
 
     protected void clearBackground() {
-        BackgroundManager.getInstance(getActivity()).setDrawable(mDefaultBackground);
+        mBackdropLoader.show(mDefaultBackground);
     }
 
     private void startBackgroundTimer() {
-        if (null != mBackgroundTimer) {
-            mBackgroundTimer.cancel();
-        }
-        mBackgroundTimer = new Timer();
-        mBackgroundTimer.schedule(new UpdateBackgroundTask(), BACKGROUND_UPDATE_DELAY);
+        Debouncer.schedule(updateBackgroundTask, BACKGROUND_UPDATE_DELAY);
     }
 
-    private class UpdateBackgroundTask extends TimerTask {
-
+    private Runnable updateBackgroundTask = new Runnable() {
         @Override
         public void run() {
-            mHandler.post(new Runnable() {
-                @Override
-                public void run() {
-                    if (mBackgroundUrl != null) {
-                        updateBackground(mBackgroundUrl);
-                    } else {
-                        updateBackground(mDefaultBackground);
-                    }
-                }
-            });
-
+            if (mBackgroundUrl != null) {
+                updateBackground(mBackgroundUrl);
+            } else {
+                updateBackground(mDefaultBackground);
+            }
         }
-    }
+    };
 
 }
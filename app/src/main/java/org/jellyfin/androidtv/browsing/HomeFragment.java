@@ -20,6 +20,7 @@ import org.jellyfin.androidtv.base.CustomMessage;
 import org.jellyfin.androidtv.base.IMessageListener;
 import org.jellyfin.androidtv.integration.RecommendationManager;
 import org.jellyfin.androidtv.itemhandling.ItemRowAdapter;
+import org.jellyfin.androidtv.livetv.GuidePrefetcher;
 import org.jellyfin.androidtv.model.ChangeTriggerType;
 import org.jellyfin.androidtv.playback.AudioEventListener;
 import org.jellyfin.androidtv.playback.MediaManager;
@@ -124,6 +125,7 @@ public class HomeFragment extends StdBrowseFragment {
         super.onResume();
 
         addLogsButton();
+        if (TvApp.getApplication().getCurrentUser().getPolicy().getEnableLiveTvAccess()) GuidePrefetcher.start();
         //make sure rows have had a chance to be created
         new Handler().postDelayed(new Runnable() {
             @Override
@@ -136,10 +138,18 @@ public class HomeFragment extends StdBrowseFragment {
 
     }
 
+    @Override
+    public void onPause() {
+        super.onPause();
+        // no background guide loads while something else (playback included) is in front
+        GuidePrefetcher.stop();
+    }
+
     @Override
     public void onDestroy() {
         super.onDestroy();
         MediaManager.removeAudioEventListener(audioEventListener);
+        GuidePrefetcher.stop();
     }
 
     @Override
@@ -365,6 +375,7 @@ public class HomeFragment extends StdBrowseFragment {
                 switch (((GridButton) item).getId()) {
                     case LOGOUT:
                         TvApp app = TvApp.getApplication();
+                        MediaManager.releaseQueues();
                         if (app.getIsAutoLoginConfigured()) {
                             // Present user selection
                             app.setLoginApiClient(app.getApiClient());
@@ -14,7 +14,6 @@
 
 package org.jellyfin.androidtv.browsing;
 
-import android.graphics.Bitmap;
 import android.graphics.drawable.Drawable;
 import android.os.Bundle;
 import android.os.Handler;
@@ -39,19 +38,19 @@ import android.widget.FrameLayout;
 import android.widget.ImageView;
 import android.widget.TextView;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.request.animation.GlideAnimation;
-import com.bumptech.glide.request.target.SimpleTarget;
-
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
 import org.jellyfin.androidtv.base.BaseActivity;
 import org.jellyfin.androidtv.base.CustomMessage;
 import org.jellyfin.androidtv.base.IKeyListener;
 import org.jellyfin.androidtv.base.IMessageListener;
+import org.jellyfin.androidtv.imagehandling.BackdropLoader;
+import org.jellyfin.androidtv.details.DetailsPrefetcher;
+import org.jellyfin.androidtv.imagehandling.ImagePrefetcher;
 import org.jellyfin.androidtv.itemhandling.AudioQueueItem;
 import org.jellyfin.androidtv.itemhandling.BaseRowItem;
 import org.jellyfin.androidtv.itemhandling.ItemLauncher;
+import org.jellyfin.androidtv.itemhandling.ItemRefresher;
 import org.jellyfin.androidtv.itemhandling.ItemRowAdapter;
 import org.jellyfin.androidtv.presentation.CardPresenter;
 import org.jellyfin.androidtv.presentation.PositionableListRowPresenter;
@@ -60,13 +59,12 @@ import org.jellyfin.androidtv.querying.QueryType;
 import org.jellyfin.androidtv.querying.ViewQuery;
 import org.jellyfin.androidtv.ui.ClockUserView;
 import org.jellyfin.androidtv.ui.ItemPanel;
+import org.jellyfin.androidtv.util.Debouncer;
 import org.jellyfin.androidtv.util.KeyProcessor;
 import org.jellyfin.androidtv.util.Utils;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
 
 import mediabrowser.apiinteraction.EmptyResponse;
 
@@ -86,10 +84,8 @@ public class StdBrowseFragment extends BrowseFragment implements IRowLoader {
     protected CompositeSelectedListener mSelectedListener = new CompositeSelectedListener();
     protected ArrayObjectAdapter mRowsAdapter;
     private Drawable mDefaultBackground;
-    private SimpleTarget<Bitmap> mBackgroundTarget;
+    private BackdropLoader mBackdropLoader;
     private DisplayMetrics mMetrics;
-    private Timer mBackgroundTimer;
-    private final Handler mHandler = new Handler();
     private String mBackgroundUrl;
     protected ArrayList<BrowseRowDef> mRows = new ArrayList<>();
     CardPresenter mCardPresenter;
@@ -123,9 +119,9 @@ public class StdBrowseFragment extends BrowseFragment implements IRowLoader {
     @Override
     public void onDestroy() {
         super.onDestroy();
-        if (null != mBackgroundTimer) {
-            mBackgroundTimer.cancel();
-        }
+        Debouncer.cancel(updateBackgroundTask);
+        Debouncer.cancel(showItemPanel);
+        Debouncer.cancel(hideItemPanel);
     }
 
     @Override
@@ -253,12 +249,7 @@ public class StdBrowseFragment extends BrowseFragment implements IRowLoader {
         mMetrics = new DisplayMetrics();
         getActivity().getWindowManager().getDefaultDisplay().getMetrics(mMetrics);
 
-        mBackgroundTarget = new SimpleTarget<Bitmap>(mMetrics.widthPixels, mMetrics.heightPixels) {
-            @Override
-            public void onResourceReady(Bitmap resource, GlideAnimation<? super Bitmap> glideAnimation) {
-                backgroundManager.setBitmap(resource);
-            }
-        };
+        mBackdropLoader = new BackdropLoader(getActivity(), backgroundManager, mMetrics);
     }
 
     protected void setupUIElements() {
@@ -351,8 +342,7 @@ public class StdBrowseFragment extends BrowseFragment implements IRowLoader {
             if (mCurrentItem != null && !mCurrentItem.isFolder() && (mCurrentItem.getRuntimeTicks() > 0 ||  (mCurrentItem.getSummary() != null && mCurrentItem.getSummary().length() > 0))) {
                 mItemPanel.setItem(mCurrentItem);
                 mItemPanel.startAnimation(fadeInPanel);
-                mHandler.removeCallbacks(hideItemPanel);
-                mHandler.postDelayed(hideItemPanel, 20000);
+                Debouncer.schedule(hideItemPanel, 20000);
             } else {
                 mItemPanel.setVisibility(View.INVISIBLE);
             }
@@ -406,7 +396,7 @@ public class StdBrowseFragment extends BrowseFragment implements IRowLoader {
     private void refreshCurrentItem() {
         if (mCurrentItem != null && !mCurrentItem.getType().equals("UserView") && !mCurrentItem.getType().equals("CollectionFolder")) {
             TvApp.getApplication().getLogger().Debug("Refresh item "+mCurrentItem.getFullName());
-            mCurrentItem.refresh(new EmptyResponse() {
+            ItemRefresher.refresh(mRowsAdapter, mCurrentItem, new EmptyResponse() {
                 @Override
                 public void onResponse() {
                     ItemRowAdapter adapter = (ItemRowAdapter) ((ListRow)mCurrentRow).getAdapter();
@@ -431,16 +421,17 @@ public class StdBrowseFragment extends BrowseFragment implements IRowLoader {
         @Override
         public void onItemSelected(Presenter.ViewHolder itemViewHolder, Object item,
                                    RowPresenter.ViewHolder rowViewHolder, Row row) {
+            DetailsPrefetcher.onItemSelected(item);
 
             if (ShowInfoPanel) {
                 // cancel any delayed showing and hide item panel
-                mHandler.removeCallbacks(showItemPanel);
+                Debouncer.cancel(showItemPanel);
                 mItemPanel.setVisibility(View.INVISIBLE);
             }
 
             if (!(item instanceof BaseRowItem)) {
                 mCurrentItem = null;
-                mHandler.removeCallbacks(hideItemPanel);
+                Debouncer.cancel(hideItemPanel);
                 //fill in default background
                 mBackgroundUrl = null;
                 startBackgroundTimer();
@@ -449,7 +440,7 @@ public class StdBrowseFragment extends BrowseFragment implements IRowLoader {
                 mCurrentItem = (BaseRowItem)item;
                 if (!isShowingHeaders() && ShowInfoPanel && !(item instanceof AudioQueueItem)) {
                     // delay show the item panel
-                    mHandler.postDelayed(showItemPanel, 1000);
+                    Debouncer.schedule(showItemPanel, 1000);
                 }
             }
 
@@ -458,6 +449,7 @@ public class StdBrowseFragment extends BrowseFragment implements IRowLoader {
 
             //mApplication.getLogger().Debug("Selected Item "+rowItem.getIndex() + " type: "+ (rowItem.getItemType().equals(BaseRowItem.ItemType.BaseItem) ? rowItem.getBaseItem().getType() : "other"));
             ItemRowAdapter adapter = (ItemRowAdapter) ((ListRow)row).getAdapter();
+            adapter.prefetchImages(rowItem.getIndex(), ImagePrefetcher.ROW_DISTANCE);
             adapter.loadMoreItemsIfNeeded(rowItem.getIndex());
 
             mBackgroundUrl = rowItem.getBackdropImageUrl();
@@ -475,48 +467,31 @@ public class StdBrowseFragment extends BrowseFragment implements IRowLoader {
     }
 
     protected void updateBackground(String url) {
-        Glide.with(getActivity())
-                .load(url)
-                .asBitmap()
-                .override(mMetrics.widthPixels, mMetrics.heightPixels)
-                .centerCrop()
-                .error(mDefaultBackground)
-                .into(mBackgroundTarget);
+        mBackdropLoader.load(url, mDefaultBackground);
     }
 
     protected void updateBackground(Drawable drawable) {
-        BackgroundManager.getInstance(getActivity()).setDrawable(drawable);
+        mBackdropLoader.show(drawable);
     }
 
     protected void clearBackground() {
-        BackgroundManager.getInstance(getActivity()).setDrawable(mDefaultBackground);
+        mBackdropLoader.show(mDefaultBackground);
     }
 
     private void startBackgroundTimer() {
-        if (null != mBackgroundTimer) {
-            mBackgroundTimer.cancel();
-        }
-        mBackgroundTimer = new Timer();
-        mBackgroundTimer.schedule(new UpdateBackgroundTask(), BACKGROUND_UPDATE_DELAY);
+        Debouncer.schedule(updateBackgroundTask, BACKGROUND_UPDATE_DELAY);
     }
 
-    private class UpdateBackgroundTask extends TimerTask {
-
+    private Runnable updateBackgroundTask = new Runnable() {
         @Override
         public void run() {
-            mHandler.post(new Runnable() {
-                @Override
-                public void run() {
-                    if (mBackgroundUrl != null) {
-                        updateBackground(mBackgroundUrl);
-                    } else {
-                        updateBackground(mDefaultBackground);
-                    }
-                }
-            });
-
+            if (mBackgroundUrl != null) {
+                updateBackground(mBackgroundUrl);
+            } else {
+                updateBackground(mDefaultBackground);
+            }
         }
-    }
+    };
 
 
 }
@@ -16,7 +16,6 @@ package org.jellyfin.androidtv.browsing;
 
 import android.app.Activity;
 import android.content.Context;
-import android.graphics.Bitmap;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 import android.os.Bundle;
@@ -38,16 +37,14 @@ import android.widget.LinearLayout;
 import android.widget.PopupMenu;
 import android.widget.PopupWindow;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.request.animation.GlideAnimation;
-import com.bumptech.glide.request.target.SimpleTarget;
-
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
 import org.jellyfin.androidtv.base.BaseActivity;
 import org.jellyfin.androidtv.base.CustomMessage;
 import org.jellyfin.androidtv.base.IKeyListener;
 import org.jellyfin.androidtv.base.IMessageListener;
+import org.jellyfin.androidtv.details.DetailsPrefetcher;
+import org.jellyfin.androidtv.imagehandling.BackdropLoader;
 import org.jellyfin.androidtv.itemhandling.BaseRowItem;
 import org.jellyfin.androidtv.itemhandling.ItemLauncher;
 import org.jellyfin.androidtv.itemhandling.ItemRowAdapter;
@@ -64,12 +61,11 @@ import org.jellyfin.androidtv.ui.DisplayPrefsPopup;
 import org.jellyfin.androidtv.ui.HorizontalGridFragment;
 import org.jellyfin.androidtv.ui.ImageButton;
 import org.jellyfin.androidtv.ui.JumpList;
+import org.jellyfin.androidtv.util.Debouncer;
 import org.jellyfin.androidtv.util.KeyProcessor;
 import org.jellyfin.androidtv.util.Utils;
 
 import java.util.HashMap;
-import java.util.Timer;
-import java.util.TimerTask;
 
 import mediabrowser.apiinteraction.EmptyResponse;
 import mediabrowser.apiinteraction.Response;
@@ -89,9 +85,8 @@ public class StdGridFragment extends HorizontalGridFragment implements IGridLoad
     protected CompositeSelectedListener mSelectedListener = new CompositeSelectedListener();
     protected ItemRowAdapter mGridAdapter;
     private Drawable mDefaultBackground;
-    private SimpleTarget<Bitmap> mBackgroundTarget;
+    private BackdropLoader mBackdropLoader;
     private DisplayMetrics mMetrics;
-    private Timer mBackgroundTimer;
     private final Handler mHandler = new Handler();
     private String mBackgroundUrl;
     protected BrowseRowDef mRowDef;
@@ -151,9 +146,8 @@ public class StdGridFragment extends HorizontalGridFragment implements IGridLoad
     @Override
     public void onDestroy() {
         super.onDestroy();
-        if (null != mBackgroundTimer) {
-            mBackgroundTimer.cancel();
-        }
+        Debouncer.cancel(updateBackgroundTask);
+        Debouncer.cancel(mDelayedSetItem);
     }
 
     @Override
@@ -309,12 +303,7 @@ public class StdGridFragment extends HorizontalGridFragment implements IGridLoad
         mMetrics = new DisplayMetrics();
         getActivity().getWindowManager().getDefaultDisplay().getMetrics(mMetrics);
 
-        mBackgroundTarget = new SimpleTarget<Bitmap>(mMetrics.widthPixels, mMetrics.heightPixels) {
-            @Override
-            public void onResourceReady(Bitmap resource, GlideAnimation<? super Bitmap> glideAnimation) {
-                backgroundManager.setBitmap(resource);
-            }
-        };
+        mBackdropLoader = new BackdropLoader(getActivity(), backgroundManager, mMetrics);
     }
 
     protected void setupUIElements() {
@@ -634,8 +623,9 @@ public class StdGridFragment extends HorizontalGridFragment implements IGridLoad
         @Override
         public void onItemSelected(Presenter.ViewHolder itemViewHolder, Object item,
                                    RowPresenter.ViewHolder rowViewHolder, Row row) {
+            DetailsPrefetcher.onItemSelected(item);
 
-            mHandler.removeCallbacks(mDelayedSetItem);
+            Debouncer.cancel(mDelayedSetItem);
             if (!(item instanceof BaseRowItem)) {
                 mCurrentItem = null;
                 setTitle(MainTitle);
@@ -647,9 +637,13 @@ public class StdGridFragment extends HorizontalGridFragment implements IGridLoad
                 mCurrentItem = (BaseRowItem)item;
                 mTitleView.setText(mCurrentItem.getName());
                 mInfoRow.removeAllViews();
-                mHandler.postDelayed(mDelayedSetItem, 400);
+                Debouncer.schedule(mDelayedSetItem, 400);
 
-                if (!determiningPosterSize) mGridAdapter.loadMoreItemsIfNeeded(mCurrentItem.getIndex());
+                if (!determiningPosterSize) {
+                    // about four columns past the selection
+                    mGridAdapter.prefetchImages(mCurrentItem.getIndex(), getGridPresenter().getNumberOfRows() * 4);
+                    mGridAdapter.loadMoreItemsIfNeeded(mCurrentItem.getIndex());
+                }
 
             }
 
@@ -665,48 +659,31 @@ public class StdGridFragment extends HorizontalGridFragment implements IGridLoad
     }
 
     protected void updateBackground(String url) {
-        Glide.with(getActivity())
-                .load(url)
-                .asBitmap()
-                .override(mMetrics.widthPixels, mMetrics.heightPixels)
-                .centerCrop()
-                .error(mDefaultBackground)
-                .into(mBackgroundTarget);
+        mBackdropLoader.load(url, mDefaultBackground);
     }
 
     protected void updateBackground(Drawable drawable) {
-        BackgroundManager.getInstance(getActivity()).setDrawable(drawable);
+        mBackdropLoader.show(drawable);
     }
 
     protected void clearBackground() {
-        BackgroundManager.getInstance(getActivity()).setDrawable(mDefaultBackground);
+        mBackdropLoader.show(mDefaultBackground);
     }
 
     private void startBackgroundTimer() {
-        if (null != mBackgroundTimer) {
-            mBackgroundTimer.cancel();
-        }
-        mBackgroundTimer = new Timer();
-        mBackgroundTimer.schedule(new UpdateBackgroundTask(), BACKGROUND_UPDATE_DELAY);
+        Debouncer.schedule(updateBackgroundTask, BACKGROUND_UPDATE_DELAY);
     }
 
-    private class UpdateBackgroundTask extends TimerTask {
-
+    private Runnable updateBackgroundTask = new Runnable() {
         @Override
         public void run() {
-            mHandler.post(new Runnable() {
-                @Override
-                public void run() {
-                    if (mBackgroundUrl != null) {
-                        updateBackground(mBackgroundUrl);
-                    } else {
-                        updateBackground(mDefaultBackground);
-                    }
-                }
-            });
-
+            if (mBackgroundUrl != null) {
+                updateBackground(mBackgroundUrl);
+            } else {
+                updateBackground(mDefaultBackground);
+            }
         }
-    }
+    };
 
 
 }
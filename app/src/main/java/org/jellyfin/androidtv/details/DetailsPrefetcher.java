@@ -0,0 +1,174 @@
+// app/src/main/java/org/jellyfin/androidtv/details/DetailsPrefetcher.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.details;
+
+import android.content.Context;
+import android.util.LruCache;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+
+import org.jellyfin.androidtv.TvApp;
+import org.jellyfin.androidtv.imagehandling.BackdropLoader;
+import org.jellyfin.androidtv.itemhandling.BaseRowItem;
+import org.jellyfin.androidtv.util.Debouncer;
+import org.jellyfin.androidtv.util.Utils;
+
+import mediabrowser.apiinteraction.Response;
+import mediabrowser.model.dto.BaseItemDto;
+
+/**
+ * Speculatively loads what the details screen needs for a card that focus has settled on.
+ *
+ * Once selection dwells on an item that would open FullDetailsActivity, its full item is fetched and
+ * its poster and first backdrop are pulled into the image caches at the sizes the details screen asks
+ * for.  The details screen takes the item from here instead of waiting on the server.
+ */
+public class DetailsPrefetcher {
+    public static final long DWELL_DELAY = 750;
+    private static final long MAX_AGE = 60000;
+    private static final int MAX_ITEMS = 8;
+
+    private static final LruCache<String, Prefetched> items = new LruCache<>(MAX_ITEMS);
+    private static BaseItemDto pendingItem;
+    private static String loadingId;
+
+    private static Runnable prefetchTask = new Runnable() {
+        @Override
+        public void run() {
+            if (pendingItem != null) prefetch(pendingItem.getId());
+            pendingItem = null;
+        }
+    };
+
+    private DetailsPrefetcher() {
+    }
+
+    /**
+     * Called on every selection change - starts the dwell timer for items that open the details screen
+     */
+    public static void onItemSelected(Object item) {
+        Debouncer.cancel(prefetchTask);
+        pendingItem = item instanceof BaseRowItem && opensDetails((BaseRowItem) item) ? ((BaseRowItem) item).getBaseItem() : null;
+        if (pendingItem != null) Debouncer.schedule(prefetchTask, DWELL_DELAY);
+    }
+
+    public static void cancel() {
+        Debouncer.cancel(prefetchTask);
+        pendingItem = null;
+    }
+
+    /**
+     * @return the prefetched item if it is recent enough to show, removing it so a later reload goes to the server
+     */
+    public static BaseItemDto takeItem(String id) {
+        if (id == null) return null;
+        Prefetched prefetched = items.remove(id);
+        if (prefetched == null || System.currentTimeMillis() - prefetched.time > MAX_AGE) return null;
+        // user data on the item belongs to whoever was signed in when it was fetched
+        TvApp app = TvApp.getApplication();
+        if (app.getCurrentUser() == null || !app.getCurrentUser().getId().equals(prefetched.userId)) return null;
+        return prefetched.item;
+    }
+
+    public static void clear() {
+        cancel();
+        items.evictAll();
+    }
+
+    // mirrors the cases in ItemLauncher that start FullDetailsActivity for a BaseItem
+    private static boolean opensDetails(BaseRowItem rowItem) {
+        if (rowItem.getItemType() != BaseRowItem.ItemType.BaseItem || rowItem.getBaseItem() == null) return false;
+        BaseItemDto item = rowItem.getBaseItem();
+        if (item.getType() == null) return false;
+        switch (item.getType()) {
+            case "Series":
+            case "MusicArtist":
+                return true;
+            case "UserView":
+            case "CollectionFolder":
+            case "MusicAlbum":
+            case "Playlist":
+            case "BoxSet":
+            case "Photo":
+                return false;
+        }
+        return !item.getIsFolder() && rowItem.getSelectAction() == BaseRowItem.SelectAction.ShowDetails;
+    }
+
+    private static void prefetch(final String id) {
+        Prefetched existing = items.get(id);
+        if (existing != null && System.currentTimeMillis() - existing.time < MAX_AGE) return;
+        if (id.equals(loadingId)) return;
+
+        TvApp app = TvApp.getApplication();
+        if (app.getCurrentUser() == null) return;
+        loadingId = id;
+        final String userId = app.getCurrentUser().getId();
+        app.getApiClient().GetItemAsync(id, userId, new Response<BaseItemDto>() {
+            @Override
+            public void onResponse(BaseItemDto response) {
+                if (id.equals(loadingId)) loadingId = null;
+                if (response == null) return;
+                items.put(id, new Prefetched(response, userId));
+                preloadImages(response);
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                if (id.equals(loadingId)) loadingId = null;
+                TvApp.getApplication().getLogger().ErrorException("Unable to prefetch details for " + id, exception);
+            }
+        });
+    }
+
+    private static void preloadImages(BaseItemDto item) {
+        Context context = TvApp.getApplication();
+
+        // same request as the details poster so it is served straight from the memory cache
+        int posterHeight = FullDetailsActivity.getPosterHeight(context, item);
+        int posterWidth = FullDetailsActivity.getPosterWidth(context, item);
+        String posterUrl = Utils.getPrimaryImageUrl(item, TvApp.getApplication().getApiClient(), false, false, posterHeight);
+        if (posterUrl != null) {
+            Glide.with(context)
+                    .load(posterUrl)
+                    .asBitmap()
+                    .diskCacheStrategy(DiskCacheStrategy.ALL)
+                    .fitCenter()
+                    .override(posterWidth, posterHeight)
+                    .preload();
+        }
+
+        // backdrops skip the memory cache so this only warms the disk copy at screen size
+        String backdropUrl = Utils.getBackdropImageUrl(item, TvApp.getApplication().getApiClient(), true);
+        if (backdropUrl != null) BackdropLoader.preload(context, backdropUrl);
+    }
+
+    private static class Prefetched {
+        final BaseItemDto item;
+        final String userId;
+        final long time;
+
+        Prefetched(BaseItemDto item, String userId) {
+            this.item = item;
+            this.userId = userId;
+            time = System.currentTimeMillis();
+        }
+    }
+}
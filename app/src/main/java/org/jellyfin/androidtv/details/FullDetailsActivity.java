@@ -2,6 +2,7 @@ package org.jellyfin.androidtv.details;
 
 import android.app.Activity;
 import android.app.AlertDialog;
+import android.content.Context;
 import android.content.DialogInterface;
 import android.content.Intent;
 import android.graphics.Bitmap;
@@ -9,7 +10,6 @@ import android.graphics.Color;
 import android.graphics.Point;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
-import android.os.AsyncTask;
 import android.os.Bundle;
 import android.os.Handler;
 import android.support.v17.leanback.app.BackgroundManager;
@@ -30,13 +30,15 @@ import android.view.View;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
-import com.squareup.picasso.Picasso;
-import com.squareup.picasso.Target;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.request.animation.GlideAnimation;
+import com.bumptech.glide.request.target.SimpleTarget;
 
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
 import org.jellyfin.androidtv.base.BaseActivity;
-import org.jellyfin.androidtv.imagehandling.PicassoBackgroundManagerTarget;
+import org.jellyfin.androidtv.imagehandling.BackdropLoader;
 import org.jellyfin.androidtv.itemhandling.BaseRowItem;
 import org.jellyfin.androidtv.itemhandling.ItemLauncher;
 import org.jellyfin.androidtv.itemhandling.ItemRowAdapter;
@@ -58,9 +60,9 @@ import org.jellyfin.androidtv.util.InfoLayoutHelper;
 import org.jellyfin.androidtv.util.KeyProcessor;
 import org.jellyfin.androidtv.util.Utils;
 
-import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
@@ -100,7 +102,7 @@ public class FullDetailsActivity extends BaseActivity implements IRecordingIndic
     private ImageButton mRecSeriesButton;
     private ImageButton mWatchedToggleButton;
 
-    private Target mBackgroundTarget;
+    private BackdropLoader mBackdropLoader;
     private Drawable mDefaultBackground;
     private DisplayMetrics mMetrics;
 
@@ -114,6 +116,8 @@ public class FullDetailsActivity extends BaseActivity implements IRecordingIndic
     private TextView mTitle;
     private RowsFragment mRowsFragment;
     private ArrayObjectAdapter mRowsAdapter;
+    // row queries started for the current details page - dropped when it is replaced or destroyed
+    private List<ItemRowAdapter> mRowAdapters = new ArrayList<>();
 
     private MyDetailsOverviewRowPresenter mDorPresenter;
     private MyDetailsOverviewRow mDetailsOverviewRow;
@@ -144,9 +148,9 @@ public class FullDetailsActivity extends BaseActivity implements IRecordingIndic
         mGenreRow = (LinearLayout) findViewById(R.id.fdGenreRow);
         BackgroundManager backgroundManager = BackgroundManager.getInstance(this);
         backgroundManager.attach(getWindow());
-        mBackgroundTarget = new PicassoBackgroundManagerTarget(backgroundManager);
         mMetrics = new DisplayMetrics();
         getWindowManager().getDefaultDisplay().getMetrics(mMetrics);
+        mBackdropLoader = new BackdropLoader(this, backgroundManager, mMetrics);
 
         mRowsFragment = new RowsFragment();
         getFragmentManager().beginTransaction().add(R.id.rowsFragment, mRowsFragment).commit();
@@ -223,6 +227,12 @@ public class FullDetailsActivity extends BaseActivity implements IRecordingIndic
         stopRotate();
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        cancelRows();
+    }
+
 
     @Override
     public boolean onKeyUp(int keyCode, KeyEvent event) {
@@ -264,11 +274,12 @@ public class FullDetailsActivity extends BaseActivity implements IRecordingIndic
 
     private void updatePoster() {
         if (isFinishing()) return;
-        Picasso.with(mActivity)
+        Glide.with(mActivity)
                 .load(Utils.getPrimaryImageUrl(mBaseItem, TvApp.getApplication().getApiClient(),false, false, posterHeight))
-                .skipMemoryCache()
-                .resize(posterWidth, posterHeight)
-                .centerInside()
+                .diskCacheStrategy(DiskCacheStrategy.ALL)
+                .skipMemoryCache(true)
+                .override(posterWidth, posterHeight)
+                .fitCenter()
                 .into(mDorPresenter.getPosterView());
     }
 
@@ -292,7 +303,11 @@ public class FullDetailsActivity extends BaseActivity implements IRecordingIndic
                 }
             });
         } else {
-            mApplication.getApiClient().GetItemAsync(id, mApplication.getCurrentUser().getId(), new DetailItemLoadResponse(this));
+            // focus may have dwelt on this item long enough for it to be fetched already
+            DetailsPrefetcher.cancel();
+            BaseItemDto prefetched = DetailsPrefetcher.takeItem(id);
+            if (prefetched != null) setBaseItem(prefetched);
+            else mApplication.getApiClient().GetItemAsync(id, mApplication.getCurrentUser().getId(), new DetailItemLoadResponse(this));
         }
 
         mLastUpdated = Calendar.getInstance();
@@ -313,95 +328,115 @@ public class FullDetailsActivity extends BaseActivity implements IRecordingIndic
         if (mRecSeriesButton != null) mRecSeriesButton.setImageResource(id == null ? R.drawable.recserieswhite : R.drawable.recseries);
     }
 
-    private class BuildDorTask extends AsyncTask<BaseItemDto, Integer, MyDetailsOverviewRow> {
+    static int getPosterHeight(Context context, BaseItemDto item) {
+        return Utils.getImageAspectRatio(item, false) > 1 ? Utils.convertDpToPixel(context, 170) : Utils.convertDpToPixel(context, 300);
+    }
 
-        @Override
-        protected MyDetailsOverviewRow doInBackground(BaseItemDto... params) {
-            BaseItemDto item = params[0];
-
-            // Figure image size
-            Double aspect = Utils.getImageAspectRatio(item, false);
-            posterHeight = aspect > 1 ? Utils.convertDpToPixel(mActivity, 170) : Utils.convertDpToPixel(mActivity, 300);
-            posterWidth = (int)((aspect) * posterHeight);
-            if (posterHeight < 10) posterWidth = Utils.convertDpToPixel(mActivity, 150);  //Guard against zero size images causing picasso to barf
-
-            String primaryImageUrl = Utils.getPrimaryImageUrl(mBaseItem, TvApp.getApplication().getApiClient(),false, false, posterHeight);
-            mDetailsOverviewRow = new MyDetailsOverviewRow(item);
-
-            mDetailsOverviewRow.setSummary(item.getOverview());
-            switch (item.getType()) {
-                case "Person":
-                case "MusicArtist":
-                    mDetailsOverviewRow.setSummarySubTitle("");
-                    break;
-                default:
-
-                    BaseItemPerson director = Utils.GetFirstPerson(item, PersonType.Director);
-                    if (director != null) {
-                        mDetailsOverviewRow.setSummaryTitle(getString(R.string.lbl_directed_by)+director.getName());
-                    }
-                    mDetailsOverviewRow.setSummarySubTitle(getEndTime());
-            }
-            try {
-                //Main image
-                Bitmap poster = Picasso.with(mActivity)
-                        .load(primaryImageUrl)
-                        .skipMemoryCache()
-                        .resize(posterWidth, posterHeight)
-                        .centerInside()
-                        .get();
-                mDetailsOverviewRow.setImageBitmap(mActivity, poster);
-
-                //Studio image
-                int height = Utils.convertDpToPixel(mActivity, 40);
-                int width = Utils.convertDpToPixel(mActivity, 100);
-                if (item.getStudios() != null && item.getStudios().length > 0 && item.getStudios()[0].getHasPrimaryImage()) {
-                    String studioImageUrl = Utils.getPrimaryImageUrl(item.getStudios()[0], mApplication.getApiClient(), height);
-                    if (studioImageUrl != null) mDetailsOverviewRow.setStudioBitmap(mActivity, Picasso.with(mActivity).load(studioImageUrl).resize(width, height).centerInside().get());
-                } else {
-                    if (item.getSeriesStudio() != null) {
-                        String studioImageUrl = null;
-                        try {
-                            ImageOptions options = new ImageOptions();
-                            options.setMaxHeight(height);
-                            options.setImageType(ImageType.Primary);
-                            studioImageUrl = mApplication.getApiClient().GetStudioImageUrl(URLEncoder.encode(item.getSeriesStudio(), "utf-8"), options);
-                        } catch (UnsupportedEncodingException e) {
-                            e.printStackTrace();
-                        }
-                        if (studioImageUrl != null) mDetailsOverviewRow.setStudioBitmap(mActivity, Picasso.with(mActivity).load(studioImageUrl).resize(width, height).centerInside().get());
+    static int getPosterWidth(Context context, BaseItemDto item) {
+        int height = getPosterHeight(context, item);
+        if (height < 10) return Utils.convertDpToPixel(context, 150);  //Guard against zero size images breaking the image request
+        return (int)(Utils.getImageAspectRatio(item, false) * height);
+    }
 
-                    }
-                }
+    private MyDetailsOverviewRow buildDetailsRow(BaseItemDto item) {
+        // Figure image size
+        posterHeight = getPosterHeight(mActivity, item);
+        posterWidth = getPosterWidth(mActivity, item);
 
-            } catch (IOException e) {
-                TvApp.getApplication().getLogger().ErrorException("Error loading image", e);
+        MyDetailsOverviewRow row = new MyDetailsOverviewRow(item);
 
-            }
+        row.setSummary(item.getOverview());
+        switch (item.getType()) {
+            case "Person":
+            case "MusicArtist":
+                row.setSummarySubTitle("");
+                break;
+            default:
 
-            return mDetailsOverviewRow;
+                BaseItemPerson director = Utils.GetFirstPerson(item, PersonType.Director);
+                if (director != null) {
+                    row.setSummaryTitle(getString(R.string.lbl_directed_by)+director.getName());
+                }
+                row.setSummarySubTitle(getEndTime());
         }
 
-        @Override
-        protected void onPostExecute(MyDetailsOverviewRow detailsOverviewRow) {
-            super.onPostExecute(detailsOverviewRow);
-
-            if (isFinishing()) return;
+        return row;
+    }
 
-            ClassPresenterSelector ps = new ClassPresenterSelector();
-            ps.addClassPresenter(MyDetailsOverviewRow.class, mDorPresenter);
-            ps.addClassPresenter(ListRow.class, new ListRowPresenter());
-            mRowsAdapter = new ArrayObjectAdapter(ps);
-            mRowsFragment.setAdapter(mRowsAdapter);
-            mRowsAdapter.add(detailsOverviewRow);
+    /**
+     * Poster and studio image load alongside the rows and drop into the details row when they arrive
+     */
+    private void loadDetailsImages(final MyDetailsOverviewRow row, BaseItemDto item) {
+        String primaryImageUrl = Utils.getPrimaryImageUrl(item, TvApp.getApplication().getApiClient(),false, false, posterHeight);
+        Glide.with(mActivity)
+                .load(primaryImageUrl)
+                .asBitmap()
+                .diskCacheStrategy(DiskCacheStrategy.ALL)
+                .fitCenter()
+                .into(new SimpleTarget<Bitmap>(posterWidth, posterHeight) {
+                    @Override
+                    public void onResourceReady(Bitmap resource, GlideAnimation<? super Bitmap> glideAnimation) {
+                        if (row != mDetailsOverviewRow) return;
+                        row.setImageBitmap(mActivity, resource);
+                        mDorPresenter.updateImages(row);
+                    }
+                });
 
-            updateInfo(detailsOverviewRow.getItem());
-            addAdditionalRows(mRowsAdapter);
+        int height = Utils.convertDpToPixel(mActivity, 40);
+        int width = Utils.convertDpToPixel(mActivity, 100);
+        String studioImageUrl = getStudioImageUrl(item, height);
+        if (studioImageUrl != null) {
+            Glide.with(mActivity)
+                    .load(studioImageUrl)
+                    .asBitmap()
+                    .diskCacheStrategy(DiskCacheStrategy.ALL)
+                    .fitCenter()
+                    .into(new SimpleTarget<Bitmap>(width, height) {
+                        @Override
+                        public void onResourceReady(Bitmap resource, GlideAnimation<? super Bitmap> glideAnimation) {
+                            if (row != mDetailsOverviewRow) return;
+                            row.setStudioBitmap(mActivity, resource);
+                            mDorPresenter.updateImages(row);
+                        }
+                    });
+        }
+    }
 
+    private String getStudioImageUrl(BaseItemDto item, int height) {
+        if (item.getStudios() != null && item.getStudios().length > 0 && item.getStudios()[0].getHasPrimaryImage()) {
+            return Utils.getPrimaryImageUrl(item.getStudios()[0], mApplication.getApiClient(), height);
+        } else if (item.getSeriesStudio() != null) {
+            try {
+                ImageOptions options = new ImageOptions();
+                options.setMaxHeight(Utils.getImageSizeBucket(height));
+                options.setImageType(ImageType.Primary);
+                return mApplication.getApiClient().GetStudioImageUrl(URLEncoder.encode(item.getSeriesStudio(), "utf-8"), options);
+            } catch (UnsupportedEncodingException e) {
+                e.printStackTrace();
+            }
         }
+        return null;
+    }
+
+    private void showDetails(BaseItemDto item) {
+        cancelRows();
+        mDetailsOverviewRow = buildDetailsRow(item);
+
+        ClassPresenterSelector ps = new ClassPresenterSelector();
+        ps.addClassPresenter(MyDetailsOverviewRow.class, mDorPresenter);
+        ps.addClassPresenter(ListRow.class, new ListRowPresenter());
+        mRowsAdapter = new ArrayObjectAdapter(ps);
+        mRowsFragment.setAdapter(mRowsAdapter);
+        mRowsAdapter.add(mDetailsOverviewRow);
+
+        // none of these wait on each other - images, backdrop and every row query are in flight together
+        loadDetailsImages(mDetailsOverviewRow, item);
+        updateInfo(item);
+        addAdditionalRows(mRowsAdapter);
     }
 
     public void setBaseItem(BaseItemDto item) {
+        if (isFinishing() || isDestroyed()) return;
         mBaseItem = item;
         if (mBaseItem != null) {
             if (mChannelId != null) {
@@ -410,7 +445,7 @@ public class FullDetailsActivity extends BaseActivity implements IRecordingIndic
                 mBaseItem.setEndDate(mProgramInfo.getEndDate());
                 mBaseItem.setRunTimeTicks(mProgramInfo.getRunTimeTicks());
             }
-            new BuildDorTask().execute(item);
+            showDetails(item);
         }
     }
 
@@ -419,9 +454,17 @@ public class FullDetailsActivity extends BaseActivity implements IRecordingIndic
         ListRow listRow = new ListRow(header, row);
         parent.add(listRow);
         row.setRow(listRow);
+        mRowAdapters.add(row);
         row.Retrieve();
     }
 
+    private void cancelRows() {
+        for (ItemRowAdapter row : mRowAdapters) {
+            row.cancel();
+        }
+        mRowAdapters.clear();
+    }
+
     protected void addAdditionalRows(ArrayObjectAdapter adapter) {
         TvApp.getApplication().getLogger().Debug("Item type: "+mBaseItem.getType());
         switch (mBaseItem.getType()) {
@@ -1073,17 +1116,7 @@ public class FullDetailsActivity extends BaseActivity implements IRecordingIndic
     }
 
     protected void updateBackground(String url) {
-        if (url == null) {
-            BackgroundManager.getInstance(this).setDrawable(mDefaultBackground);
-        } else {
-            Picasso.with(this)
-                    .load(url)
-                    .skipMemoryCache()
-                    .resize(mMetrics.widthPixels, mMetrics.heightPixels)
-                    .centerCrop()
-                    .error(mDefaultBackground)
-                    .into(mBackgroundTarget);
-        }
+        mBackdropLoader.load(url, mDefaultBackground);
     }
 
 }
@@ -21,14 +21,14 @@ import android.widget.RelativeLayout;
 import android.widget.ScrollView;
 import android.widget.TextView;
 
-import com.squareup.picasso.Picasso;
-import com.squareup.picasso.Target;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
 
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
 import org.jellyfin.androidtv.base.BaseActivity;
 import org.jellyfin.androidtv.base.IKeyListener;
-import org.jellyfin.androidtv.imagehandling.PicassoBackgroundManagerTarget;
+import org.jellyfin.androidtv.imagehandling.BackdropLoader;
 import org.jellyfin.androidtv.itemhandling.BaseRowItem;
 import org.jellyfin.androidtv.itemhandling.ItemLauncher;
 import org.jellyfin.androidtv.model.GotFocusEvent;
@@ -94,7 +94,7 @@ public class ItemListActivity extends BaseActivity {
 
     private TvApp mApplication;
     private BaseActivity mActivity;
-    private Target mBackgroundTarget;
+    private BackdropLoader mBackdropLoader;
     private Drawable mDefaultBackground;
     private DisplayMetrics mMetrics;
     private Handler mLoopHandler = new Handler();
@@ -207,7 +207,7 @@ public class ItemListActivity extends BaseActivity {
 
         BackgroundManager backgroundManager = BackgroundManager.getInstance(this);
         backgroundManager.attach(getWindow());
-        mBackgroundTarget = new PicassoBackgroundManagerTarget(backgroundManager);
+        mBackdropLoader = new BackdropLoader(this, backgroundManager, mMetrics);
         mDefaultBackground = getResources().getDrawable(R.drawable.moviebg);
 
         mItemId = getIntent().getStringExtra("ItemId");
@@ -507,14 +507,15 @@ public class ItemListActivity extends BaseActivity {
                 Double aspect = Utils.getImageAspectRatio(item, false);
                 int posterHeight = aspect > 1 ? Utils.convertDpToPixel(this, 170) : Utils.convertDpToPixel(this, 300);
                 int posterWidth = (int)((aspect) * posterHeight);
-                if (posterHeight < 10) posterWidth = Utils.convertDpToPixel(this, 150);  //Guard against zero size images causing picasso to barf
+                if (posterHeight < 10) posterWidth = Utils.convertDpToPixel(this, 150);  //Guard against zero size images breaking the image request
 
                 String primaryImageUrl = Utils.getPrimaryImageUrl(mBaseItem, TvApp.getApplication().getApiClient(),false, false, posterHeight);
 
-                Picasso.with(this)
+                Glide.with(this)
                         .load(primaryImageUrl)
-                        .resize(posterWidth,posterHeight)
-                        .centerInside()
+                        .diskCacheStrategy(DiskCacheStrategy.ALL)
+                        .override(posterWidth,posterHeight)
+                        .fitCenter()
                         .into(mPoster);
 
                 break;
@@ -748,17 +749,7 @@ public class ItemListActivity extends BaseActivity {
     }
 
     protected void updateBackground(String url) {
-        if (url == null) {
-            BackgroundManager.getInstance(this).setDrawable(mDefaultBackground);
-        } else {
-            Picasso.with(this)
-                    .load(url)
-                    .skipMemoryCache()
-                    .resize(mMetrics.widthPixels, mMetrics.heightPixels)
-                    .centerCrop()
-                    .error(mDefaultBackground)
-                    .into(mBackgroundTarget);
-        }
+        mBackdropLoader.load(url, mDefaultBackground);
     }
 
 }
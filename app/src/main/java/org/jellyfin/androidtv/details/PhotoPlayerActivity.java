@@ -21,8 +21,10 @@ import android.widget.FrameLayout;
 import android.widget.ImageView;
 
 import com.flaviofaria.kenburnsview.KenBurnsView;
-import com.squareup.picasso.Callback;
-import com.squareup.picasso.Picasso;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.resource.drawable.GlideDrawable;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.target.Target;
 
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
@@ -338,15 +340,15 @@ public class PhotoPlayerActivity extends BaseActivity {
         if (photo != null) {
             if (target == nextImage) isLoadingNext = true;
             if (target == prevImage) isLoadingPrev = true;
-            Picasso.with(this)
+            Glide.with(this)
                     .load(Utils.getPrimaryImageUrl(photo, displayWidth, displayHeight))
-                    .resize(displayWidth, displayHeight)
-                    .centerInside()
-                    .skipMemoryCache()
+                    .override(displayWidth, displayHeight)
+                    .fitCenter()
+                    .skipMemoryCache(true)
                     .error(R.drawable.photo)
-                    .into(target, new Callback() {
+                    .listener(new RequestListener<String, GlideDrawable>() {
                         @Override
-                        public void onSuccess() {
+                        public boolean onResourceReady(GlideDrawable resource, String model, Target<GlideDrawable> glideTarget, boolean isFromMemoryCache, boolean isFirstResource) {
                             if (target == nextImage) isLoadingNext = false;
                             if (target == prevImage) isLoadingPrev = false;
                             TvApp.getApplication().getLogger().Debug("Loaded item "+photo.getName());
@@ -359,15 +361,18 @@ public class PhotoPlayerActivity extends BaseActivity {
                                     }
                                 }, 5000);
                             }
+                            return false;
                         }
 
                         @Override
-                        public void onError() {
+                        public boolean onException(Exception e, String model, Target<GlideDrawable> glideTarget, boolean isFirstResource) {
                             if (target == nextImage) isLoadingNext = false;
                             if (target == prevImage) isLoadingPrev = false;
                             TvApp.getApplication().getLogger().Debug("Error loading item "+photo.getName());
+                            return false;
                         }
-                    });
+                    })
+                    .into(target);
         }
     }
 
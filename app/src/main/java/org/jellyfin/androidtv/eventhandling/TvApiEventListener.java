@@ -2,11 +2,14 @@ package org.jellyfin.androidtv.eventhandling;
 
 import android.content.Context;
 import android.content.Intent;
+import android.os.Handler;
+import android.os.Looper;
 
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
 import org.jellyfin.androidtv.itemhandling.BaseRowItem;
 import org.jellyfin.androidtv.itemhandling.ItemLauncher;
+import org.jellyfin.androidtv.itemhandling.ItemRowAdapter;
 import org.jellyfin.androidtv.playback.MediaManager;
 import org.jellyfin.androidtv.playback.PlaybackOverlayActivity;
 import org.jellyfin.androidtv.querying.StdItemQuery;
@@ -26,11 +29,13 @@ import mediabrowser.model.session.GeneralCommand;
 import mediabrowser.model.session.PlayRequest;
 import mediabrowser.model.session.PlaystateRequest;
 import mediabrowser.model.session.SessionInfoDto;
+import mediabrowser.model.session.UserDataChangeInfo;
 
 /**
  * Created by Eric on 2/14/2015.
  */
 public class TvApiEventListener extends ApiEventListener {
+    private Handler mainHandler = new Handler(Looper.getMainLooper());
 
     @Override
     public void onPlaybackStopped(ApiClient client, SessionInfoDto info) {
@@ -51,6 +56,20 @@ public class TvApiEventListener extends ApiEventListener {
         }
     }
 
+    @Override
+    public void onUserDataChanged(ApiClient client, final UserDataChangeInfo info) {
+        TvApp app = TvApp.getApplication();
+        if (app.getCurrentUser() == null || !app.getCurrentUser().getId().equals(info.getUserId()) || info.getUserDataList() == null) return;
+        app.getLogger().Debug("Got user data changes for " + info.getUserDataList().size() + " items from server");
+        // patch just the affected items instead of waiting for whole rows to be re-retrieved
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                ItemRowAdapter.updateUserData(info.getUserDataList());
+            }
+        });
+    }
+
     @Override
     public void onGeneralCommand(ApiClient client, GeneralCommand command) {
         switch (command.getName().toLowerCase()) {
@@ -0,0 +1,180 @@
+// app/src/main/java/org/jellyfin/androidtv/imagehandling/BackdropLoader.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.imagehandling;
+
+import android.app.Activity;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+import android.support.v17.leanback.app.BackgroundManager;
+import android.util.DisplayMetrics;
+import android.view.WindowManager;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.request.animation.GlideAnimation;
+import com.bumptech.glide.request.target.SimpleTarget;
+
+import org.jellyfin.androidtv.TvApp;
+
+/**
+ * Loads full screen backdrops into the activity's BackgroundManager while reusing their bitmaps.
+ *
+ * Backdrops are decoded through a few screen sized targets.  BackgroundManager only ever draws its current
+ * drawable and the one it is fading out, so a load always goes into a target holding neither of those.
+ * Loading releases that target's old backdrop to the Glide bitmap pool, where the decode picks it up again
+ * instead of allocating a new screen sized bitmap - it can't still be on screen when it is reused.
+ * A request for the backdrop already showing or loading is ignored.
+ */
+public class BackdropLoader {
+    private static final int SLOTS = 3;
+
+    private Activity mActivity;
+    private BackgroundManager mBackgroundManager;
+    private int mWidth;
+    private int mHeight;
+    private Slot[] mSlots = new Slot[SLOTS];
+
+    // the slots BackgroundManager may still be drawing - showing now and fading out
+    private int mShownSlot = -1;
+    private int mFadingSlot = -1;
+    private String mShownUrl;
+    private Slot mLoadingSlot;
+    private String mLoadingUrl;
+
+    public BackdropLoader(Activity activity, BackgroundManager backgroundManager, DisplayMetrics metrics) {
+        mActivity = activity;
+        mBackgroundManager = backgroundManager;
+        mWidth = metrics.widthPixels;
+        mHeight = metrics.heightPixels;
+        for (int i = 0; i < SLOTS; i++) {
+            mSlots[i] = new Slot(i);
+        }
+    }
+
+    /**
+     * Show the backdrop at url or the fallback if there isn't one or it fails to load
+     */
+    public void load(String url, Drawable fallback) {
+        if (url == null) {
+            show(fallback);
+            return;
+        }
+        if (url.equals(mLoadingUrl)) return;
+        if (url.equals(mShownUrl)) {
+            cancel();
+            return;
+        }
+
+        if (mLoadingSlot == null) mLoadingSlot = getFreeSlot();
+        mLoadingUrl = url;
+        Glide.with(mActivity)
+                .load(url)
+                .asBitmap()
+                .skipMemoryCache(true)
+                .override(mWidth, mHeight)
+                .centerCrop()
+                .error(fallback)
+                .into(mLoadingSlot);
+    }
+
+    /**
+     * Decode the backdrop at url into the disk cache with the same request load() makes, so a later load
+     * is served from there.  Sized from the default display like the activities that create loaders.
+     */
+    public static void preload(Context context, String url) {
+        DisplayMetrics metrics = new DisplayMetrics();
+        ((WindowManager) context.getSystemService(Context.WINDOW_SERVICE)).getDefaultDisplay().getMetrics(metrics);
+        Glide.with(context)
+                .load(url)
+                .asBitmap()
+                .skipMemoryCache(true)
+                .override(metrics.widthPixels, metrics.heightPixels)
+                .centerCrop()
+                .preload();
+    }
+
+    /**
+     * Show a drawable instead of a backdrop, cancelling any backdrop still loading
+     */
+    public void show(Drawable drawable) {
+        cancel();
+        mShownUrl = null;
+        replaced(-1);
+        try {
+            mBackgroundManager.setDrawable(drawable);
+        } catch (IllegalStateException e) {
+            TvApp.getApplication().getLogger().ErrorException("Unable to set background", e);
+        }
+    }
+
+    private Slot getFreeSlot() {
+        for (Slot slot : mSlots) {
+            if (slot.mIndex != mShownSlot && slot.mIndex != mFadingSlot) return slot;
+        }
+        return null; // can't happen with more than two slots
+    }
+
+    // what was showing starts fading out and anything fading before that is no longer drawn
+    private void replaced(int newSlot) {
+        if (mShownSlot != newSlot) mFadingSlot = mShownSlot;
+        mShownSlot = newSlot;
+    }
+
+    private void cancel() {
+        if (mLoadingSlot != null) Glide.clear(mLoadingSlot);
+        mLoadingSlot = null;
+        mLoadingUrl = null;
+    }
+
+    private class Slot extends SimpleTarget<Bitmap> {
+        private int mIndex;
+
+        Slot(int index) {
+            super(mWidth, mHeight);
+            mIndex = index;
+        }
+
+        @Override
+        public void onResourceReady(Bitmap bitmap, GlideAnimation<? super Bitmap> glideAnimation) {
+            replaced(mIndex);
+            mShownUrl = mLoadingUrl;
+            mLoadingSlot = null;
+            mLoadingUrl = null;
+            try {
+                mBackgroundManager.setBitmap(bitmap);
+            } catch (IllegalStateException e) {
+                TvApp.getApplication().getLogger().ErrorException("Unable to set background", e);
+            }
+        }
+
+        @Override
+        public void onLoadFailed(Exception e, Drawable errorDrawable) {
+            mLoadingSlot = null;
+            mLoadingUrl = null;
+            mShownUrl = null;
+            if (errorDrawable == null) return;
+            replaced(-1);
+            try {
+                mBackgroundManager.setDrawable(errorDrawable);
+            } catch (IllegalStateException ex) {
+                TvApp.getApplication().getLogger().ErrorException("Unable to set background", ex);
+            }
+        }
+    }
+}
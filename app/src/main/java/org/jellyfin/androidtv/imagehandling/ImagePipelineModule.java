@@ -0,0 +1,82 @@
+// app/src/main/java/org/jellyfin/androidtv/imagehandling/ImagePipelineModule.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.imagehandling;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.preference.PreferenceManager;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.module.GlideModule;
+
+import java.io.InputStream;
+
+/**
+ * Configuration for the single image pipeline used by every screen.
+ *
+ * Memory cache and bitmap pool share one budget sized from the device memory class so low memory
+ * boxes keep fewer decoded images around, and all downloads go through one disk cache whose size
+ * is the user's image cache setting (read at startup).  Tagged server images get permanent keys from
+ * {@link TaggedImageLoader}.  Registered through the manifest meta-data.
+ */
+public class ImagePipelineModule implements GlideModule {
+    private static final String DISK_CACHE_DIR = "images";
+    private static final String DEFAULT_DISK_CACHE_MB = "250";
+    private static final int LOW_MEMORY_CLASS = 128;
+
+    @Override
+    public void applyOptions(Context context, GlideBuilder builder) {
+        MemorySizeCalculator calculator = new MemorySizeCalculator(context);
+        int memoryCacheSize = calculator.getMemoryCacheSize();
+        int bitmapPoolSize = calculator.getBitmapPoolSize();
+
+        ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        if (activityManager.isLowRamDevice() || activityManager.getMemoryClass() <= LOW_MEMORY_CLASS) {
+            memoryCacheSize /= 2;
+            bitmapPoolSize /= 2;
+        }
+
+        builder.setMemoryCache(new LruResourceCache(memoryCacheSize));
+        builder.setBitmapPool(new LruBitmapPool(bitmapPoolSize));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, DISK_CACHE_DIR, getDiskCacheBytes(context)));
+        builder.setDecodeFormat(DecodeFormat.PREFER_RGB_565);
+    }
+
+    @Override
+    public void registerComponents(Context context, Glide glide) {
+        glide.register(GlideUrl.class, InputStream.class, new TaggedImageLoader.Factory());
+    }
+
+    private static int getDiskCacheBytes(Context context) {
+        int megabytes;
+        try {
+            megabytes = Integer.parseInt(PreferenceManager.getDefaultSharedPreferences(context).getString("pref_image_cache_size", DEFAULT_DISK_CACHE_MB));
+        } catch (NumberFormatException e) {
+            megabytes = Integer.parseInt(DEFAULT_DISK_CACHE_MB);
+        }
+        return megabytes * 1024 * 1024;
+    }
+}
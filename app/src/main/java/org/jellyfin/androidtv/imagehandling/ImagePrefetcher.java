@@ -0,0 +1,96 @@
+// app/src/main/java/org/jellyfin/androidtv/imagehandling/ImagePrefetcher.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.imagehandling;
+
+import android.support.v17.leanback.widget.ObjectAdapter;
+import android.support.v17.leanback.widget.Presenter;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.request.target.Target;
+
+import org.jellyfin.androidtv.itemhandling.BaseRowItem;
+import org.jellyfin.androidtv.presentation.CardPresenter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads card images ahead of the selection in a row or grid.
+ *
+ * Each time the selected position changes, the next cards in the direction of travel are preloaded at the
+ * size their card will request, so they come from the memory cache when bound.  Loads the selection has
+ * moved past are cancelled, and so is everything outstanding when the direction reverses.
+ */
+public class ImagePrefetcher {
+    public static final int ROW_DISTANCE = 10;
+
+    private ObjectAdapter mAdapter;
+    private int mLastPosition = -1;
+    private int mDirection;
+    private Map<Integer, Target> mRequests = new HashMap<>();
+
+    public ImagePrefetcher(ObjectAdapter adapter) {
+        mAdapter = adapter;
+    }
+
+    /**
+     * @param distance how many cards past the selection to load
+     */
+    public void onPositionChanged(int pos, int distance) {
+        if (pos == mLastPosition || pos < 0) return;
+        int direction = mLastPosition < 0 || pos > mLastPosition ? 1 : -1;
+        mLastPosition = pos;
+
+        if (direction != mDirection) {
+            cancel();
+            mDirection = direction;
+        } else {
+            // anything at or behind the selection has been bound or skipped
+            List<Integer> passed = new ArrayList<>();
+            for (Integer requested : mRequests.keySet()) {
+                if ((requested - pos) * direction <= 0) passed.add(requested);
+            }
+            for (Integer requested : passed) {
+                Glide.clear(mRequests.remove(requested));
+            }
+        }
+
+        int size = mAdapter.size();
+        for (int i = 1; i <= distance; i++) {
+            int ndx = pos + i * direction;
+            if (ndx < 0 || ndx >= size) break;
+            if (mRequests.containsKey(ndx)) continue;
+            Object item = mAdapter.get(ndx);
+            if (!(item instanceof BaseRowItem)) continue;
+            Presenter presenter = mAdapter.getPresenter(item);
+            if (!(presenter instanceof CardPresenter)) continue;
+            Target request = ((CardPresenter) presenter).preloadImage((BaseRowItem) item);
+            if (request != null) mRequests.put(ndx, request);
+        }
+    }
+
+    public void cancel() {
+        for (Target request : mRequests.values()) {
+            Glide.clear(request);
+        }
+        mRequests.clear();
+    }
+}
@@ -0,0 +1,120 @@
+// app/src/main/java/org/jellyfin/androidtv/imagehandling/TaggedImageLoader.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.imagehandling;
+
+import android.content.Context;
+
+import com.bumptech.glide.load.data.DataFetcher;
+import com.bumptech.glide.load.data.HttpUrlFetcher;
+import com.bumptech.glide.load.model.GenericLoaderFactory;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+
+import org.jellyfin.androidtv.TvApp;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.TreeMap;
+
+import mediabrowser.apiinteraction.ApiClient;
+
+/**
+ * Url loader that gives server images carrying an image tag a permanent disk cache key.
+ *
+ * The tag changes whenever the image does so an item id, image type, tag and requested size always
+ * refer to the same bytes on a given server.  The key is built from the server id (or the host, for urls
+ * that aren't on the current server) and just those parts of the url - the access token is dropped - so
+ * cached art stays valid across restarts and address changes and is never downloaded again until the disk
+ * cache evicts it, while two servers never share an entry.  Urls without a tag keep the default key.
+ */
+public class TaggedImageLoader implements ModelLoader<GlideUrl, InputStream> {
+    private static final String TAG_PARAM = "tag";
+    private static final String TOKEN_PARAM = "api_key";
+
+    @Override
+    public DataFetcher<InputStream> getResourceFetcher(GlideUrl model, int width, int height) {
+        String key = getCacheKey(model.toStringUrl());
+        return new HttpUrlFetcher(key != null ? new TaggedUrl(model.toStringUrl(), key) : model);
+    }
+
+    /**
+     * @return the normalized cache key for an image url or null if it has no image tag
+     */
+    public static String getCacheKey(String url) {
+        if (url == null) return null;
+        int queryStart = url.indexOf('?');
+        if (queryStart < 0) return null;
+
+        String path = url.substring(0, queryStart);
+        int hostStart = path.indexOf("://");
+        int pathStart = path.indexOf('/', hostStart < 0 ? 0 : hostStart + 3);
+        if (pathStart < 0) return null;
+
+        TreeMap<String, String> params = new TreeMap<>();
+        for (String param : url.substring(queryStart + 1).split("&")) {
+            int split = param.indexOf('=');
+            String name = (split < 0 ? param : param.substring(0, split)).toLowerCase();
+            if (name.length() == 0 || name.equals(TOKEN_PARAM)) continue;
+            params.put(name, split < 0 ? "" : param.substring(split + 1));
+        }
+        String tag = params.get(TAG_PARAM);
+        if (tag == null || tag.length() == 0) return null;
+
+        StringBuilder key = new StringBuilder(getServerKey(path.substring(0, pathStart))).append('|').append(path.substring(pathStart).toLowerCase());
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            key.append(key.indexOf("?") < 0 ? '?' : '&').append(param.getKey()).append('=').append(param.getValue());
+        }
+        return key.toString();
+    }
+
+    private static String getServerKey(String address) {
+        ApiClient apiClient = TvApp.getApplication().getApiClient();
+        if (apiClient != null && apiClient.getServerInfo() != null && apiClient.getServerInfo().getId() != null
+                && apiClient.getApiUrl() != null && apiClient.getApiUrl().toLowerCase().startsWith(address.toLowerCase())) {
+            return apiClient.getServerInfo().getId();
+        }
+        return address.toLowerCase();
+    }
+
+    private static class TaggedUrl extends GlideUrl {
+        private final String mCacheKey;
+
+        TaggedUrl(String url, String cacheKey) {
+            super(url);
+            mCacheKey = cacheKey;
+        }
+
+        @Override
+        public String getCacheKey() {
+            return mCacheKey;
+        }
+    }
+
+    public static class Factory implements ModelLoaderFactory<GlideUrl, InputStream> {
+        @Override
+        public ModelLoader<GlideUrl, InputStream> build(Context context, GenericLoaderFactory factories) {
+            return new TaggedImageLoader();
+        }
+
+        @Override
+        public void teardown() {
+        }
+    }
+}
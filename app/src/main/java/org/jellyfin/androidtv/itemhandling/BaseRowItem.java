@@ -15,7 +15,6 @@ import java.util.Date;
 import java.util.List;
 
 import mediabrowser.apiinteraction.EmptyResponse;
-import mediabrowser.apiinteraction.Response;
 import mediabrowser.model.apiclient.ServerInfo;
 import mediabrowser.model.dto.BaseItemDto;
 import mediabrowser.model.dto.BaseItemPerson;
@@ -520,13 +519,7 @@ public class BaseRowItem {
         switch (type) {
 
             case BaseItem:
-                TvApp.getApplication().getApiClient().GetItemAsync(getItemId(), TvApp.getApplication().getCurrentUser().getId(), new Response<BaseItemDto>() {
-                    @Override
-                    public void onResponse(BaseItemDto response) {
-                        baseItem = response;
-                        outerResponse.onResponse();
-                    }
-                });
+                ItemRefresher.refresh(this, outerResponse);
                 break;
             case Person:
                 break;
@@ -0,0 +1,173 @@
+// app/src/main/java/org/jellyfin/androidtv/itemhandling/ItemRefresher.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.itemhandling;
+
+import android.support.v17.leanback.widget.ArrayObjectAdapter;
+import android.support.v17.leanback.widget.ListRow;
+import android.support.v17.leanback.widget.ObjectAdapter;
+
+import org.jellyfin.androidtv.TvApp;
+import org.jellyfin.androidtv.util.Debouncer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import mediabrowser.apiinteraction.EmptyResponse;
+import mediabrowser.apiinteraction.Response;
+import mediabrowser.model.dto.BaseItemDto;
+import mediabrowser.model.querying.ItemQuery;
+import mediabrowser.model.querying.ItemsResult;
+
+/**
+ * Batches item refreshes into a single items query.
+ *
+ * Refresh requests made within a short window - typically everything touched on returning from playback -
+ * are collected by item id and resolved with one GetItemsAsync by Ids.  Only the user data - played state,
+ * progress and favorite - is merged into each waiting row item, so the rest of the item keeps whatever fields
+ * its row loaded.  The adapter it lives in, if known, is told that it changed.  Every waiting response hears
+ * back once, with an error if the batch could not be fetched.
+ */
+public class ItemRefresher {
+    private static final long BATCH_DELAY = 100;
+
+    private static LinkedHashMap<String, List<Pending>> pending = new LinkedHashMap<>();
+
+    private static Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    private ItemRefresher() {
+    }
+
+    /**
+     * Refresh a single row item
+     */
+    public static void refresh(BaseRowItem item, EmptyResponse response) {
+        add(item, null, response);
+    }
+
+    /**
+     * Refresh a row item along with every other card in the rows that shows the same item
+     */
+    public static void refresh(ObjectAdapter rows, BaseRowItem item, EmptyResponse response) {
+        // only base items have anything to refresh - other cards are left alone as BaseRowItem.refresh does
+        if (item.getItemType() != BaseRowItem.ItemType.BaseItem) return;
+        add(item, null, response);
+        String id = item.getItemId();
+        if (rows == null || id == null) return;
+
+        for (int r = 0; r < rows.size(); r++) {
+            Object row = rows.get(r);
+            if (!(row instanceof ListRow) || !(((ListRow) row).getAdapter() instanceof ArrayObjectAdapter)) continue;
+            ArrayObjectAdapter adapter = (ArrayObjectAdapter) ((ListRow) row).getAdapter();
+            for (int i = 0; i < adapter.size(); i++) {
+                Object other = adapter.get(i);
+                if (other != item && other instanceof BaseRowItem && ((BaseRowItem) other).getItemType() == BaseRowItem.ItemType.BaseItem
+                        && id.equals(((BaseRowItem) other).getItemId())) {
+                    add((BaseRowItem) other, adapter, null);
+                }
+            }
+        }
+    }
+
+    private static void add(BaseRowItem item, ArrayObjectAdapter adapter, EmptyResponse response) {
+        String id = item.getItemId();
+        if (id == null) return;
+        List<Pending> waiting = pending.get(id);
+        if (waiting == null) {
+            waiting = new ArrayList<>();
+            pending.put(id, waiting);
+        }
+        waiting.add(new Pending(item, adapter, response));
+        Debouncer.schedule(flushTask, BATCH_DELAY);
+    }
+
+    private static void flush() {
+        if (pending.isEmpty()) return;
+        final HashMap<String, List<Pending>> batch = new HashMap<>(pending);
+        pending.clear();
+
+        TvApp app = TvApp.getApplication();
+        if (app.getCurrentUser() == null) {
+            fail(batch, new Exception("No current user to refresh items for"));
+            return;
+        }
+        ItemQuery query = new ItemQuery();
+        query.setUserId(app.getCurrentUser().getId());
+        query.setIds(batch.keySet().toArray(new String[batch.size()]));
+        app.getLogger().Debug("Refreshing " + batch.size() + " item(s)");
+        app.getApiClient().GetItemsAsync(query, new Response<ItemsResult>() {
+            @Override
+            public void onResponse(ItemsResult response) {
+                if (response.getItems() != null) {
+                    for (BaseItemDto item : response.getItems()) {
+                        List<Pending> waiting = batch.remove(item.getId());
+                        if (waiting == null) continue;
+                        for (Pending entry : waiting) {
+                            entry.item.getBaseItem().setUserData(item.getUserData());
+                            if (entry.adapter != null) {
+                                int ndx = entry.adapter.indexOf(entry.item);
+                                if (ndx >= 0) entry.adapter.notifyArrayItemRangeChanged(ndx, 1);
+                            }
+                            if (entry.response != null) entry.response.onResponse();
+                        }
+                    }
+                }
+
+                // anything the server didn't return is left as it was
+                for (List<Pending> waiting : batch.values()) {
+                    for (Pending entry : waiting) {
+                        if (entry.response != null) entry.response.onResponse();
+                    }
+                }
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                TvApp.getApplication().getLogger().ErrorException("Error refreshing items", exception);
+                fail(batch, exception);
+            }
+        });
+    }
+
+    private static void fail(HashMap<String, List<Pending>> batch, Exception exception) {
+        for (List<Pending> waiting : batch.values()) {
+            for (Pending entry : waiting) {
+                if (entry.response != null) entry.response.onError(exception);
+            }
+        }
+    }
+
+    private static class Pending {
+        final BaseRowItem item;
+        final ArrayObjectAdapter adapter;
+        final EmptyResponse response;
+
+        Pending(BaseRowItem item, ArrayObjectAdapter adapter, EmptyResponse response) {
+            this.item = item;
+            this.adapter = adapter;
+            this.response = response;
+        }
+    }
+}
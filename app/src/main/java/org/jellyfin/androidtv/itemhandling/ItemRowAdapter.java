@@ -10,6 +10,7 @@ import android.support.v17.leanback.widget.PresenterSelector;
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
 import org.jellyfin.androidtv.browsing.EnhancedBrowseFragment;
+import org.jellyfin.androidtv.imagehandling.ImagePrefetcher;
 import org.jellyfin.androidtv.livetv.TvManager;
 import org.jellyfin.androidtv.model.ChangeTriggerType;
 import org.jellyfin.androidtv.model.ChapterItemInfo;
@@ -18,6 +19,7 @@ import org.jellyfin.androidtv.playback.MediaManager;
 import org.jellyfin.androidtv.presentation.IPositionablePresenter;
 import org.jellyfin.androidtv.presentation.TextItemPresenter;
 import org.jellyfin.androidtv.querying.QueryType;
+import org.jellyfin.androidtv.querying.ItemsResultCache;
 import org.jellyfin.androidtv.querying.SpecialsQuery;
 import org.jellyfin.androidtv.querying.StdItemQuery;
 import org.jellyfin.androidtv.querying.TrailersQuery;
@@ -26,11 +28,14 @@ import org.jellyfin.androidtv.ui.GridButton;
 import org.jellyfin.androidtv.ui.HorizontalGridFragment;
 import org.jellyfin.androidtv.util.Utils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.WeakHashMap;
 
 import mediabrowser.apiinteraction.EmptyResponse;
 import mediabrowser.apiinteraction.Response;
@@ -38,6 +43,7 @@ import mediabrowser.model.apiclient.ServerInfo;
 import mediabrowser.model.dto.BaseItemDto;
 import mediabrowser.model.dto.BaseItemPerson;
 import mediabrowser.model.dto.UserDto;
+import mediabrowser.model.dto.UserItemDataDto;
 import mediabrowser.model.livetv.ChannelInfoDto;
 import mediabrowser.model.livetv.LiveTvChannelQuery;
 import mediabrowser.model.livetv.RecommendedProgramQuery;
@@ -86,6 +92,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
     private ChangeTriggerType[] reRetrieveTriggers = new ChangeTriggerType[] {};
     private Calendar lastFullRetrieve;
+    private boolean refreshInPlace = false;
 
     private BaseItemPerson[] mPersons;
     private ServerInfo[] mServers;
@@ -95,16 +102,21 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
     private ArrayObjectAdapter mParent;
     private ListRow mRow;
+    private ImagePrefetcher mImagePrefetcher;
     private int chunkSize = 0;
 
     private int itemsLoaded = 0;
     private int totalItems = 0;
     private boolean fullyLoaded = false;
     private boolean currentlyRetrieving = false;
+    private boolean cancelled = false;
 
     private boolean preferParentThumb = false;
     private boolean staticHeight = false;
 
+    // adapters that have retrieved content - used to patch items in place on server notifications
+    private static WeakHashMap<ItemRowAdapter, Boolean> activeAdapters = new WeakHashMap<>();
+
     public boolean isCurrentlyRetrieving() {
         synchronized (this) {
             return currentlyRetrieving;
@@ -127,6 +139,14 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
         mRow = row;
     }
 
+    /**
+     * Drop any results still on their way - for rows whose screen has gone away
+     */
+    public void cancel() {
+        cancelled = true;
+        activeAdapters.remove(this);
+    }
+
     public void setReRetrieveTriggers(ChangeTriggerType[] reRetrieveTriggers) {
         this.reRetrieveTriggers = reRetrieveTriggers;
     }
@@ -434,6 +454,14 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
         mParent.remove(mRow);
     }
 
+    /**
+     * Preload images for the cards past the selected position in the direction the user is moving
+     */
+    public void prefetchImages(int pos, int distance) {
+        if (mImagePrefetcher == null) mImagePrefetcher = new ImagePrefetcher(this);
+        mImagePrefetcher.onPositionChanged(pos, distance);
+    }
+
     public void loadMoreItemsIfNeeded(long pos) {
         if (fullyLoaded) {
             //TvApp.getApplication().getLogger().Debug("Row is fully loaded");
@@ -530,13 +558,17 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
         if (retrieve) {
             TvApp.getApplication().getLogger().Info("Re-retrieving row of type "+ queryType);
+            // keep the current items on screen and only apply what changed
+            refreshInPlace = true;
             Retrieve();
+            refreshInPlace = false;
         }
 
         return retrieve;
     }
 
     public void Retrieve() {
+        activeAdapters.put(this, true);
         setCurrentlyRetrieving(true);
         lastFullRetrieve = Calendar.getInstance();
         itemsLoaded = 0;
@@ -625,6 +657,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
         TvApp.getApplication().getLoginApiClient().GetPublicUsersAsync(new Response<UserDto[]>() {
             @Override
             public void onResponse(UserDto[] response) {
+                if (cancelled) return;
                 for (UserDto user : response) {
                     adapter.add(new BaseRowItem(user));
                 }
@@ -637,6 +670,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving users", exception);
                 Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
                 removeRow();
@@ -722,6 +756,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
         TvApp.getApplication().getConnectionManager().GetApiClient(user).GetUserViews(user.getId(), new Response<ItemsResult>() {
             @Override
             public void onResponse(ItemsResult response) {
+                if (cancelled) return;
                 if (response.getTotalRecordCount() > 0) {
                     int i = 0;
                     int prevItems = adapter.size() > 0 ? adapter.size() : 0;
@@ -748,6 +783,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving items", exception);
                 removeRow();
                 Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
@@ -762,6 +798,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
         TvApp.getApplication().getApiClient().GetSearchHintsAsync(query, new Response<SearchHintResult>() {
             @Override
             public void onResponse(SearchHintResult response) {
+                if (cancelled) return;
                 if (response.getTotalRecordCount() > 0) {
                     int i = 0;
                     if (adapter.size() > 0) adapter.clear();
@@ -781,6 +818,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving search results", exception);
                 Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
                 currentlyRetrieving = false;
@@ -797,12 +835,14 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
                 TvApp.getApplication().getApiClient().GetAlbumArtistsAsync(mArtistsQuery, new Response<ItemsResult>() {
                     @Override
                     public void onResponse(ItemsResult response) {
+                        if (cancelled) return;
                         mArtistsQuery.setLimit(chunkSize > 0 ? chunkSize : null);
                         outerResponse.onResponse(response.getTotalRecordCount());
                     }
 
                     @Override
                     public void onError(Exception exception) {
+                        if (cancelled) return;
                         mArtistsQuery.setLimit(chunkSize > 0 ? chunkSize : null);
                         outerResponse.onError(exception);
                     }
@@ -821,11 +861,13 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
                 TvApp.getApplication().getApiClient().GetItemsAsync(sizeQuery, new Response<ItemsResult>() {
                     @Override
                     public void onResponse(ItemsResult response) {
+                        if (cancelled) return;
                         outerResponse.onResponse(response.getTotalRecordCount());
                     }
 
                     @Override
                     public void onError(Exception exception) {
+                        if (cancelled) return;
                         outerResponse.onError(exception);
                     }
                 });
@@ -837,38 +879,64 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
     }
 
-    public void Retrieve(ItemQuery query) {
-        TvApp.getApplication().getApiClient().GetItemsAsync(query, new Response<ItemsResult>() {
+    public void Retrieve(final ItemQuery query) {
+        // key and position are captured now because the query is mutated as the row pages
+        final String cacheKey = ItemsResultCache.getKey(query);
+        final CachedRetrieve cached = new CachedRetrieve(getItemsLoaded());
+        final boolean inPlace = refreshInPlace;
+
+        // a refresh in place already has live items on screen - no need for the cached ones
+        if (!inPlace) ItemsResultCache.getInstance().get(cacheKey, new Response<ItemsResultCache.Entry>() {
             @Override
-            public void onResponse(ItemsResult response) {
-                if (response.getTotalRecordCount() > 0) {
-                    setTotalItems(response.getTotalRecordCount());
-                    int i = getItemsLoaded();
-                    int prevItems = i == 0 && size() > 0 ? size() : 0;
-                    for (BaseItemDto item : response.getItems()) {
-                        add(new BaseRowItem(i++, item, getPreferParentThumb(), isStaticHeight()));
-                        //TvApp.getApplication().getLogger().Debug("Item Type: "+item.getType());
+            public void onResponse(ItemsResultCache.Entry entry) {
+                if (cancelled) return;
+                if (entry == null || cached.serverResponded || getItemsLoaded() != cached.startIndex) return;
+                ItemsResult response = entry.result;
+                if (response.getTotalRecordCount() == 0 || response.getItems() == null || response.getItems().length == 0) return;
+
+                // retrieve finished is left to the live response so listeners only hear about it once
+                TvApp.getApplication().getLogger().Debug("Showing cached items for row of type " + queryType + " while revalidating");
+                cached.payload = entry.payload;
+                loadItemsResult(response, false);
+                cached.itemCount = getItemsLoaded() - cached.startIndex;
+            }
+        });
 
-                    }
-                    setItemsLoaded(i);
-                    if (i == 0) {
-                        removeRow();
-                    } else if (prevItems > 0) {
-                        // remove previous items as we re-retrieved
-                        // this is done this way instead of clearing the adapter to avoid bugs in the framework elements
-                        removeItems(0, prevItems);
-                    }
-                } else {
-                    // no results - don't show us
-                    if (getItemsLoaded() == 0) removeRow();
+        TvApp.getApplication().getApiClient().GetItemsAsync(query, new Response<ItemsResult>() {
+            @Override
+            public void onResponse(final ItemsResult response) {
+                if (cancelled) return;
+                cached.serverResponded = true;
+                if (cached.itemCount == 0) {
+                    ItemsResultCache.getInstance().put(cacheKey, response, null, null);
+                    loadItemsResult(response, inPlace);
+                    setCurrentlyRetrieving(false);
+                    notifyRetrieveFinished();
+                    return;
                 }
 
-                setCurrentlyRetrieving(false);
-                notifyRetrieveFinished();
+                // compared off the main thread - the cached items stay up until we know
+                ItemsResultCache.getInstance().put(cacheKey, response, cached.payload, new Response<Boolean>() {
+                    @Override
+                    public void onResponse(Boolean changed) {
+                        if (cancelled) return;
+                        if (changed) {
+                            // replace the cached items with the new ones
+                            if (cached.startIndex > 0) removeItems(cached.startIndex, cached.itemCount);
+                            setItemsLoaded(cached.startIndex);
+                            loadItemsResult(response, inPlace || cached.startIndex == 0);
+                        }
+
+                        setCurrentlyRetrieving(false);
+                        notifyRetrieveFinished();
+                    }
+                });
             }
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
+                cached.serverResponded = true;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving items", exception);
                 if (exception instanceof HttpException) {
                     HttpException httpException = (HttpException) exception;
@@ -880,11 +948,11 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
                                 System.exit(1);
                             }
                         }, 3000);
-                    } else {
+                    } else if (cached.itemCount == 0) {
                         removeRow();
                         Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
                     }
-                } else {
+                } else if (cached.itemCount == 0) {
                     removeRow();
                     Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
 
@@ -896,6 +964,185 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
         });
     }
 
+    private void loadItemsResult(ItemsResult response, boolean inPlace) {
+        if (inPlace && canUpdateInPlace(getItemsLoaded())) {
+            int start = getItemsLoaded();
+            BaseItemDto[] items = response.getItems() != null ? response.getItems() : new BaseItemDto[0];
+            setTotalItems(response.getTotalRecordCount());
+            updateInPlace(start, items);
+            setItemsLoaded(start + items.length);
+            if (getItemsLoaded() == 0) removeRow();
+            return;
+        }
+
+        if (response.getTotalRecordCount() > 0) {
+            setTotalItems(response.getTotalRecordCount());
+            int i = getItemsLoaded();
+            int prevItems = i == 0 && size() > 0 ? size() : 0;
+            for (BaseItemDto item : response.getItems()) {
+                add(new BaseRowItem(i++, item, getPreferParentThumb(), isStaticHeight()));
+                //TvApp.getApplication().getLogger().Debug("Item Type: "+item.getType());
+
+            }
+            setItemsLoaded(i);
+            if (i == 0) {
+                removeRow();
+            } else if (prevItems > 0) {
+                // remove previous items as we re-retrieved
+                // this is done this way instead of clearing the adapter to avoid bugs in the framework elements
+                removeItems(0, prevItems);
+            }
+        } else {
+            // no results - don't show us
+            if (getItemsLoaded() == 0) removeRow();
+        }
+    }
+
+    private boolean canUpdateInPlace(int start) {
+        if (size() <= start) return false;
+        for (int i = start; i < size(); i++) {
+            Object item = get(i);
+            if (!(item instanceof BaseRowItem) || (((BaseRowItem) item).getBaseItem() == null && ((BaseRowItem) item).getChannelInfo() == null)) return false;
+        }
+        return true;
+    }
+
+    private void updateInPlace(int start, BaseItemDto[] items) {
+        List<BaseRowItem> rowItems = new ArrayList<>();
+        int i = start;
+        for (BaseItemDto item : items) {
+            rowItems.add(new BaseRowItem(i++, item, getPreferParentThumb(), isStaticHeight()));
+        }
+        updateInPlace(start, rowItems);
+    }
+
+    /**
+     * Brings the items from start on in line with the new list keyed by item id so that cards
+     * which did not change keep their views and images. Only removed, inserted, moved and changed
+     * items are touched.
+     */
+    private void updateInPlace(int start, List<BaseRowItem> items) {
+        HashMap<String, BaseRowItem> newItems = new HashMap<>();
+        for (BaseRowItem item : items) {
+            newItems.put(item.getItemId(), item);
+        }
+
+        // drop anything no longer in the row
+        HashMap<String, BaseRowItem> existing = new HashMap<>();
+        for (int i = size() - 1; i >= start; i--) {
+            BaseRowItem rowItem = (BaseRowItem) get(i);
+            String id = rowItem.getItemId();
+            if (!newItems.containsKey(id) || existing.containsKey(id)) {
+                removeItems(i, 1);
+            } else {
+                existing.put(id, rowItem);
+            }
+        }
+
+        int pos = start;
+        int inserted = 0, moved = 0, changed = 0;
+        for (BaseRowItem item : items) {
+            BaseRowItem current = existing.remove(item.getItemId());
+            item.setIndex(pos);
+            if (current == null) {
+                add(pos, item);
+                inserted++;
+            } else {
+                int currentPos = indexOf(current);
+                if (currentPos != pos) {
+                    move(currentPos, pos);
+                    moved++;
+                }
+                if (isChanged(current, item)) {
+                    replace(pos, item);
+                    changed++;
+                } else {
+                    current.setIndex(pos);
+                }
+            }
+            pos++;
+        }
+
+        // only duplicates can be left over
+        if (size() > pos) removeItems(pos, size() - pos);
+
+        TvApp.getApplication().getLogger().Debug("Row of type " + queryType + " updated in place. Inserted: " + inserted + " Moved: " + moved + " Changed: " + changed);
+    }
+
+    private static boolean isChanged(BaseRowItem current, BaseRowItem updated) {
+        if (current.getBaseItem() != null && updated.getBaseItem() != null) return isChanged(current.getBaseItem(), updated.getBaseItem());
+        if (current.getChannelInfo() != null && updated.getChannelInfo() != null) return isChanged(current.getChannelInfo(), updated.getChannelInfo());
+        return true;
+    }
+
+    private static boolean isChanged(ChannelInfoDto current, ChannelInfoDto updated) {
+        String currentProgram = current.getCurrentProgram() != null ? current.getCurrentProgram().getId() : null;
+        String updatedProgram = updated.getCurrentProgram() != null ? updated.getCurrentProgram().getId() : null;
+        if (currentProgram == null ? updatedProgram != null : !currentProgram.equals(updatedProgram)) return true;
+
+        return isChanged(current.getUserData(), updated.getUserData());
+    }
+
+    private static boolean isChanged(BaseItemDto current, BaseItemDto updated) {
+        if (current.getEtag() != null && !current.getEtag().equals(updated.getEtag())) return true;
+
+        return isChanged(current.getUserData(), updated.getUserData());
+    }
+
+    private static boolean isChanged(UserItemDataDto currentData, UserItemDataDto updatedData) {
+        if (currentData == null || updatedData == null) return currentData != updatedData;
+        return currentData.getPlayed() != updatedData.getPlayed()
+                || currentData.getIsFavorite() != updatedData.getIsFavorite()
+                || currentData.getPlaybackPositionTicks() != updatedData.getPlaybackPositionTicks()
+                || Utils.NullCoalesce(currentData.getUnplayedItemCount(), -1) != Utils.NullCoalesce(updatedData.getUnplayedItemCount(), -1)
+                || (currentData.getLikes() == null ? updatedData.getLikes() != null : !currentData.getLikes().equals(updatedData.getLikes()));
+    }
+
+    /**
+     * Apply changed user data to every loaded item it belongs to, in all rows that have retrieved content.
+     * Only the affected cards are re-bound.  Must be called on the main thread.
+     */
+    public static void updateUserData(List<UserItemDataDto> changes) {
+        HashMap<String, UserItemDataDto> changed = new HashMap<>();
+        for (UserItemDataDto data : changes) {
+            if (data.getItemId() != null) changed.put(data.getItemId(), data);
+        }
+        if (changed.isEmpty()) return;
+
+        for (ItemRowAdapter adapter : new ArrayList<>(activeAdapters.keySet())) {
+            adapter.updateUserData(changed);
+        }
+    }
+
+    private void updateUserData(HashMap<String, UserItemDataDto> changed) {
+        for (int i = 0; i < size(); i++) {
+            Object obj = get(i);
+            if (!(obj instanceof BaseRowItem)) continue;
+            BaseItemDto item = ((BaseRowItem) obj).getBaseItem();
+            if (item == null) continue;
+            UserItemDataDto data = changed.get(item.getId());
+            if (data != null && isChanged(item.getUserData(), data)) {
+                item.setUserData(data);
+                replace(i, obj);
+                TvApp.getApplication().getLogger().Debug("Updated user data for " + item.getName() + " in row of type " + queryType);
+            }
+        }
+    }
+
+    /**
+     * Tracks what was shown from the items cache for a single request so the server response can replace it.
+     */
+    private static class CachedRetrieve {
+        final int startIndex;
+        int itemCount;
+        String payload;
+        boolean serverResponded;
+
+        CachedRetrieve(int startIndex) {
+            this.startIndex = startIndex;
+        }
+    }
+
     public void RetrieveAudioPlaylists(final ItemQuery query) {
         //Add specialized playlists first
         clear();
@@ -905,6 +1152,19 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
     }
 
     public void RetrieveContinueWatching(final ItemQuery query) {
+        if (refreshInPlace && size() > 0) {
+            // keep what is showing and just add or remove the queue option
+            boolean hasQueueButton = get(0) instanceof BaseRowItem && ((BaseRowItem) get(0)).getGridButton() != null;
+            if (MediaManager.hasVideoQueueItems() && !hasQueueButton) {
+                add(0, new BaseRowItem(new GridButton(TvApp.VIDEO_QUEUE_OPTION_ID, TvApp.getApplication().getString(R.string.lbl_current_queue), R.drawable.playlist)));
+            } else if (!MediaManager.hasVideoQueueItems() && hasQueueButton) {
+                removeItems(0, 1);
+            }
+            itemsLoaded = MediaManager.hasVideoQueueItems() ? 1 : 0;
+            Retrieve(query);
+            return;
+        }
+
         //Add current video queue first if there
         clear();
         if (MediaManager.hasVideoQueueItems()) {
@@ -919,6 +1179,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
         TvApp.getApplication().getApiClient().GetAlbumArtistsAsync(query, new Response<ItemsResult>() {
             @Override
             public void onResponse(ItemsResult response) {
+                if (cancelled) return;
                 if (response.getTotalRecordCount() > 0) {
                     setTotalItems(response.getTotalRecordCount());
                     int i = getItemsLoaded();
@@ -950,6 +1211,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
     private void RetrievePremieres(final ItemQuery query) {
         final ItemRowAdapter adapter = this;
+        final boolean inPlace = refreshInPlace;
         //First we need current Next Up to filter our list with
         NextUpQuery nextUp = new NextUpQuery();
         nextUp.setUserId(query.getUserId());
@@ -958,10 +1220,12 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
         TvApp.getApplication().getApiClient().GetNextUpEpisodesAsync(nextUp, new Response<ItemsResult>() {
             @Override
             public void onResponse(final ItemsResult nextUpResponse) {
+                if (cancelled) return;
                 TvApp.getApplication().getApiClient().GetItemsAsync(query, new Response<ItemsResult>() {
                     @Override
                     public void onResponse(ItemsResult response) {
-                        if (adapter.size() > 0) adapter.clear();
+                        if (cancelled) return;
+                        List<BaseRowItem> premieres = new ArrayList<>();
                         if (response.getTotalRecordCount() > 0) {
                             int i = 0;
                             Calendar compare = Calendar.getInstance();
@@ -984,21 +1248,21 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
                                         //Now - let's be sure there isn't already a premiere for this series
                                         BaseRowItem existing = null;
                                         int existingPos = -1;
-                                        for (int n = 0; n < adapter.size(); n++) {
-                                            if (((BaseRowItem)adapter.get(n)).getBaseItem().getSeriesId().equals(item.getSeriesId())) {
-                                                existing = (BaseRowItem)adapter.get(n);
+                                        for (int n = 0; n < premieres.size(); n++) {
+                                            if (premieres.get(n).getBaseItem().getSeriesId().equals(item.getSeriesId())) {
+                                                existing = premieres.get(n);
                                                 existingPos = n;
                                                 break;
                                             }
                                         }
                                         if (existing == null) {
                                             TvApp.getApplication().getLogger().Debug("Adding new episode 1 to premieres " + item.getSeriesName());
-                                            adapter.add(new BaseRowItem(i++, item, preferParentThumb, false));
+                                            premieres.add(new BaseRowItem(i++, item, preferParentThumb, false));
 
                                         } else if (existing.getBaseItem().getParentIndexNumber() > item.getParentIndexNumber()) {
                                             //Replace the newer item with the earlier season
                                             TvApp.getApplication().getLogger().Debug("Replacing newer episode 1 with an older season for " + item.getSeriesName());
-                                            adapter.replace(existingPos, new BaseRowItem(i++, item, preferParentThumb, false));
+                                            premieres.set(existingPos, new BaseRowItem(i++, item, preferParentThumb, false));
                                         } // otherwise, just ignore this newer season premiere since we have the older one already
 
                                     } else {
@@ -1009,6 +1273,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
                             setItemsLoaded(itemsLoaded + i);
                         }
 
+                        replaceItems(premieres, 0, inPlace);
 
                         if (adapter.size() == 0) removeRow();
                         currentlyRetrieving = false;
@@ -1023,53 +1288,58 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
     public void Retrieve(final NextUpQuery query) {
         final ItemRowAdapter adapter = this;
+        final boolean inPlace = refreshInPlace;
         TvApp.getApplication().getApiClient().GetNextUpEpisodesAsync(query, new Response<ItemsResult>() {
             @Override
             public void onResponse(final ItemsResult response) {
+                if (cancelled) return;
                 if (response.getTotalRecordCount() > 0) {
-                    if (adapter.size() > 0) adapter.clear();
+                    final List<BaseRowItem> items = new ArrayList<>();
                     int i = 0;
                     for (BaseItemDto item : response.getItems()) {
-                        adapter.add(new BaseRowItem(i++, item, preferParentThumb, false));
+                        items.add(new BaseRowItem(i++, item, preferParentThumb, false));
                     }
                     totalItems = response.getTotalRecordCount();
                     setItemsLoaded(itemsLoaded + i);
+                    //If this was for a single series, get the rest of the episodes in the season
+                    final BaseItemDto first = query.getSeriesId() != null && items.size() == 1 ? items.get(0).getBaseItem() : null;
+                    final boolean getRest = first != null && first.getIndexNumber() != null && first.getSeasonId() != null;
+                    // a refresh in place waits for the rest so the row is only brought up to date once
+                    if (!inPlace || !getRest) replaceItems(items, 0, inPlace);
                     if (i == 0) {
                         removeRow();
                         currentlyRetrieving = false;
-                    } else {
-                        //If this was for a single series, get the rest of the episodes in the season
-                        if (query.getSeriesId() != null) {
-                            BaseItemDto first = adapter.size() == 1 ? ((BaseRowItem)adapter.get(0)).getBaseItem() : null;
-                            if (first != null && first.getIndexNumber() != null && first.getSeasonId() != null) {
-                                StdItemQuery rest = new StdItemQuery();
-                                rest.setUserId(query.getUserId());
-                                rest.setParentId(first.getSeasonId());
-                                rest.setStartIndex(first.getIndexNumber());
-                                TvApp.getApplication().getApiClient().GetItemsAsync(rest, new Response<ItemsResult>() {
-                                    @Override
-                                    public void onResponse(ItemsResult innerResponse) {
-                                        if (response.getItems() != null) {
-                                            int n = response.getItems().length;
-                                            for (BaseItemDto item : innerResponse.getItems()) {
-                                                adapter.add(new BaseRowItem(n++, item, preferParentThumb, false));
-                                            }
-                                            totalItems += innerResponse.getTotalRecordCount();
-                                            setItemsLoaded(itemsLoaded + n);
-
-                                        }
-                                        currentlyRetrieving = false;
+                    } else if (getRest) {
+                        StdItemQuery rest = new StdItemQuery();
+                        rest.setUserId(query.getUserId());
+                        rest.setParentId(first.getSeasonId());
+                        rest.setStartIndex(first.getIndexNumber());
+                        TvApp.getApplication().getApiClient().GetItemsAsync(rest, new Response<ItemsResult>() {
+                            @Override
+                            public void onResponse(ItemsResult innerResponse) {
+                                if (cancelled) return;
+                                if (response.getItems() != null) {
+                                    int n = response.getItems().length;
+                                    for (BaseItemDto item : innerResponse.getItems()) {
+                                        if (inPlace) items.add(new BaseRowItem(n++, item, preferParentThumb, false));
+                                        else adapter.add(new BaseRowItem(n++, item, preferParentThumb, false));
                                     }
+                                    totalItems += innerResponse.getTotalRecordCount();
+                                    setItemsLoaded(itemsLoaded + n);
 
-                                    @Override
-                                    public void onError(Exception exception) {
-                                        TvApp.getApplication().getLogger().ErrorException("Unable to retrieve subsequent episodes in next up", exception);
-                                        currentlyRetrieving = false;
-                                    }
-                                });
+                                }
+                                if (inPlace) replaceItems(items, 0, true);
+                                currentlyRetrieving = false;
                             }
-                        }
 
+                            @Override
+                            public void onError(Exception exception) {
+                                if (cancelled) return;
+                                TvApp.getApplication().getLogger().ErrorException("Unable to retrieve subsequent episodes in next up", exception);
+                                if (inPlace) replaceItems(items, 0, true);
+                                currentlyRetrieving = false;
+                            }
+                        });
                     }
                 } else {
                     // no results - don't show us
@@ -1081,6 +1351,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving next up items", exception);
                 removeRow();
                 Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
@@ -1090,18 +1361,51 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
     }
 
+    /**
+     * Replaces everything in the row with these. A refresh in place keeps the leading buttons and only touches the
+     * cards that changed, otherwise the new cards are added before the old ones are removed to avoid bugs in the
+     * framework elements.
+     */
+    private void replaceItems(List<BaseRowItem> items, int buttons, boolean inPlace) {
+        if (inPlace && items.size() > buttons && canUpdateInPlace(buttons)) {
+            boolean sameButtons = true;
+            for (int i = 0; i < buttons; i++) {
+                sameButtons &= get(i) instanceof BaseRowItem && ((BaseRowItem) get(i)).getGridButton() != null;
+            }
+            if (sameButtons) {
+                updateInPlace(buttons, items.subList(buttons, items.size()));
+                return;
+            }
+        }
+
+        int prevItems = size();
+        for (BaseRowItem item : items) {
+            add(item);
+        }
+        if (prevItems > 0) removeItems(0, prevItems);
+    }
+
     public void Retrieve(final LiveTvChannelQuery query) {
         final ItemRowAdapter adapter = this;
+        final boolean inPlace = refreshInPlace;
         TvApp.getApplication().getApiClient().GetLiveTvChannelsAsync(query, new Response<ChannelInfoDtoResult>() {
             @Override
             public void onResponse(ChannelInfoDtoResult response) {
+                if (cancelled) return;
                 if (response.getTotalRecordCount() > 0) {
                     int i = itemsLoaded;
-                    if (i == 0 && adapter.size() > 0) adapter.clear();
+                    List<BaseRowItem> items = new ArrayList<>();
                     for (ChannelInfoDto item : response.getItems()) {
-                        adapter.add(new BaseRowItem(i, item));
+                        items.add(new BaseRowItem(i, item));
                         i++;
                     }
+                    if (itemsLoaded == 0) {
+                        replaceItems(items, 0, inPlace);
+                    } else {
+                        for (BaseRowItem item : items) {
+                            adapter.add(item);
+                        }
+                    }
                     totalItems = response.getTotalRecordCount();
                     setItemsLoaded(i);
                     if (i == 0) removeRow();
@@ -1115,6 +1419,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving live tv channels", exception);
                 removeRow();
                 Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
@@ -1125,31 +1430,31 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
     }
 
     public void Retrieve(final RecommendedProgramQuery query) {
-        final ItemRowAdapter adapter = this;
+        final boolean inPlace = refreshInPlace;
         TvApp.getApplication().getApiClient().GetRecommendedLiveTvProgramsAsync(query, new Response<ItemsResult>() {
             @Override
             public void onResponse(ItemsResult response) {
+                if (cancelled) return;
                 TvManager.updateProgramsNeedsLoadTime();
                 if (response.getTotalRecordCount() > 0) {
                     int i = 0;
-                    int prevItems = adapter.size() > 0 ? adapter.size() : 0;
+                    List<BaseRowItem> items = new ArrayList<>();
                     if (query.getIsAiring()) {
                         // show guide option as first item
-                        adapter.add(new BaseRowItem(new GridButton(TvApp.LIVE_TV_GUIDE_OPTION_ID, TvApp.getApplication().getResources().getString(R.string.lbl_live_tv_guide), R.drawable.guide)));
+                        items.add(new BaseRowItem(new GridButton(TvApp.LIVE_TV_GUIDE_OPTION_ID, TvApp.getApplication().getResources().getString(R.string.lbl_live_tv_guide), R.drawable.guide)));
                         i++;
                     }
+                    int buttons = i;
                     for (BaseItemDto item : response.getItems()) {
-                        adapter.add(new BaseRowItem(item, staticHeight));
+                        items.add(new BaseRowItem(item, staticHeight));
                         i++;
                     }
                     totalItems = response.getTotalRecordCount();
                     setItemsLoaded(i);
                     if (i == 0) {
                         removeRow();
-                    } else if (prevItems > 0) {
-                        // remove previous items as we re-retrieved
-                        // this is done this way instead of clearing the adapter to avoid bugs in the framework elements
-                        removeItems(0, prevItems);
+                    } else {
+                        replaceItems(items, buttons, inPlace);
                     }
                 } else {
                     // no results - don't show us
@@ -1161,6 +1466,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving live tv programs", exception);
                 removeRow();
                 //TODO suppress this message for now - put it back when server returns empty set for no live tv
@@ -1172,27 +1478,26 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
     }
 
     public void Retrieve(final RecordingGroupQuery query) {
-        final ItemRowAdapter adapter = this;
+        final boolean inPlace = refreshInPlace;
         TvApp.getApplication().getApiClient().GetLiveTvRecordingGroupsAsync(query, new Response<ItemsResult>() {
             @Override
             public void onResponse(ItemsResult response) {
+                if (cancelled) return;
                 if (response.getTotalRecordCount() > 0) {
                     int i = 0;
-                    int prevItems = adapter.size() > 0 ? adapter.size() : 0;
+                    List<BaseRowItem> items = new ArrayList<>();
                     for (BaseItemDto item : response.getItems()) {
                         item.setType("RecordingGroup"); // the API does not fill this in
                         item.setIsFolder(true); // nor this
-                        adapter.add(new BaseRowItem(item));
+                        items.add(new BaseRowItem(item));
                         i++;
                     }
                     totalItems = response.getTotalRecordCount();
                     setItemsLoaded(itemsLoaded + i);
                     if (i == 0) {
                         removeRow();
-                    } else if (prevItems > 0) {
-                        // remove previous items as we re-retrieved
-                        // this is done this way instead of clearing the adapter to avoid bugs in the framework elements
-                        removeItems(0, prevItems);
+                    } else {
+                        replaceItems(items, 0, inPlace);
                     }
                 } else {
                     // no results - don't show us
@@ -1205,6 +1510,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving live tv recording groups", exception);
                 removeRow();
                 Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
@@ -1214,31 +1520,31 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
     }
 
     public void Retrieve(final RecordingQuery query) {
-        final ItemRowAdapter adapter = this;
+        final boolean inPlace = refreshInPlace;
         TvApp.getApplication().getApiClient().GetLiveTvRecordingsAsync(query, new Response<ItemsResult>() {
             @Override
             public void onResponse(ItemsResult response) {
+                if (cancelled) return;
                 if (response.getTotalRecordCount() > 0) {
                     int i = 0;
-                    int prevItems = adapter.size() > 0 ? adapter.size() : 0;
+                    List<BaseRowItem> items = new ArrayList<>();
                     if (query.getGroupId() == null) {
                         // and recordings as first item if showing all
-                        adapter.add(new BaseRowItem(new GridButton(TvApp.LIVE_TV_RECORDINGS_OPTION_ID, TvApp.getApplication().getResources().getString(R.string.lbl_recorded_tv), R.drawable.recgroup)));
+                        items.add(new BaseRowItem(new GridButton(TvApp.LIVE_TV_RECORDINGS_OPTION_ID, TvApp.getApplication().getResources().getString(R.string.lbl_recorded_tv), R.drawable.recgroup)));
                         i++;
                     }
+                    int buttons = i;
 
                     for (BaseItemDto item : response.getItems()) {
-                        adapter.add(new BaseRowItem(item));
+                        items.add(new BaseRowItem(item));
                         i++;
                     }
                     totalItems = response.getTotalRecordCount();
                     setItemsLoaded(itemsLoaded + i);
                     if (i == 0) {
                         removeRow();
-                    } else if (prevItems > 0) {
-                        // remove previous items as we re-retrieved
-                        // this is done this way instead of clearing the adapter to avoid bugs in the framework elements
-                        removeItems(0, prevItems);
+                    } else {
+                        replaceItems(items, buttons, inPlace);
                     }
                 } else {
                     // no results - don't show us
@@ -1250,6 +1556,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving live tv recordings", exception);
                 removeRow();
                 Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
@@ -1264,6 +1571,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
         TvApp.getApplication().getApiClient().GetSpecialFeaturesAsync(TvApp.getApplication().getCurrentUser().getId(), query.getItemId(), new Response<BaseItemDto[]>() {
             @Override
             public void onResponse(BaseItemDto[] response) {
+                if (cancelled) return;
                 if (response.length > 0) {
                     int i = 0;
                     if (adapter.size() > 0) adapter.clear();
@@ -1283,6 +1591,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving special features", exception);
                 removeRow();
                 Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
@@ -1297,6 +1606,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
         TvApp.getApplication().getApiClient().GetLocalTrailersAsync(TvApp.getApplication().getCurrentUser().getId(), query.getItemId(), new Response<BaseItemDto[]>() {
             @Override
             public void onResponse(BaseItemDto[] response) {
+                if (cancelled) return;
                 if (response.length > 0) {
                     int i = 0;
                     if (adapter.size() > 0) adapter.clear();
@@ -1317,6 +1627,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving special features", exception);
                 removeRow();
                 Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
@@ -1331,6 +1642,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
         TvApp.getApplication().getApiClient().GetSimilarItems(query, new Response<ItemsResult>() {
             @Override
             public void onResponse(ItemsResult response) {
+                if (cancelled) return;
                 if (response.getTotalRecordCount() > 0) {
                     int i = 0;
                     if (adapter.size() > 0) adapter.clear();
@@ -1350,6 +1662,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving similar series items", exception);
                 removeRow();
                 Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
@@ -1364,6 +1677,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
         TvApp.getApplication().getApiClient().GetSimilarItems(query, new Response<ItemsResult>() {
             @Override
             public void onResponse(ItemsResult response) {
+                if (cancelled) return;
                 if (response.getTotalRecordCount() > 0) {
                     int i = 0;
                     if (adapter.size() > 0) adapter.clear();
@@ -1383,6 +1697,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving similar series items", exception);
                 removeRow();
                 Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
@@ -1397,6 +1712,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
         TvApp.getApplication().getApiClient().GetUpcomingEpisodesAsync(query, new Response<ItemsResult>() {
             @Override
             public void onResponse(ItemsResult response) {
+                if (cancelled) return;
                 if (response.getTotalRecordCount() > 0) {
                     int i = 0;
                     if (adapter.size() > 0) adapter.clear();
@@ -1417,6 +1733,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving upcoming items", exception);
                 removeRow();
                 Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
@@ -1431,6 +1748,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
         TvApp.getApplication().getApiClient().GetPeopleAsync(query, new Response<ItemsResult>() {
             @Override
             public void onResponse(ItemsResult response) {
+                if (cancelled) return;
                 if (response.getTotalRecordCount() > 0) {
                     int i = itemsLoaded;
                     if (i == 0 && adapter.size() > 0) adapter.clear();
@@ -1450,6 +1768,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving people", exception);
                 removeRow();
                 Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
@@ -1460,23 +1779,20 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
     }
 
     public void Retrieve(SeasonQuery query) {
-        final ItemRowAdapter adapter = this;
+        final boolean inPlace = refreshInPlace;
         TvApp.getApplication().getApiClient().GetSeasonsAsync(query, new Response<ItemsResult>() {
             @Override
             public void onResponse(ItemsResult response) {
+                if (cancelled) return;
                 if (response.getTotalRecordCount() > 0) {
                     int i = 0;
-                    int prevItems = adapter.size() > 0 ? adapter.size() : 0;
+                    List<BaseRowItem> items = new ArrayList<>();
                     for (BaseItemDto item : response.getItems()) {
-                        adapter.add(new BaseRowItem(i++, item));
+                        items.add(new BaseRowItem(i++, item));
                     }
                     totalItems = response.getTotalRecordCount();
                     setItemsLoaded(itemsLoaded + i);
-                    if (prevItems > 0) {
-                        // remove previous items as we re-retrieved
-                        // this is done this way instead of clearing the adapter to avoid bugs in the framework elements
-                        removeItems(0, prevItems);
-                    }
+                    replaceItems(items, 0, inPlace);
                 } else {
                     // no results - don't show us
                     removeRow();
@@ -1487,6 +1803,7 @@ public class ItemRowAdapter extends ArrayObjectAdapter {
 
             @Override
             public void onError(Exception exception) {
+                if (cancelled) return;
                 TvApp.getApplication().getLogger().ErrorException("Error retrieving season items", exception);
                 Utils.showToast(TvApp.getApplication(), exception.getLocalizedMessage());
                 currentlyRetrieving = false;
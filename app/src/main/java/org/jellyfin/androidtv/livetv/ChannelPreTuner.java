@@ -0,0 +1,225 @@
+// app/src/main/java/org/jellyfin/androidtv/livetv/ChannelPreTuner.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.livetv;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import org.jellyfin.androidtv.TvApp;
+import org.jellyfin.androidtv.playback.PlaybackController;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import mediabrowser.apiinteraction.Response;
+import mediabrowser.apiinteraction.playback.LocalPlayer;
+import mediabrowser.model.dlna.StreamBuilder;
+import mediabrowser.model.dlna.StreamInfo;
+import mediabrowser.model.dlna.VideoOptions;
+import mediabrowser.model.dto.BaseItemDto;
+import mediabrowser.model.dto.MediaSourceInfo;
+import mediabrowser.model.livetv.ChannelInfoDto;
+import mediabrowser.model.mediainfo.PlaybackInfoRequest;
+import mediabrowser.model.mediainfo.PlaybackInfoResponse;
+
+/**
+ * Gets the channels a user is likely to zap to next ready while the current one plays.
+ *
+ * For the previous channel and the neighbours of the current one in guide order we retrieve the channel item with
+ * its current program and negotiate playback info with the same options the player would use, so a zap can go
+ * straight to starting the stream. Sources that have to be opened are left to the player as opening them here
+ * would tie up tuners for channels that may never be watched.
+ */
+public class ChannelPreTuner {
+    private static final long PRETUNE_DELAY = 5000; // let the current channel get going first
+    private static final long MAX_AGE = 120000;
+
+    private static Handler mHandler = new Handler(Looper.getMainLooper());
+    private static HashMap<String, WarmChannel> mChannels = new HashMap<>();
+    private static String mCurrentChannelId;
+
+    private static class WarmChannel {
+        BaseItemDto item;
+        PlaybackInfoResponse info;
+        boolean useVlc;
+        long time;
+
+        boolean isFresh() {
+            return System.currentTimeMillis() - time < MAX_AGE;
+        }
+    }
+
+    public static void preTune(String currentChannelId) {
+        mCurrentChannelId = currentChannelId;
+        mHandler.removeCallbacks(preTuneTask);
+        mHandler.postDelayed(preTuneTask, PRETUNE_DELAY);
+    }
+
+    public static void stop() {
+        mHandler.removeCallbacks(preTuneTask);
+        mChannels.clear();
+        mCurrentChannelId = null;
+    }
+
+    /**
+     * Stop only if we are still working around this channel - a player that has been switched away from can't stop its successor
+     */
+    public static void stop(String channelId) {
+        if (channelId != null && channelId.equals(mCurrentChannelId)) stop();
+    }
+
+    /**
+     * Hand over to this channel ahead of its player starting so what we have ready for it survives the old player going away
+     *
+     * @return the ready channel item (with its current program filled in) or null if we don't have a current one
+     */
+    public static BaseItemDto zapTo(String channelId) {
+        mHandler.removeCallbacks(preTuneTask);
+        mCurrentChannelId = channelId;
+        WarmChannel warm = mChannels.get(channelId);
+        return warm != null && warm.isFresh() ? warm.item : null;
+    }
+
+    /**
+     * Build the stream for this channel from the playback info we negotiated ahead
+     *
+     * @return the stream or null if we don't have current info matching these options
+     */
+    public static StreamInfo getStreamInfo(String channelId, boolean useVlc, VideoOptions options) {
+        WarmChannel warm = mChannels.remove(channelId);
+        if (warm == null || warm.info == null || warm.useVlc != useVlc || !warm.isFresh()) return null;
+
+        options.setMediaSources(warm.info.getMediaSources());
+        StreamInfo stream = new StreamBuilder(new LocalPlayer(), TvApp.getApplication().getLogger()).BuildVideoItem(options);
+        if (stream == null) return null;
+        stream.setPlaySessionId(warm.info.getPlaySessionId());
+        stream.setAllMediaSources(warm.info.getMediaSources());
+        return stream;
+    }
+
+    private static Runnable preTuneTask = new Runnable() {
+        @Override
+        public void run() {
+            List<String> candidates = getCandidates(mCurrentChannelId);
+            mChannels.keySet().retainAll(candidates);
+            for (String id : candidates) {
+                WarmChannel warm = mChannels.get(id);
+                if (warm == null || !warm.isFresh()) warmUp(id);
+            }
+        }
+    };
+
+    private static List<String> getCandidates(String currentChannelId) {
+        List<String> candidates = new ArrayList<>();
+        String prev = TvManager.getPrevLiveTvChannel();
+        if (prev != null && !prev.equals(currentChannelId)) candidates.add(prev);
+
+        List<ChannelInfoDto> channels = TvManager.getAllChannels();
+        int ndx = TvManager.getAllChannelsIndex(currentChannelId);
+        if (channels != null && ndx >= 0) {
+            if (ndx > 0 && !candidates.contains(channels.get(ndx - 1).getId())) candidates.add(channels.get(ndx - 1).getId());
+            if (ndx < channels.size() - 1 && !candidates.contains(channels.get(ndx + 1).getId())) candidates.add(channels.get(ndx + 1).getId());
+        }
+        return candidates;
+    }
+
+    private static boolean isWanted(String channelId) {
+        // they may have moved on (or stopped watching) while we were working
+        return mCurrentChannelId != null && getCandidates(mCurrentChannelId).contains(channelId);
+    }
+
+    private static void warmUp(final String channelId) {
+        final String userId = TvApp.getApplication().getCurrentUser().getId();
+        TvApp.getApplication().getApiClient().GetItemAsync(channelId, userId, new Response<BaseItemDto>() {
+            @Override
+            public void onResponse(final BaseItemDto item) {
+                if (!isWanted(channelId)) return;
+                // fill in the current program as the player's queue would
+                TvApp.getApplication().getApiClient().GetLiveTvChannelAsync(channelId, userId, new Response<ChannelInfoDto>() {
+                    @Override
+                    public void onResponse(ChannelInfoDto response) {
+                        BaseItemDto program = response.getCurrentProgram();
+                        if (program != null) {
+                            item.setPremiereDate(program.getStartDate());
+                            item.setEndDate(program.getEndDate());
+                            item.setOfficialRating(program.getOfficialRating());
+                            item.setRunTimeTicks(program.getRunTimeTicks());
+                        }
+                        negotiate(channelId, item);
+                    }
+
+                    @Override
+                    public void onError(Exception exception) {
+                        TvApp.getApplication().getLogger().ErrorException("Unable to pre-tune channel", exception);
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                TvApp.getApplication().getLogger().ErrorException("Unable to pre-tune channel", exception);
+            }
+        });
+    }
+
+    private static void negotiate(final String channelId, final BaseItemDto item) {
+        if (!isWanted(channelId)) return;
+        // same request the player's stream negotiation makes
+        final boolean useVlc = PlaybackController.shouldUseVlc(item, -1);
+        VideoOptions options = PlaybackController.createVideoOptions(item);
+        options.setProfile(PlaybackController.createProfile(useVlc, true));
+        PlaybackInfoRequest request = new PlaybackInfoRequest();
+        request.setId(channelId);
+        request.setUserId(TvApp.getApplication().getApiClient().getCurrentUserId());
+        request.setMaxStreamingBitrate(options.getMaxBitrate());
+        TvApp.getApplication().getApiClient().GetPlaybackInfo(request, new Response<PlaybackInfoResponse>() {
+            @Override
+            public void onResponse(PlaybackInfoResponse response) {
+                if (response.getErrorCode() != null || !canStartDirectly(response)) response = null;
+                store(channelId, item, useVlc, response);
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                TvApp.getApplication().getLogger().ErrorException("Unable to get playback info for pre-tuned channel", exception);
+                store(channelId, item, useVlc, null);
+            }
+        });
+    }
+
+    private static boolean canStartDirectly(PlaybackInfoResponse info) {
+        if (info.getMediaSources() == null || info.getMediaSources().size() == 0) return false;
+        for (MediaSourceInfo source : info.getMediaSources()) {
+            if (source.getRequiresOpening()) return false;
+        }
+        return true;
+    }
+
+    private static void store(String channelId, BaseItemDto item, boolean useVlc, PlaybackInfoResponse info) {
+        if (!isWanted(channelId)) return;
+        WarmChannel warm = new WarmChannel();
+        warm.item = item;
+        warm.info = info;
+        warm.useVlc = useVlc;
+        warm.time = System.currentTimeMillis();
+        mChannels.put(channelId, warm);
+        TvApp.getApplication().getLogger().Debug("Pre-tuned channel " + item.getName() + (info != null ? " with playback info" : ""));
+    }
+}
@@ -0,0 +1,115 @@
+// app/src/main/java/org/jellyfin/androidtv/livetv/GuidePrefetcher.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.livetv;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import org.jellyfin.androidtv.TvApp;
+
+import java.util.Calendar;
+
+import mediabrowser.apiinteraction.EmptyResponse;
+import mediabrowser.apiinteraction.Response;
+
+/**
+ * Keeps guide data for the most watched channels loaded in the background.
+ *
+ * Channels are kept in last played order by {@link TvManager#sortChannels()} so the first ones are the ones
+ * the user is most likely to open the guide on. We load the next few hours for those and refresh just after
+ * every half hour boundary when the guide window moves on.
+ */
+public class GuidePrefetcher {
+    private static final int PREFETCH_CHANNELS = 25;
+    private static final long INITIAL_DELAY = 10000;
+    private static final long REFRESH_OFFSET = 60000; // just after the boundary so the new bucket is current
+
+    private static Handler mHandler = new Handler(Looper.getMainLooper());
+    private static boolean mRunning;
+
+    public static void start() {
+        if (mRunning) return;
+        mRunning = true;
+        mHandler.postDelayed(prefetchTask, INITIAL_DELAY);
+    }
+
+    public static void stop() {
+        mRunning = false;
+        mHandler.removeCallbacks(prefetchTask);
+    }
+
+    private static Runnable prefetchTask = new Runnable() {
+        @Override
+        public void run() {
+            if (!mRunning) return;
+            if (TvApp.getApplication().getCurrentUser() == null || !TvApp.getApplication().getCurrentUser().getPolicy().getEnableLiveTvAccess()) {
+                stop();
+                return;
+            }
+
+            if (TvManager.getAllChannels() == null) {
+                TvManager.loadAllChannels(new Response<Integer>() {
+                    @Override
+                    public void onResponse(Integer response) {
+                        prefetch();
+                    }
+
+                    @Override
+                    public void onError(Exception exception) {
+                        TvApp.getApplication().getLogger().ErrorException("Unable to load channels for guide prefetch", exception);
+                        scheduleNext();
+                    }
+                });
+            } else {
+                prefetch();
+            }
+        }
+    };
+
+    private static void prefetch() {
+        int count = Math.min(PREFETCH_CHANNELS, TvManager.getAllChannels().size());
+        if (count == 0) {
+            scheduleNext();
+            return;
+        }
+
+        Calendar end = Calendar.getInstance();
+        end.setTimeInMillis(TvManager.getCurrentGuideStart());
+        end.add(Calendar.HOUR, LiveTvGuideActivity.NORMAL_HOURS);
+        TvApp.getApplication().getLogger().Debug("Prefetching guide for " + count + " channels");
+        TvManager.prefetchProgramsAsync(0, count - 1, end, new EmptyResponse() {
+            @Override
+            public void onResponse() {
+                scheduleNext();
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                TvApp.getApplication().getLogger().ErrorException("Unable to prefetch guide", exception);
+                scheduleNext();
+            }
+        });
+    }
+
+    private static void scheduleNext() {
+        if (!mRunning) return;
+        long next = TvManager.getCurrentGuideStart() + ProgramStore.BUCKET_MILLIS + REFRESH_OFFSET;
+        mHandler.postDelayed(prefetchTask, Math.max(next - System.currentTimeMillis(), REFRESH_OFFSET));
+    }
+}
@@ -0,0 +1,169 @@
+// app/src/main/java/org/jellyfin/androidtv/livetv/GuideRowLayout.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.livetv;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import org.jellyfin.androidtv.TvApp;
+import org.jellyfin.androidtv.util.Utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import mediabrowser.apiinteraction.Response;
+import mediabrowser.model.dto.BaseItemDto;
+
+/**
+ * The cells of one guide row worked out ahead of binding.
+ *
+ * Each cell is a start and width in minutes from the guide start plus the index of its program,
+ * or {@link #GAP} for time with no program data. Computing these needs no views so it is done on a
+ * small worker pool and the UI thread only has to turn them into cells.
+ */
+public class GuideRowLayout {
+    public static final int GAP = -1;
+    private static final int EMPTY_MINUTES = 150;
+
+    private static final ExecutorService sExecutor = Executors.newFixedThreadPool(2);
+    private static final Handler sHandler = new Handler(Looper.getMainLooper());
+
+    private final String mChannelId;
+    private final long mGuideStart;
+    private final List<BaseItemDto> mPrograms;
+    private final int[] mStarts;
+    private final int[] mWidths;
+    private final int[] mProgramIndexes;
+    private final int mCount;
+
+    private GuideRowLayout(String channelId, long guideStart, List<BaseItemDto> programs, int[] starts, int[] widths, int[] programIndexes, int count) {
+        mChannelId = channelId;
+        mGuideStart = guideStart;
+        mPrograms = programs;
+        mStarts = starts;
+        mWidths = widths;
+        mProgramIndexes = programIndexes;
+        mCount = count;
+    }
+
+    public String getChannelId() { return mChannelId; }
+    public int getCount() { return mCount; }
+    public int getStart(int ndx) { return mStarts[ndx]; }
+    public int getWidth(int ndx) { return mWidths[ndx]; }
+    public int getProgramIndex(int ndx) { return mProgramIndexes[ndx]; }
+
+    /**
+     * @return the program for a cell - gaps get a placeholder program covering their time slot
+     */
+    public BaseItemDto getProgram(int ndx) {
+        if (mProgramIndexes[ndx] != GAP) return mPrograms.get(mProgramIndexes[ndx]);
+
+        long start = mGuideStart + mStarts[ndx] * 60000L;
+        BaseItemDto empty = new BaseItemDto();
+        empty.setName("  <No Program Data Available>");
+        empty.setChannelId(mChannelId);
+        empty.setStartDate(Utils.convertToUtcDate(new Date(start)));
+        empty.setEndDate(Utils.convertToUtcDate(new Date(start + mWidths[ndx] * 60000L)));
+        return empty;
+    }
+
+    public static GuideRowLayout compute(String channelId, List<BaseItemDto> programs, long guideStart, long guideEnd) {
+        if (programs.size() == 0) {
+            return new GuideRowLayout(channelId, guideStart, programs, new int[] {0}, new int[] {EMPTY_MINUTES}, new int[] {GAP}, 1);
+        }
+
+        // at most one gap before each program
+        int[] starts = new int[programs.size() * 2];
+        int[] widths = new int[starts.length];
+        int[] indexes = new int[starts.length];
+        int count = 0;
+
+        long prevEnd = guideStart;
+        for (int i = 0; i < programs.size(); i++) {
+            BaseItemDto item = programs.get(i);
+            long start = item.getStartDate() != null ? Utils.convertToLocalDate(item.getStartDate()).getTime() : guideStart;
+            if (start < guideStart) start = guideStart;
+            if (start > guideEnd) continue;
+            if (start > prevEnd) {
+                // fill empty time slot
+                starts[count] = (int) ((prevEnd - guideStart) / 60000);
+                widths[count] = (int) ((start - prevEnd) / 60000);
+                indexes[count++] = GAP;
+            }
+            long end = item.getEndDate() != null ? Utils.convertToLocalDate(item.getEndDate()).getTime() : guideEnd;
+            if (end > guideEnd) end = guideEnd;
+            prevEnd = end;
+            int duration = (int) ((end - start) / 60000);
+            if (duration > 0) {
+                starts[count] = (int) ((start - guideStart) / 60000);
+                widths[count] = duration;
+                indexes[count++] = i;
+            }
+        }
+
+        return new GuideRowLayout(channelId, guideStart, programs, starts, widths, indexes, count);
+    }
+
+    /**
+     * Lay out the rows for a set of channels on the worker pool. Responds once on the main thread with
+     * the layouts in the same order as the channels so they can all be bound in one pass.
+     */
+    public static void computeAsync(final List<String> channelIds, final GuideFilters filters, final long guideStart, final long guideEnd, final Response<List<GuideRowLayout>> outerResponse) {
+        final GuideRowLayout[] results = new GuideRowLayout[channelIds.size()];
+        if (results.length == 0) {
+            outerResponse.onResponse(new ArrayList<GuideRowLayout>());
+            return;
+        }
+
+        int chunkSize = (results.length + 1) / 2;
+        final AtomicInteger remaining = new AtomicInteger((results.length + chunkSize - 1) / chunkSize);
+        for (int chunkStart = 0; chunkStart < results.length; chunkStart += chunkSize) {
+            final int first = chunkStart;
+            final int last = Math.min(chunkStart + chunkSize, results.length);
+            sExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = first; i < last; i++) {
+                        try {
+                            String channelId = channelIds.get(i);
+                            results[i] = compute(channelId, TvManager.getProgramsForChannel(channelId, filters), guideStart, guideEnd);
+                        } catch (Exception e) {
+                            TvApp.getApplication().getLogger().ErrorException("Error laying out guide row", e);
+                            results[i] = compute(channelIds.get(i), new ArrayList<BaseItemDto>(), guideStart, guideEnd);
+                        }
+                    }
+
+                    if (remaining.decrementAndGet() == 0) {
+                        sHandler.post(new Runnable() {
+                            @Override
+                            public void run() {
+                                outerResponse.onResponse(Arrays.asList(results));
+                            }
+                        });
+                    }
+                }
+            });
+        }
+    }
+}
@@ -4,9 +4,10 @@ import android.content.Context;
 import android.graphics.Color;
 import android.graphics.Typeface;
 import android.graphics.drawable.BitmapDrawable;
-import android.os.AsyncTask;
 import android.os.Bundle;
 import android.os.Handler;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
 import android.view.Gravity;
 import android.view.KeyEvent;
 import android.view.LayoutInflater;
@@ -18,10 +19,10 @@ import android.widget.HorizontalScrollView;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.PopupWindow;
-import android.widget.ScrollView;
 import android.widget.TextView;
 
-import com.squareup.picasso.Picasso;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
 
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
@@ -29,18 +30,19 @@ import org.jellyfin.androidtv.base.BaseActivity;
 import org.jellyfin.androidtv.base.CustomMessage;
 import org.jellyfin.androidtv.base.IMessageListener;
 import org.jellyfin.androidtv.ui.GuideChannelHeader;
-import org.jellyfin.androidtv.ui.GuidePagingButton;
+import org.jellyfin.androidtv.ui.GuideRowsView;
 import org.jellyfin.androidtv.ui.HorizontalScrollViewListener;
 import org.jellyfin.androidtv.ui.LiveProgramDetailPopup;
 import org.jellyfin.androidtv.ui.ObservableHorizontalScrollView;
-import org.jellyfin.androidtv.ui.ObservableScrollView;
 import org.jellyfin.androidtv.ui.ProgramGridCell;
-import org.jellyfin.androidtv.ui.ScrollViewListener;
 import org.jellyfin.androidtv.util.InfoLayoutHelper;
 import org.jellyfin.androidtv.util.Utils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 
 import mediabrowser.apiinteraction.EmptyResponse;
@@ -59,6 +61,7 @@ public class LiveTvGuideActivity extends BaseActivity implements ILiveTvGuide {
     public static final int PAGEBUTTON_HEIGHT = Utils.convertDpToPixel(TvApp.getApplication(), 20);
     public static final int PAGEBUTTON_WIDTH = 120 * PIXELS_PER_MINUTE;
     public static final int PAGE_SIZE = 75;
+    public static final int FETCH_SIZE = 25;
     public static final int NORMAL_HOURS = 9;
     public static final int FILTERED_HOURS = 3;
 
@@ -71,10 +74,11 @@ public class LiveTvGuideActivity extends BaseActivity implements ILiveTvGuide {
     private ImageView mImage;
     private ImageView mBackdrop;
     private LinearLayout mInfoRow;
-    private LinearLayout mChannels;
+    private RecyclerView mChannels;
     private LinearLayout mTimeline;
-    private LinearLayout mProgramRows;
-    private ScrollView mChannelScroller;
+    private GuideRowsView mProgramRows;
+    private LinearLayoutManager mChannelsLayout;
+    private LinearLayoutManager mProgramRowsLayout;
     private HorizontalScrollView mTimelineScroller;
     private View mSpinner;
 
@@ -93,6 +97,16 @@ public class LiveTvGuideActivity extends BaseActivity implements ILiveTvGuide {
     private int mCurrentDisplayChannelStartNdx = 0;
     private int mCurrentDisplayChannelEndNdx = 0;
 
+    private ChannelHeaderAdapter mChannelsAdapter;
+    private ProgramRowsAdapter mProgramRowsAdapter;
+    private ArrayList<ProgramGridCell> mRecycledCells = new ArrayList<>();
+    private HashMap<String, GuideRowLayout> mRowLayouts = new HashMap<>();
+    private int mLayoutGeneration;
+    private int mShownGeneration = -1;
+    private int mFocusNdx;
+    private boolean mLoadingPrograms;
+    private int mPendingFocusPosition = RecyclerView.NO_POSITION;
+
     private Handler mHandler = new Handler();
 
     private Typeface roboto;
@@ -120,9 +134,9 @@ public class LiveTvGuideActivity extends BaseActivity implements ILiveTvGuide {
         mInfoRow = (LinearLayout) findViewById(R.id.infoRow);
         mImage = (ImageView) findViewById(R.id.programImage);
         mBackdrop = (ImageView) findViewById(R.id.backdrop);
-        mChannels = (LinearLayout) findViewById(R.id.channels);
+        mChannels = (RecyclerView) findViewById(R.id.channels);
         mTimeline = (LinearLayout) findViewById(R.id.timeline);
-        mProgramRows = (LinearLayout) findViewById(R.id.programRows);
+        mProgramRows = (GuideRowsView) findViewById(R.id.programRows);
         mSpinner = findViewById(R.id.spinner);
         mSpinner.setVisibility(View.VISIBLE);
 
@@ -134,22 +148,25 @@ public class LiveTvGuideActivity extends BaseActivity implements ILiveTvGuide {
         });
 
         mProgramRows.setFocusable(false);
-        mChannelScroller = (ScrollView) findViewById(R.id.channelScroller);
-        ObservableScrollView programVScroller = (ObservableScrollView) findViewById(R.id.programVScroller);
-        programVScroller.setScrollViewListener(new ScrollViewListener() {
+        mProgramRowsLayout = new LinearLayoutManager(this);
+        mProgramRows.setLayoutManager(mProgramRowsLayout);
+        mProgramRows.setItemAnimator(null);
+        mProgramRows.addOnScrollListener(new RecyclerView.OnScrollListener() {
             @Override
-            public void onScrollChanged(ObservableScrollView scrollView, int x, int y, int oldx, int oldy) {
-                mChannelScroller.scrollTo(x, y);
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                // also called after every layout, so the headers follow flings, jumps and relayouts alike
+                syncChannels();
             }
         });
+        mChannelsLayout = new LinearLayoutManager(this);
+        mChannels.setLayoutManager(mChannelsLayout);
+        mChannels.setItemAnimator(null);
 
         mTimelineScroller = (HorizontalScrollView) findViewById(R.id.timelineHScroller);
         mTimelineScroller.setFocusable(false);
         mTimelineScroller.setFocusableInTouchMode(false);
         mTimeline.setFocusable(false);
         mTimeline.setFocusableInTouchMode(false);
-        mChannelScroller.setFocusable(false);
-        mChannelScroller.setFocusableInTouchMode(false);
         ObservableHorizontalScrollView programHScroller = (ObservableHorizontalScrollView) findViewById(R.id.programHScroller);
         programHScroller.setScrollViewListener(new HorizontalScrollViewListener() {
             @Override
@@ -162,7 +179,7 @@ public class LiveTvGuideActivity extends BaseActivity implements ILiveTvGuide {
         programHScroller.setFocusableInTouchMode(false);
 
         mChannels.setFocusable(false);
-        mChannelScroller.setFocusable(false);
+        mChannels.setFocusableInTouchMode(false);
 
         //Register to receive message from popup
         registerMessageListener(new IMessageListener() {
@@ -174,6 +191,18 @@ public class LiveTvGuideActivity extends BaseActivity implements ILiveTvGuide {
 
     }
 
+    /**
+     * Line the channel headers up with the program rows by position rather than by following scroll
+     * deltas, which drift apart for good after any fling or jump.
+     */
+    private void syncChannels() {
+        int first = mProgramRowsLayout.findFirstVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION) return;
+        View row = mProgramRowsLayout.findViewByPosition(first);
+        int offset = row != null ? mProgramRowsLayout.getDecoratedTop(row) - mProgramRows.getPaddingTop() : 0;
+        mChannelsLayout.scrollToPositionWithOffset(first, offset);
+    }
+
     private int getGuideHours() {
         return mFilters.any() ? FILTERED_HOURS : NORMAL_HOURS;
     }
@@ -183,18 +212,14 @@ public class LiveTvGuideActivity extends BaseActivity implements ILiveTvGuide {
         TvManager.loadAllChannels(new Response<Integer>() {
             @Override
             public void onResponse(Integer ndx) {
-                if (ndx  >= PAGE_SIZE) {
-                    // last channel is not in first page so grab a set where it will be in the middle
-                    ndx = ndx - (PAGE_SIZE / 2);
-                } else {
-                    ndx = 0; // just start at beginning
-                }
+                // grab a set with the last channel in the middle - the rest will load as they scroll into view
+                ndx = ndx > FETCH_SIZE / 2 ? ndx - (FETCH_SIZE / 2) : 0;
 
                 mLastLoad = System.currentTimeMillis();
 
                 mAllChannels = TvManager.getAllChannels();
                 if (mAllChannels.size() > 0) {
-                    displayChannels(ndx, PAGE_SIZE);
+                    displayChannels(ndx, FETCH_SIZE);
                 } else {
                     mSpinner.setVisibility(View.GONE);
                 }
@@ -204,7 +229,8 @@ public class LiveTvGuideActivity extends BaseActivity implements ILiveTvGuide {
 
     private void reload() {
         fillTimeLine(getGuideHours());
-        displayChannels(mCurrentDisplayChannelStartNdx, PAGE_SIZE);
+        int first = mProgramRowsAdapter != null ? mProgramRowsLayout.findFirstVisibleItemPosition() : RecyclerView.NO_POSITION;
+        displayChannels(first != RecyclerView.NO_POSITION ? first : mCurrentDisplayChannelStartNdx, FETCH_SIZE);
         mLastLoad = System.currentTimeMillis();
     }
 
@@ -227,7 +253,8 @@ public class LiveTvGuideActivity extends BaseActivity implements ILiveTvGuide {
     protected void onPause() {
         super.onPause();
 
-        if (mDisplayProgramsTask != null) mDisplayProgramsTask.cancel(true);
+        mHandler.removeCallbacks(channelNumberTask);
+        mChannelNumber.setLength(0);
         if (mDetailPopup != null) mDetailPopup.dismiss();
     }
 
@@ -247,11 +274,43 @@ public class LiveTvGuideActivity extends BaseActivity implements ILiveTvGuide {
                     Utils.retrieveAndPlay(mSelectedProgram.getChannelId(), false, this);
                     return true;
                 }
+                break;
+            case KeyEvent.KEYCODE_0:
+            case KeyEvent.KEYCODE_1:
+            case KeyEvent.KEYCODE_2:
+            case KeyEvent.KEYCODE_3:
+            case KeyEvent.KEYCODE_4:
+            case KeyEvent.KEYCODE_5:
+            case KeyEvent.KEYCODE_6:
+            case KeyEvent.KEYCODE_7:
+            case KeyEvent.KEYCODE_8:
+            case KeyEvent.KEYCODE_9:
+                // direct channel number entry - jump once they stop typing
+                if (mProgramRowsAdapter != null) {
+                    mChannelNumber.append(keyCode - KeyEvent.KEYCODE_0);
+                    mChannelStatus.setText(mChannelNumber.toString());
+                    mHandler.removeCallbacks(channelNumberTask);
+                    mHandler.postDelayed(channelNumberTask, 1500);
+                    return true;
+                }
+                break;
         }
 
         return super.onKeyUp(keyCode, event);
     }
 
+    private StringBuilder mChannelNumber = new StringBuilder();
+    private Runnable channelNumberTask = new Runnable() {
+        @Override
+        public void run() {
+            ChannelInfoDto channel = TvManager.getChannelByNumber(mChannelNumber.toString());
+            mChannelNumber.setLength(0);
+            mChannelStatus.setText(mAllChannels.size()+" channels");
+            int ndx = channel != null ? TvManager.getAllChannelsIndex(channel.getId()) : -1;
+            if (ndx >= 0) focusRow(ndx);
+        }
+    };
+
     private LiveProgramDetailPopup mDetailPopup;
 
     private FilterPopup mFilterPopup;
@@ -367,191 +426,254 @@ public class LiveTvGuideActivity extends BaseActivity implements ILiveTvGuide {
         int end = start + max;
         if (end > mAllChannels.size()) end = mAllChannels.size();
 
-        if (mFilters.any()) {
-            // if we are filtered, then we need to get programs for all channels
-            mCurrentDisplayChannelStartNdx = 0;
-            mCurrentDisplayChannelEndNdx = mAllChannels.size()-1;
-        } else {
-            mCurrentDisplayChannelStartNdx = start;
-            mCurrentDisplayChannelEndNdx = end - 1;
+        mCurrentDisplayChannelStartNdx = start;
+        mCurrentDisplayChannelEndNdx = end - 1;
 
-        }
         TvApp.getApplication().getLogger().Debug("*** Display channels pre-execute");
         mSpinner.setVisibility(View.VISIBLE);
 
-        mChannels.removeAllViews();
-        mProgramRows.removeAllViews();
         mChannelStatus.setText("");
         mFilterStatus.setText("");
-        TvManager.getProgramsAsync(mCurrentDisplayChannelStartNdx, mCurrentDisplayChannelEndNdx, mCurrentGuideEnd, new EmptyResponse() {
+
+        // put focus on the last tuned channel the first time in, otherwise on the first channel we were asked for
+        mFocusNdx = start;
+        if (mFirstFocusChannelId != null) {
+            int ndx = TvManager.getAllChannelsIndex(mFirstFocusChannelId);
+            if (ndx >= 0) mFocusNdx = ndx;
+            mFirstFocusChannelId = null; // only do this first time in
+        }
+
+        loadRows(mCurrentDisplayChannelStartNdx, mCurrentDisplayChannelEndNdx, mFocusNdx, true);
+    }
+
+    private void loadRows(final int first, final int last, int firstNdx, final boolean show) {
+        mLoadingPrograms = true;
+        final int generation = mLayoutGeneration;
+        TvManager.getProgramsAsync(first, last, firstNdx, mCurrentGuideEnd, new Response<String[]>() {
+            @Override
+            public void onResponse(String[] response) {
+                // show each shard as soon as it lands
+                if (generation == mLayoutGeneration) layoutRows(Arrays.asList(response), generation, show);
+            }
+        }, new EmptyResponse() {
             @Override
             public void onResponse() {
                 TvApp.getApplication().getLogger().Debug("*** Programs response");
-                if (mDisplayProgramsTask != null) mDisplayProgramsTask.cancel(true);
-                mDisplayProgramsTask = new DisplayProgramsTask();
-                mDisplayProgramsTask.execute(mCurrentDisplayChannelStartNdx, mCurrentDisplayChannelEndNdx);
+                finishRows(first, last, generation, show);
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                TvApp.getApplication().getLogger().ErrorException("Unable to get programs", exception);
+                finishRows(first, last, generation, show);
             }
         });
     }
 
-    DisplayProgramsTask mDisplayProgramsTask;
-    class DisplayProgramsTask extends AsyncTask<Integer, Integer, Void> {
+    private void finishRows(int first, int last, int generation, boolean show) {
+        if (generation != mLayoutGeneration) return;
+        mLoadingPrograms = false;
 
-        View firstRow;
-        int displayedChannels = 0;
-
-        @Override
-        protected void onPreExecute() {
-            TvApp.getApplication().getLogger().Debug("*** Display programs pre-execute");
-            mChannels.removeAllViews();
-            mProgramRows.removeAllViews();
-
-            if (mCurrentDisplayChannelStartNdx > 0) {
-                // Show a paging row for channels above
-                int pageUpStart = mCurrentDisplayChannelStartNdx - PAGE_SIZE;
-                if (pageUpStart < 0) pageUpStart = 0;
-
-                TextView placeHolder = new TextView(mActivity);
-                placeHolder.setHeight(LiveTvGuideActivity.PAGEBUTTON_HEIGHT);
-                mChannels.addView(placeHolder);
-                displayedChannels = 0;
-
-                mProgramRows.addView(new GuidePagingButton(mActivity, mActivity, pageUpStart, getString(R.string.lbl_load_channels)+mAllChannels.get(pageUpStart).getNumber() + " - "+mAllChannels.get(mCurrentDisplayChannelStartNdx-1).getNumber()));
+        // lay out anything in the range we already had programs for
+        List<String> channelIds = new ArrayList<>();
+        for (int i = first; i <= last; i++) {
+            String id = mAllChannels.get(i).getId();
+            if (!mRowLayouts.containsKey(id)) channelIds.add(id);
+        }
+        layoutRows(channelIds, generation, show);
+
+        // rows that scrolled into view outside this range while we were busy still need loading
+        if (mProgramRowsAdapter != null) {
+            int lastVisible = mProgramRowsLayout.findLastVisibleItemPosition();
+            for (int i = mProgramRowsLayout.findFirstVisibleItemPosition(); i >= 0 && i <= lastVisible; i++) {
+                if ((i < first || i > last) && !mRowLayouts.containsKey(mAllChannels.get(i).getId())) {
+                    loadProgramsAround(i);
+                    break;
+                }
             }
-
-
         }
+    }
 
-        @Override
-        protected Void doInBackground(Integer... params) {
-            int start = params[0];
-            int end = params[1];
-
-            boolean first = true;
-
-            TvApp.getApplication().getLogger().Debug("*** About to iterate programs");
-            LinearLayout prevRow = null;
-            for (int i = start; i <= end; i++) {
-                if (isCancelled()) return null;
-                final ChannelInfoDto channel = TvManager.getChannel(i);
-                List<BaseItemDto> programs = TvManager.getProgramsForChannel(channel.getId(), mFilters);
-                final LinearLayout row = getProgramRow(programs, channel.getId());
-                if (first) {
-                    first = false;
-                    firstRow = row;
+    private void layoutRows(List<String> channelIds, final int generation, final boolean show) {
+        GuideRowLayout.computeAsync(channelIds, mFilters, mCurrentLocalGuideStart, mCurrentLocalGuideEnd, new Response<List<GuideRowLayout>>() {
+            @Override
+            public void onResponse(List<GuideRowLayout> response) {
+                if (generation != mLayoutGeneration) return; // time line or filters changed while we were working
+                for (GuideRowLayout layout : response) {
+                    mRowLayouts.put(layout.getChannelId(), layout);
                 }
 
-                // put focus on the last tuned channel
-                if (channel.getId().equals(mFirstFocusChannelId)) {
-                    firstRow = row;
-                    mFirstFocusChannelId = null; // only do this first time in not while paging around
+                // bind everything we just laid out in one pass
+                if (show && mShownGeneration != generation) {
+                    mShownGeneration = generation;
+                    showChannels();
+                } else if (mProgramRowsAdapter != null) {
+                    for (GuideRowLayout layout : response) {
+                        int ndx = TvManager.getAllChannelsIndex(layout.getChannelId());
+                        if (ndx >= 0) mProgramRowsAdapter.notifyItemChanged(ndx);
+                    }
                 }
+            }
+        });
+    }
 
-                // set focus parameters if we are not on first row
-                // this makes focus movements more predictable for the grid view
-                if (prevRow != null) {
-                    TvManager.setFocusParms(row, prevRow, true);
-                    TvManager.setFocusParms(prevRow, row, false);
-                }
-                prevRow = row;
+    private void showChannels() {
+        if (mProgramRowsAdapter == null) {
+            mChannelsAdapter = new ChannelHeaderAdapter();
+            mChannels.setAdapter(mChannelsAdapter);
+            mProgramRowsAdapter = new ProgramRowsAdapter();
+            mProgramRows.setAdapter(mProgramRowsAdapter);
+        } else {
+            mChannelsAdapter.notifyDataSetChanged();
+            mProgramRowsAdapter.notifyDataSetChanged();
+        }
 
-                runOnUiThread(new Runnable() {
-                    @Override
-                    public void run() {
-                        GuideChannelHeader header = new GuideChannelHeader(mActivity, channel);
-                        mChannels.addView(header);
-                        header.loadImage();
-                        mProgramRows.addView(row);
-                    }
-                });
+        mChannelStatus.setText(mAllChannels.size()+" channels");
+        mFilterStatus.setText(mFilters.toString() + " for next "+getGuideHours()+" hours");
+        mFilterStatus.setTextColor(mFilters.any() ? Color.WHITE : Color.GRAY);
 
-                displayedChannels++;
+        mSpinner.setVisibility(View.GONE);
 
-            }
-            return null;
-        }
+        focusRow(mFocusNdx);
+    }
 
-        @Override
-        protected void onPostExecute(Void aVoid) {
-            TvApp.getApplication().getLogger().Debug("*** Display programs post execute");
-            if (mCurrentDisplayChannelEndNdx < mAllChannels.size()-1 && !mFilters.any()) {
-                // Show a paging row for channels below
-                int pageDnEnd = mCurrentDisplayChannelEndNdx + PAGE_SIZE;
-                if (pageDnEnd >= mAllChannels.size()) pageDnEnd = mAllChannels.size()-1;
-
-                TextView placeHolder = new TextView(mActivity);
-                placeHolder.setHeight(PAGEBUTTON_HEIGHT);
-                mChannels.addView(placeHolder);
-
-                mProgramRows.addView(new GuidePagingButton(mActivity, mActivity, mCurrentDisplayChannelEndNdx + 1, getString(R.string.lbl_load_channels)+mAllChannels.get(mCurrentDisplayChannelEndNdx+1).getNumber() + " - "+mAllChannels.get(pageDnEnd).getNumber()));
-            }
+    private void focusRow(int ndx) {
+        mChannelsLayout.scrollToPositionWithOffset(ndx, 0);
+        mProgramRowsLayout.scrollToPositionWithOffset(ndx, 0);
 
-            mChannelStatus.setText(displayedChannels+" of "+mAllChannels.size()+" channels");
-            mFilterStatus.setText(mFilters.toString() + " for next "+getGuideHours()+" hours");
-            mFilterStatus.setTextColor(mFilters.any() ? Color.WHITE : Color.GRAY);
+        // focus the row as soon as it is laid out - either here if it was already attached or when it is
+        mPendingFocusPosition = ndx;
+        mProgramRows.post(new Runnable() {
+            @Override
+            public void run() {
+                View row = mPendingFocusPosition != RecyclerView.NO_POSITION ? mProgramRowsLayout.findViewByPosition(mPendingFocusPosition) : null;
+                if (row != null) {
+                    mPendingFocusPosition = RecyclerView.NO_POSITION;
+                    row.requestFocus();
+                }
+            }
+        });
+    }
 
-            mSpinner.setVisibility(View.GONE);
-            if (firstRow != null) firstRow.requestFocus();
+    private void loadProgramsAround(int position) {
+        if (mLoadingPrograms) return; // rows bound while this is running will ask again when they are re-bound
 
-        }
+        int start = position > FETCH_SIZE / 2 ? position - (FETCH_SIZE / 2) : 0;
+        int end = start + FETCH_SIZE;
+        if (end > mAllChannels.size()) end = mAllChannels.size();
+        loadRows(start, end - 1, position, false);
     }
 
-    private int currentCellId = 0;
+    class ChannelHeaderAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            return new RecyclerView.ViewHolder(new GuideChannelHeader(mActivity, mAllChannels.get(0))) {};
+        }
 
-    private LinearLayout getProgramRow(List<BaseItemDto> programs, String channelId) {
+        @Override
+        public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+            GuideChannelHeader header = (GuideChannelHeader) holder.itemView;
+            header.setChannel(mAllChannels.get(position));
+            header.loadImage();
+        }
 
-        LinearLayout programRow = new LinearLayout(this);
+        @Override
+        public int getItemCount() {
+            return mAllChannels != null ? mAllChannels.size() : 0;
+        }
+    }
 
-        if (programs.size() == 0) {
-            BaseItemDto empty = new BaseItemDto();
-            empty.setName("  <No Program Data Available>");
-            empty.setChannelId(channelId);
-            empty.setStartDate(Utils.convertToUtcDate(new Date(mCurrentLocalGuideStart)));
-            empty.setEndDate(Utils.convertToUtcDate(new Date(mCurrentLocalGuideStart+(150*60000))));
-            ProgramGridCell cell = new ProgramGridCell(this, this, empty);
-            cell.setId(currentCellId++);
-            cell.setLayoutParams(new ViewGroup.LayoutParams(150 * PIXELS_PER_MINUTE, ROW_HEIGHT));
-            cell.setFocusable(true);
-            programRow.addView(cell);
-            return programRow;
+    class ProgramRowsAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            LinearLayout row = new LinearLayout(mActivity);
+            row.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ROW_HEIGHT));
+            return new RecyclerView.ViewHolder(row) {};
         }
 
-        long prevEnd = getCurrentLocalStartDate();
-        for (BaseItemDto item : programs) {
-            long start = item.getStartDate() != null ? Utils.convertToLocalDate(item.getStartDate()).getTime() : getCurrentLocalStartDate();
-            if (start < getCurrentLocalStartDate()) start = getCurrentLocalStartDate();
-            if (start > prevEnd) {
-                // fill empty time slot
-                BaseItemDto empty = new BaseItemDto();
-                empty.setName("  <No Program Data Available>");
-                empty.setChannelId(channelId);
-                empty.setStartDate(Utils.convertToUtcDate(new Date(prevEnd)));
-                Long duration = (start - prevEnd);
-                empty.setEndDate(Utils.convertToUtcDate(new Date(prevEnd+duration)));
-                ProgramGridCell cell = new ProgramGridCell(this, this, empty);
-                cell.setId(currentCellId++);
-                cell.setLayoutParams(new ViewGroup.LayoutParams(((Long)(duration / 60000)).intValue() * PIXELS_PER_MINUTE, ROW_HEIGHT));
-                cell.setFocusable(true);
-                programRow.addView(cell);
+        @Override
+        public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+            String channelId = mAllChannels.get(position).getId();
+            LinearLayout row = (LinearLayout) holder.itemView;
+            View focused = row.findFocus();
+            int focusedLeft = focused != null ? focused.getLeft() : -1;
+
+            GuideRowLayout layout = mRowLayouts.get(channelId);
+            if (layout != null) {
+                bindProgramRow(row, layout);
+            } else {
+                bindLoadingRow(row, channelId);
+                loadProgramsAround(position);
+            }
+
+            // keep focus in place when the focused row is re-bound
+            if (focusedLeft >= 0) {
+                int right = 0;
+                for (int i = 0; i < row.getChildCount(); i++) {
+                    View cell = row.getChildAt(i);
+                    right += cell.getLayoutParams().width;
+                    if (right > focusedLeft) {
+                        cell.requestFocus();
+                        break;
+                    }
+                }
             }
-            long end = item.getEndDate() != null ? Utils.convertToLocalDate(item.getEndDate()).getTime() : getCurrentLocalEndDate();
-            if (end > getCurrentLocalEndDate()) end = getCurrentLocalEndDate();
-            prevEnd = end;
-            Long duration = (end - start) / 60000;
-            //TvApp.getApplication().getLogger().Debug("Duration for "+item.getName()+" is "+duration.intValue());
-            if (duration > 0) {
-                ProgramGridCell program = new ProgramGridCell(this, this, item);
-                program.setId(currentCellId++);
-                program.setLayoutParams(new ViewGroup.LayoutParams(duration.intValue() * PIXELS_PER_MINUTE, ROW_HEIGHT));
-                program.setFocusable(true);
-
-                programRow.addView(program);
+        }
 
+        @Override
+        public void onViewAttachedToWindow(RecyclerView.ViewHolder holder) {
+            if (mPendingFocusPosition != RecyclerView.NO_POSITION && holder.getAdapterPosition() == mPendingFocusPosition) {
+                mPendingFocusPosition = RecyclerView.NO_POSITION;
+                holder.itemView.requestFocus();
             }
+        }
+
+        @Override
+        public void onViewRecycled(RecyclerView.ViewHolder holder) {
+            recycleCells((LinearLayout) holder.itemView);
+        }
+
+        @Override
+        public int getItemCount() {
+            return mAllChannels != null ? mAllChannels.size() : 0;
+        }
+    }
 
+    private void recycleCells(LinearLayout programRow) {
+        for (int i = 0; i < programRow.getChildCount(); i++) {
+            mRecycledCells.add((ProgramGridCell) programRow.getChildAt(i));
         }
+        programRow.removeAllViews();
+    }
 
-        return programRow;
+    private void addProgramCell(LinearLayout programRow, BaseItemDto program, int width) {
+        ProgramGridCell cell;
+        if (mRecycledCells.size() > 0) {
+            cell = mRecycledCells.remove(mRecycledCells.size() - 1);
+            cell.setProgram(program);
+        } else {
+            cell = new ProgramGridCell(this, this, program);
+        }
+        cell.setLayoutParams(new LinearLayout.LayoutParams(width, ROW_HEIGHT));
+        cell.setFocusable(true);
+        programRow.addView(cell);
+    }
+
+    private void bindLoadingRow(LinearLayout programRow, String channelId) {
+        recycleCells(programRow);
+        BaseItemDto loading = new BaseItemDto();
+        loading.setName("  " + getString(R.string.lbl_loading_elipses));
+        loading.setChannelId(channelId);
+        loading.setStartDate(Utils.convertToUtcDate(new Date(mCurrentLocalGuideStart)));
+        loading.setEndDate(Utils.convertToUtcDate(new Date(mCurrentLocalGuideStart+(150*60000))));
+        addProgramCell(programRow, loading, 150 * PIXELS_PER_MINUTE);
+    }
+
+    private void bindProgramRow(LinearLayout programRow, GuideRowLayout layout) {
+        recycleCells(programRow);
+        for (int i = 0; i < layout.getCount(); i++) {
+            addProgramCell(programRow, layout.getProgram(i), layout.getWidth(i) * PIXELS_PER_MINUTE);
+        }
     }
 
     private void fillTimeLine(int hours) {
@@ -569,6 +691,11 @@ public class LiveTvGuideActivity extends BaseActivity implements ILiveTvGuide {
         int interval = current.get(Calendar.MINUTE) >= 30 ? 30 : 60;
         mCurrentGuideEnd.add(Calendar.HOUR, hours);
         mCurrentLocalGuideEnd = mCurrentGuideEnd.getTimeInMillis();
+        // layouts are relative to the time line so anything we have is no longer valid
+        mRowLayouts.clear();
+        mLayoutGeneration++;
+        mProgramRows.getLayoutParams().width = hours * 60 * PIXELS_PER_MINUTE;
+        mProgramRows.requestLayout();
         mTimeline.removeAllViews();
         while (current.before(mCurrentGuideEnd)) {
             TextView time = new TextView(this);
@@ -614,7 +741,7 @@ public class LiveTvGuideActivity extends BaseActivity implements ILiveTvGuide {
         if (mSelectedProgram.getId() != null) {
             mDisplayDate.setText(Utils.getFriendlyDate(Utils.convertToLocalDate(mSelectedProgram.getStartDate())));
             String url = Utils.getPrimaryImageUrl(mSelectedProgram, TvApp.getApplication().getApiClient());
-            Picasso.with(mActivity).load(url).resize(IMAGE_SIZE, IMAGE_SIZE).centerInside().into(mImage);
+            Glide.with(mActivity).load(url).diskCacheStrategy(DiskCacheStrategy.ALL).override(IMAGE_SIZE, IMAGE_SIZE).fitCenter().into(mImage);
 
             //info row
             InfoLayoutHelper.addInfoRow(mActivity, mSelectedProgram, mInfoRow, false, false);
@@ -0,0 +1,185 @@
+// app/src/main/java/org/jellyfin/androidtv/livetv/ProgramStore.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.livetv;
+
+import org.jellyfin.androidtv.util.Utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import mediabrowser.model.dto.BaseItemDto;
+
+/**
+ * Guide data kept across fetches, indexed by channel and half-hour time bucket.
+ *
+ * Each channel holds its programs sorted by start time plus the buckets that have been loaded for it
+ * and when, so a page of the guide only needs to request the channels and times that are not already
+ * here or have gone stale.  All times are local millis as used by the guide.
+ */
+public class ProgramStore {
+    public static final long BUCKET_MILLIS = 30 * 60000;
+    // loaded buckets are asked for again after this long so schedule changes get picked up
+    public static final long MAX_BUCKET_AGE = 30 * 60000;
+
+    private HashMap<String, ChannelPrograms> mChannels = new HashMap<>();
+
+    public static long getBucket(long time) {
+        return time / BUCKET_MILLIS;
+    }
+
+    /**
+     * @return the start of the earliest bucket in the range not loaded (or loaded too long ago) for the channel or -1 if it is all here
+     */
+    public synchronized long getFirstMissing(String channelId, long start, long end) {
+        ChannelPrograms channel = mChannels.get(channelId);
+        long staleBefore = System.currentTimeMillis() - MAX_BUCKET_AGE;
+        for (long bucket = getBucket(start); bucket * BUCKET_MILLIS < end; bucket++) {
+            Long loaded = channel != null ? channel.loadedBuckets.get(bucket) : null;
+            if (loaded == null || loaded < staleBefore) return bucket * BUCKET_MILLIS;
+        }
+        return -1;
+    }
+
+    public synchronized boolean isLoaded(String channelId, long start, long end) {
+        return getFirstMissing(channelId, start, end) < 0;
+    }
+
+    /**
+     * Merge the results of a program query into the store.  Every requested channel is marked as loaded
+     * for the range even if it had no programs so it will not be asked for again until it goes stale.
+     */
+    public synchronized void merge(String[] channelIds, BaseItemDto[] programs, long start, long end) {
+        long now = System.currentTimeMillis();
+        for (String id : channelIds) {
+            ChannelPrograms channel = getOrCreate(id);
+            // the fetch covers the whole range - anything no longer in it was dropped from the schedule
+            channel.programs.subList(channel.firstStartingAtOrAfter(start), channel.firstStartingAtOrAfter(end)).clear();
+            for (long bucket = getBucket(start); bucket * BUCKET_MILLIS < end; bucket++) {
+                channel.loadedBuckets.put(bucket, now);
+            }
+        }
+
+        if (programs == null) return;
+        for (BaseItemDto program : programs) {
+            if (program.getChannelId() == null || program.getStartDate() == null || program.getEndDate() == null) continue;
+            getOrCreate(program.getChannelId()).put(new StoredProgram(program));
+        }
+    }
+
+    /**
+     * Programs for a channel that overlap the given range - found by binary search on end time.
+     */
+    public synchronized List<BaseItemDto> getPrograms(String channelId, long start, long end) {
+        List<BaseItemDto> results = new ArrayList<>();
+        ChannelPrograms channel = mChannels.get(channelId);
+        if (channel == null) return results;
+
+        for (int i = channel.firstEndingAfter(start); i < channel.programs.size(); i++) {
+            StoredProgram stored = channel.programs.get(i);
+            if (stored.start >= end) break;
+            results.add(stored.program);
+        }
+        return results;
+    }
+
+    public synchronized boolean hasChannel(String channelId) {
+        return mChannels.containsKey(channelId);
+    }
+
+    /**
+     * Drop programs that have finished and buckets that are in the past.
+     */
+    public synchronized void evictExpired(long now) {
+        long currentBucket = getBucket(now);
+        for (ChannelPrograms channel : mChannels.values()) {
+            int expired = channel.firstEndingAfter(now);
+            if (expired > 0) channel.programs.subList(0, expired).clear();
+            if (!channel.loadedBuckets.isEmpty()) {
+                List<Long> old = new ArrayList<>();
+                for (Long bucket : channel.loadedBuckets.keySet()) {
+                    if (bucket < currentBucket) old.add(bucket);
+                }
+                channel.loadedBuckets.keySet().removeAll(old);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        mChannels.clear();
+    }
+
+    private ChannelPrograms getOrCreate(String channelId) {
+        ChannelPrograms channel = mChannels.get(channelId);
+        if (channel == null) {
+            channel = new ChannelPrograms();
+            mChannels.put(channelId, channel);
+        }
+        return channel;
+    }
+
+    private static class StoredProgram {
+        final long start;
+        final long end;
+        final BaseItemDto program;
+
+        StoredProgram(BaseItemDto program) {
+            this.program = program;
+            start = Utils.convertToLocalDate(program.getStartDate()).getTime();
+            end = Utils.convertToLocalDate(program.getEndDate()).getTime();
+        }
+    }
+
+    private static class ChannelPrograms {
+        final ArrayList<StoredProgram> programs = new ArrayList<>();
+        // bucket to the time it was loaded
+        final HashMap<Long, Long> loadedBuckets = new HashMap<>();
+
+        // programs on a channel don't overlap so end times are sorted along with start times
+        int firstEndingAfter(long time) {
+            int low = 0;
+            int high = programs.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (programs.get(mid).end <= time) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        int firstStartingAtOrAfter(long time) {
+            int low = 0;
+            int high = programs.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (programs.get(mid).start < time) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        void put(StoredProgram stored) {
+            int ndx = firstStartingAtOrAfter(stored.start);
+            // replace anything this program overlaps (a re-fetch or a schedule change)
+            while (ndx > 0 && programs.get(ndx - 1).end > stored.start) ndx--;
+            while (ndx < programs.size() && programs.get(ndx).start < stored.end) programs.remove(ndx);
+            programs.add(ndx, stored);
+        }
+    }
+}
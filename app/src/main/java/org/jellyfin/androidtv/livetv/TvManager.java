@@ -12,7 +12,6 @@ import org.jellyfin.androidtv.ui.ProgramGridCell;
 import org.jellyfin.androidtv.util.Utils;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
@@ -37,8 +36,11 @@ import mediabrowser.model.results.ChannelInfoDtoResult;
 public class TvManager {
     private static List<ChannelInfoDto> allChannels;
     private static String[] channelIds;
-    private static HashMap<String, ArrayList<BaseItemDto>> mProgramsDict = new HashMap<>();
-    private static Calendar needLoadTime;
+    private static HashMap<String, Integer> channelIndexes = new HashMap<>();
+    private static HashMap<String, ChannelInfoDto> channelsByNumber = new HashMap<>();
+    private static ProgramStore mProgramStore = new ProgramStore();
+    private static long mProgramsStart;
+    private static long mProgramsEnd;
     private static Calendar programNeedLoadTime;
 
     public static String getLastLiveTvChannel() {
@@ -49,7 +51,10 @@ public class TvManager {
         TvApp.getApplication().getSystemPrefs().edit().putString("sys_pref_prev_tv_channel", TvApp.getApplication().getSystemPrefs().getString("sys_pref_last_tv_channel", null)).commit();
         TvApp.getApplication().getSystemPrefs().edit().putString("sys_pref_last_tv_channel", id).commit();
         updateLastPlayedDate(id);
-        sortChannels();
+        if (allChannels != null && TvApp.getApplication().getPrefs().getBoolean("pref_guide_sort_date", true)) {
+            // this is now the most recently played so it just moves to the top
+            moveToTop(getAllChannelsIndex(id));
+        }
     }
 
     public static String getPrevLiveTvChannel() {
@@ -62,13 +67,28 @@ public class TvManager {
 
     public static void resetChannels() {
         allChannels = null;
+        channelIndexes.clear();
+        channelsByNumber.clear();
     }
 
     public static int getAllChannelsIndex(String id) {
-        for (int i = 0; i < allChannels.size(); i++) {
-            if (allChannels.get(i).getId().equals(id)) return i;
+        Integer ndx = id != null ? channelIndexes.get(id) : null;
+        return ndx != null ? ndx : -1;
+    }
+
+    public static ChannelInfoDto getChannelByNumber(String number) {
+        return number != null ? channelsByNumber.get(number) : null;
+    }
+
+    private static void moveToTop(int ndx) {
+        if (ndx <= 0) return;
+        ChannelInfoDto channel = allChannels.remove(ndx);
+        allChannels.add(0, channel);
+        System.arraycopy(channelIds, 0, channelIds, 1, ndx);
+        channelIds[0] = channel.getId();
+        for (int i = 0; i <= ndx; i++) {
+            channelIndexes.put(channelIds[i], i);
         }
-        return -1;
     }
 
     public static ChannelInfoDto getChannel(int ndx) {
@@ -105,6 +125,12 @@ public class TvManager {
 
                 outerResponse.onResponse(sortChannels());
             }
+
+            @Override
+            public void onError(Exception exception) {
+                TvApp.getApplication().getLogger().ErrorException("Error loading channels", exception);
+                outerResponse.onError(exception);
+            }
         });
 
     }
@@ -127,11 +153,15 @@ public class TvManager {
             }
 
 
-            //And  fill in channel IDs
+            //And  fill in channel IDs and lookups
             channelIds = new String[allChannels.size()];
+            channelIndexes.clear();
+            channelsByNumber.clear();
             String last = getLastLiveTvChannel();
             int i = 0;
             for (ChannelInfoDto channel : allChannels) {
+                channelIndexes.put(channel.getId(), i);
+                if (channel.getNumber() != null && !channelsByNumber.containsKey(channel.getNumber())) channelsByNumber.put(channel.getNumber(), channel);
                 channelIds[i++] = channel.getId();
                 if (channel.getId().equals(last)) ndx = i;
                 //TvApp.getApplication().getLogger().Debug("Last played for "+channel.getName()+ " is "+channel.getUserData().getLastPlayedDate());
@@ -141,59 +171,137 @@ public class TvManager {
         return ndx;
     }
 
-    public static void getProgramsAsync(int startNdx, int endNdx, Calendar endTime, final EmptyResponse outerResponse) {
-        final Calendar start = new GregorianCalendar(TimeZone.getTimeZone("Z"));
+    public static long getCurrentGuideStart() {
+        Calendar start = Calendar.getInstance();
         start.set(Calendar.MINUTE, start.get(Calendar.MINUTE) >= 30 ? 30 : 0);
-        start.set(Calendar.SECOND, 1);
-        if (needLoadTime == null || start.after(needLoadTime) || !mProgramsDict.containsKey(channelIds[startNdx]) || !mProgramsDict.containsKey(channelIds[endNdx])) {
+        start.set(Calendar.SECOND, 0);
+        start.set(Calendar.MILLISECOND, 0);
+        return start.getTimeInMillis();
+    }
+
+    public static void getProgramsAsync(int startNdx, int endNdx, Calendar endTime, final EmptyResponse outerResponse) {
+        getProgramsAsync(startNdx, endNdx, startNdx, endTime, null, outerResponse);
+    }
+
+    /**
+     * Load programs for a range of channels in shards, starting with the shard holding firstNdx.
+     * shardResponse (optional) is called with the channel ids of each shard as it lands so they can be shown right away.
+     */
+    public static void getProgramsAsync(int startNdx, int endNdx, int firstNdx, Calendar endTime, Response<String[]> shardResponse, final EmptyResponse outerResponse) {
+        mProgramsStart = getCurrentGuideStart();
+        mProgramsEnd = endTime.getTimeInMillis();
+        fetchProgramsAsync(startNdx, endNdx, firstNdx, mProgramsStart, endTime, shardResponse, outerResponse);
+    }
+
+    /**
+     * Load programs into the store without changing the window the guide is showing
+     */
+    public static void prefetchProgramsAsync(int startNdx, int endNdx, Calendar endTime, final EmptyResponse outerResponse) {
+        fetchProgramsAsync(startNdx, endNdx, startNdx, getCurrentGuideStart(), endTime, null, outerResponse);
+    }
+
+    private static void fetchProgramsAsync(int startNdx, int endNdx, int firstNdx, long startTime, Calendar endTime, Response<String[]> shardResponse, final EmptyResponse outerResponse) {
+        mProgramStore.evictExpired(System.currentTimeMillis());
+
+        // only ask for the channels and times we don't already have - from the first one they will see down, then the ones above it
+        endNdx = endNdx >= channelIds.length ? channelIds.length : endNdx+1; //array copy range final ndx is exclusive
+        if (firstNdx < startNdx || firstNdx >= endNdx) firstNdx = startNdx;
+        List<String> missing = new ArrayList<>();
+        List<Long> missingStarts = new ArrayList<>();
+        for (int n = 0; n < endNdx - startNdx; n++) {
+            int i = firstNdx + n < endNdx ? firstNdx + n : startNdx + (firstNdx + n - endNdx);
+            long channelMissing = mProgramStore.getFirstMissing(channelIds[i], startTime, endTime.getTimeInMillis());
+            if (channelMissing >= 0) {
+                missing.add(channelIds[i]);
+                missingStarts.add(channelMissing);
+            }
+        }
+
+        if (missing.size() == 0) {
+            outerResponse.onResponse();
+            return;
+        }
+
+        TvApp.getApplication().getLogger().Debug("*** About to get programs for " + missing.size() + " channels");
+        new ShardedProgramFetch(missing, missingStarts, endTime, shardResponse, outerResponse).start();
+    }
+
+    private static final int PROGRAM_SHARD_SIZE = 10;
+    private static final int MAX_PARALLEL_SHARDS = 3;
+
+    /**
+     * Splits a program request into channel shards so each response stays small and can be used as soon as it lands.
+     * Shards are requested in order with at most MAX_PARALLEL_SHARDS outstanding.
+     */
+    private static class ShardedProgramFetch {
+        private final List<String[]> mShards = new ArrayList<>();
+        private final List<Long> mShardStarts = new ArrayList<>();
+        private final Calendar mEndTime;
+        private final Response<String[]> mShardResponse;
+        private final EmptyResponse mOuterResponse;
+        private int mNextShard;
+        private int mOutstanding;
+        private Exception mError;
+
+        ShardedProgramFetch(List<String> channelIds, List<Long> starts, Calendar endTime, Response<String[]> shardResponse, EmptyResponse outerResponse) {
+            mEndTime = endTime;
+            mShardResponse = shardResponse;
+            mOuterResponse = outerResponse;
+            for (int i = 0; i < channelIds.size(); i += PROGRAM_SHARD_SIZE) {
+                int end = Math.min(i + PROGRAM_SHARD_SIZE, channelIds.size());
+                mShards.add(channelIds.subList(i, end).toArray(new String[end - i]));
+                mShardStarts.add(Collections.min(starts.subList(i, end)));
+            }
+        }
+
+        void start() {
+            while (mOutstanding < MAX_PARALLEL_SHARDS && mNextShard < mShards.size()) {
+                fetch(mNextShard++);
+            }
+        }
+
+        private void fetch(int shard) {
+            mOutstanding++;
+            final String[] ids = mShards.get(shard);
+            final long loadStart = mShardStarts.get(shard);
+            final long loadEnd = mEndTime.getTimeInMillis();
             ProgramQuery query = new ProgramQuery();
             query.setUserId(TvApp.getApplication().getCurrentUser().getId());
-            endNdx = endNdx > channelIds.length ? channelIds.length : endNdx+1; //array copy range final ndx is exclusive
-            query.setChannelIds(Arrays.copyOfRange(channelIds, startNdx, endNdx));
+            query.setChannelIds(ids);
             query.setEnableImages(false);
             query.setSortBy(new String[] {"StartDate"});
-            Calendar end = (Calendar) endTime.clone();
+            Calendar end = (Calendar) mEndTime.clone();
             end.setTimeZone(TimeZone.getTimeZone("Z"));
             end.add(Calendar.SECOND, -1);
             query.setMaxStartDate(end.getTime());
-            query.setMinEndDate(start.getTime());
-
-            TvApp.getApplication().getLogger().Debug("*** About to get programs");
+            query.setMinEndDate(new Date(loadStart + 1000));
 
             TvApp.getApplication().getApiClient().GetLiveTvProgramsAsync(query, new Response<ItemsResult>() {
                 @Override
                 public void onResponse(ItemsResult response) {
-                    TvApp.getApplication().getLogger().Debug("*** About to build dictionary");
-                    buildProgramsDict(response.getItems(), start);
-                    TvApp.getApplication().getLogger().Debug("*** Programs retrieval finished");
-
-                    outerResponse.onResponse();
+                    mProgramStore.merge(ids, response.getItems(), loadStart, loadEnd);
+                    if (mShardResponse != null) mShardResponse.onResponse(ids);
+                    finished();
                 }
 
                 @Override
                 public void onError(Exception exception) {
-                    outerResponse.onError(exception);
+                    TvApp.getApplication().getLogger().ErrorException("Error retrieving programs", exception);
+                    mError = exception;
+                    finished();
                 }
             });
-
-        } else {
-            outerResponse.onResponse();
         }
-    }
 
-    private static void buildProgramsDict(BaseItemDto[] programs, Calendar startTime) {
-        mProgramsDict = new HashMap<>();
-        long start = startTime.getTimeInMillis();
-        for (BaseItemDto program : programs) {
-            String id = program.getChannelId();
-            if (!mProgramsDict.containsKey(id)) mProgramsDict.put(id, new ArrayList<BaseItemDto>());
-            if (Utils.convertToLocalDate(program.getEndDate()).getTime() > start)
-                mProgramsDict.get(id).add(program);
+        private void finished() {
+            mOutstanding--;
+            start();
+            if (mOutstanding == 0 && mNextShard >= mShards.size()) {
+                TvApp.getApplication().getLogger().Debug("*** Programs retrieval finished");
+                if (mError != null) mOuterResponse.onError(mError);
+                else mOuterResponse.onResponse();
+            }
         }
-        needLoadTime = (Calendar) startTime.clone();
-        needLoadTime.setTimeZone(TimeZone.getTimeZone("Z"));
-        needLoadTime.add(Calendar.MINUTE, 29);
-
     }
 
     public static Calendar updateProgramsNeedsLoadTime() {
@@ -206,9 +314,7 @@ public class TvManager {
     public static boolean programsNeedLoad(Calendar now) { return programNeedLoadTime == null || now.after(programNeedLoadTime); }
 
     public static List<BaseItemDto> getProgramsForChannel(String channelId, GuideFilters filters) {
-        if (!mProgramsDict.containsKey(channelId)) return new ArrayList<>();
-
-        List<BaseItemDto> results = mProgramsDict.get(channelId);
+        List<BaseItemDto> results = getProgramsForChannel(channelId);
         boolean passes = filters == null || !filters.any();
         if (passes) return results;
 
@@ -220,8 +326,12 @@ public class TvManager {
         return passes ? results : new ArrayList<BaseItemDto>();
     }
 
+    public static boolean isProgramsLoaded(String channelId) {
+        return mProgramStore.isLoaded(channelId, mProgramsStart, mProgramsEnd);
+    }
+
     public static List<BaseItemDto> getProgramsForChannel(String channelId) {
-        return !mProgramsDict.containsKey(channelId) ? new ArrayList<BaseItemDto>() : mProgramsDict.get(channelId);
+        return mProgramStore.getPrograms(channelId, mProgramsStart, mProgramsEnd);
 
     }
 
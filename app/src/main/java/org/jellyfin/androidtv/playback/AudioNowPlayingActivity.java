@@ -28,15 +28,15 @@ import android.widget.RelativeLayout;
 import android.widget.ScrollView;
 import android.widget.TextView;
 
-import com.squareup.picasso.Picasso;
-import com.squareup.picasso.Target;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
 
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
 import org.jellyfin.androidtv.base.BaseActivity;
 import org.jellyfin.androidtv.details.FullDetailsActivity;
 import org.jellyfin.androidtv.details.ItemListActivity;
-import org.jellyfin.androidtv.imagehandling.PicassoBackgroundManagerTarget;
+import org.jellyfin.androidtv.imagehandling.BackdropLoader;
 import org.jellyfin.androidtv.itemhandling.BaseRowItem;
 import org.jellyfin.androidtv.model.GotFocusEvent;
 import org.jellyfin.androidtv.presentation.PositionableListRowPresenter;
@@ -77,7 +77,7 @@ public class AudioNowPlayingActivity extends BaseActivity  {
     private TextView mSSUpNext;
     private String mDisplayDuration;
 
-    private Target mBackgroundTarget;
+    private BackdropLoader mBackdropLoader;
     private Drawable mDefaultBackground;
     private DisplayMetrics mMetrics;
 
@@ -197,19 +197,27 @@ public class AudioNowPlayingActivity extends BaseActivity  {
         mShuffleButton.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v) {
-                new AlertDialog.Builder(mActivity)
+                AlertDialog.Builder builder = new AlertDialog.Builder(mActivity)
                         .setTitle(R.string.lbl_shuffle)
                         .setMessage(R.string.msg_reshuffle_audio_queue)
                         .setPositiveButton(mActivity.getString(R.string.lbl_yes), new DialogInterface.OnClickListener() {
                             @Override
                             public void onClick(DialogInterface dialog, int which) {
                                 MediaManager.shuffleAudioQueue();
-                                mRowsAdapter.remove(mQueueRow);
-                                addQueue();
+                                mAudioQueuePresenter.setPosition(MediaManager.getCurrentAudioQueuePosition());
                             }
                         })
-                        .setNegativeButton(mActivity.getString(R.string.lbl_no), null)
-                        .show();
+                        .setNegativeButton(mActivity.getString(R.string.lbl_no), null);
+                if (MediaManager.isAudioQueueShuffled()) {
+                    builder.setNeutralButton(R.string.lbl_restore_queue_order, new DialogInterface.OnClickListener() {
+                        @Override
+                        public void onClick(DialogInterface dialog, int which) {
+                            MediaManager.unshuffleAudioQueue();
+                            mAudioQueuePresenter.setPosition(MediaManager.getCurrentAudioQueuePosition());
+                        }
+                    });
+                }
+                builder.show();
             }
         });
         mShuffleButton.setGotFocusListener(mainAreaFocusListener);
@@ -256,9 +264,9 @@ public class AudioNowPlayingActivity extends BaseActivity  {
 
         BackgroundManager backgroundManager = BackgroundManager.getInstance(this);
         backgroundManager.attach(getWindow());
-        mBackgroundTarget = new PicassoBackgroundManagerTarget(backgroundManager);
         mMetrics = new DisplayMetrics();
         getWindowManager().getDefaultDisplay().getMetrics(mMetrics);
+        mBackdropLoader = new BackdropLoader(this, backgroundManager, mMetrics);
 
         mRowsFragment = new RowsFragment();
         getFragmentManager().beginTransaction().add(R.id.rowsFragment, mRowsFragment).commit();
@@ -403,16 +411,17 @@ public class AudioNowPlayingActivity extends BaseActivity  {
         Double aspect = Utils.getImageAspectRatio(mBaseItem, false);
         int posterHeight = aspect > 1 ? Utils.convertDpToPixel(mActivity, 150) : Utils.convertDpToPixel(mActivity, 250);
         int posterWidth = (int) ((aspect) * posterHeight);
-        if (posterHeight < 10) posterWidth = Utils.convertDpToPixel(mActivity, 150);  //Guard against zero size images causing picasso to barf
+        if (posterHeight < 10) posterWidth = Utils.convertDpToPixel(mActivity, 150);  //Guard against zero size images breaking the image request
 
         String primaryImageUrl = Utils.getPrimaryImageUrl(mBaseItem, mApplication.getApiClient(),false, false, posterHeight);
         mApplication.getLogger().Debug("Audio Poster url: " + primaryImageUrl);
-        Picasso.with(mActivity)
+        Glide.with(mActivity)
                 .load(primaryImageUrl)
-                .skipMemoryCache()
+                .diskCacheStrategy(DiskCacheStrategy.ALL)
+                .skipMemoryCache(true)
                 .error(R.drawable.audioicon)
-                .resize(posterWidth, posterHeight)
-                .centerInside()
+                .override(posterWidth, posterHeight)
+                .fitCenter()
                 .into(mPoster);
     }
 
@@ -576,10 +585,11 @@ public class AudioNowPlayingActivity extends BaseActivity  {
         if (mBaseItem.getHasLogo() || mBaseItem.getParentLogoImageTag() != null) {
             if (ssActive) {
                 mLogoImage.setVisibility(View.VISIBLE);
-                Picasso.with(this)
+                Glide.with(this)
                         .load(Utils.getLogoImageUrl(mBaseItem, TvApp.getApplication().getApiClient()))
-                        .resize(700, 200)
-                        .centerInside()
+                        .diskCacheStrategy(DiskCacheStrategy.ALL)
+                        .override(700, 200)
+                        .fitCenter()
                         .into(mLogoImage);
                 mArtistName.setVisibility(View.INVISIBLE);
             }
@@ -590,17 +600,7 @@ public class AudioNowPlayingActivity extends BaseActivity  {
     }
 
     protected void updateBackground(String url) {
-        if (url == null) {
-            BackgroundManager.getInstance(this).setDrawable(mDefaultBackground);
-        } else {
-            Picasso.with(this)
-                    .load(url)
-                    .skipMemoryCache()
-                    .resize(mMetrics.widthPixels, mMetrics.heightPixels)
-                    .centerCrop()
-                    .error(mDefaultBackground)
-                    .into(mBackgroundTarget);
-        }
+        mBackdropLoader.load(url, mDefaultBackground);
     }
 
 }
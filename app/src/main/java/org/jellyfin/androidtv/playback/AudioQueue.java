@@ -0,0 +1,321 @@
+// app/src/main/java/org/jellyfin/androidtv/playback/AudioQueue.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.playback;
+
+import org.jellyfin.androidtv.TvApp;
+import org.jellyfin.androidtv.itemhandling.AudioQueueItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import mediabrowser.model.dto.BaseItemDto;
+
+/**
+ * The audio play queue, kept in play order with the position of the current track.
+ *
+ * Shuffling permutes the entries in place after stamping each with its original sequence, so the
+ * original order can be restored later.  Changes are reported to listeners (the queue rows) as
+ * ranged events rather than the rows being rebuilt.  Entries restored from storage are only
+ * deserialized when something first asks for them.  Only to be used from the main thread.
+ */
+public class AudioQueue {
+    public interface Listener {
+        void onItemsInserted(int position, int count);
+        void onItemsRemoved(int position, int count);
+        void onItemChanged(int position);
+        void onPositionChanged(int previous, int position);
+        // anything else - replaced, cleared, shuffled or restored
+        void onChanged();
+    }
+
+    private final ArrayList<Slot> mItems = new ArrayList<>();
+    private final List<Listener> mListeners = new ArrayList<>();
+    private int mPosition = -1;
+    private boolean mShuffled;
+    private int mNextSequence;
+
+    public void addListener(Listener listener) {
+        mListeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        mListeners.remove(listener);
+    }
+
+    public int size() {
+        return mItems.size();
+    }
+
+    public AudioQueueItem get(int ndx) {
+        return mItems.get(ndx).getEntry(ndx);
+    }
+
+    public BaseItemDto getItem(int ndx) {
+        return ndx >= 0 && ndx < mItems.size() ? get(ndx).getBaseItem() : null;
+    }
+
+    public int indexOf(Object entry) {
+        for (int i = 0; i < mItems.size(); i++) {
+            if (mItems.get(i).entry == entry) return i;
+        }
+        return -1;
+    }
+
+    public int getPosition() {
+        return mPosition;
+    }
+
+    public void setPosition(int position) {
+        if (position == mPosition) return;
+        int previous = mPosition;
+        mPosition = position;
+        for (Listener listener : mListeners) {
+            listener.onPositionChanged(previous, position);
+        }
+    }
+
+    /**
+     * @return the position after the current one, wrapping if repeat is on, or -1 if there isn't one
+     */
+    public int getNextPosition(boolean repeat) {
+        if (mItems.isEmpty() || (!repeat && mPosition >= mItems.size() - 1)) return -1;
+        int ndx = mPosition + 1;
+        return ndx >= mItems.size() ? 0 : ndx;
+    }
+
+    public int getPrevPosition(boolean repeat) {
+        if (mItems.isEmpty() || (!repeat && mPosition <= 0)) return -1;
+        int ndx = mPosition - 1;
+        return ndx < 0 ? mItems.size() - 1 : ndx;
+    }
+
+    public boolean isShuffled() {
+        return mShuffled;
+    }
+
+    public int getNextSequence() {
+        return mNextSequence;
+    }
+
+    public List<String> getItemIds() {
+        List<String> ids = new ArrayList<>(mItems.size());
+        for (Slot slot : mItems) {
+            ids.add(slot.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * @return a copy of the entries for writing out - safe to read from another thread
+     */
+    public List<Slot> getSlots() {
+        return new ArrayList<>(mItems);
+    }
+
+    /**
+     * Replace the whole queue - nothing is current afterwards
+     */
+    public void replace(List<BaseItemDto> items) {
+        mItems.clear();
+        mItems.ensureCapacity(items.size());
+        for (BaseItemDto item : items) {
+            mItems.add(createSlot(item));
+        }
+        mPosition = -1;
+        mShuffled = false;
+        fireChanged();
+    }
+
+    /**
+     * Replace the whole queue with entries read back from storage
+     */
+    public void restore(List<Slot> slots, int position, boolean shuffled, int nextSequence) {
+        mItems.clear();
+        mItems.addAll(slots);
+        mPosition = position < mItems.size() ? position : -1;
+        mShuffled = shuffled;
+        mNextSequence = nextSequence;
+        fireChanged();
+    }
+
+    public void add(List<BaseItemDto> items) {
+        int start = mItems.size();
+        for (BaseItemDto item : items) {
+            mItems.add(createSlot(item));
+        }
+        if (items.size() > 0) fireInserted(start, items.size());
+    }
+
+    public void insert(int ndx, BaseItemDto item) {
+        if (ndx < 0 || ndx > mItems.size()) ndx = mItems.size();
+        mItems.add(ndx, createSlot(item));
+        // keep the same track current
+        if (mPosition >= 0 && ndx <= mPosition) mPosition++;
+        reindex(ndx);
+        fireInserted(ndx, 1);
+    }
+
+    /**
+     * Remove one entry.  If it was the current one the position backs up so the next track is the one that took its place.
+     */
+    public void remove(int ndx) {
+        mItems.remove(ndx);
+        if (ndx <= mPosition) mPosition--;
+        reindex(ndx);
+        for (Listener listener : mListeners) {
+            listener.onItemsRemoved(ndx, 1);
+        }
+    }
+
+    public void clear() {
+        mItems.clear();
+        mPosition = -1;
+        mShuffled = false;
+        fireChanged();
+    }
+
+    public void notifyItemChanged(int ndx) {
+        for (Listener listener : mListeners) {
+            listener.onItemChanged(ndx);
+        }
+    }
+
+    /**
+     * Shuffle in place.  The current track, if there is one, moves to the front and stays current.
+     */
+    public void shuffle() {
+        if (!mShuffled) {
+            // remember the order we came from
+            for (int i = 0; i < mItems.size(); i++) {
+                mItems.get(i).sequence = i;
+            }
+            mNextSequence = mItems.size();
+        }
+
+        int start = 0;
+        if (mPosition >= 0 && mPosition < mItems.size()) {
+            Collections.swap(mItems, 0, mPosition);
+            mPosition = 0;
+            start = 1;
+        }
+        Random random = new Random();
+        for (int i = mItems.size() - 1; i > start; i--) {
+            Collections.swap(mItems, i, start + random.nextInt(i - start + 1));
+        }
+        reindex(0);
+        mShuffled = true;
+        fireChanged();
+    }
+
+    /**
+     * Put the queue back in the order it had before shuffling - anything added since goes at the end
+     */
+    public void unshuffle() {
+        if (!mShuffled) return;
+        Slot current = mPosition >= 0 && mPosition < mItems.size() ? mItems.get(mPosition) : null;
+        Collections.sort(mItems, new Comparator<Slot>() {
+            @Override
+            public int compare(Slot lhs, Slot rhs) {
+                return lhs.sequence < rhs.sequence ? -1 : lhs.sequence == rhs.sequence ? 0 : 1;
+            }
+        });
+        if (current != null) mPosition = mItems.indexOf(current);
+        reindex(0);
+        mShuffled = false;
+        fireChanged();
+    }
+
+    private Slot createSlot(BaseItemDto item) {
+        // while shuffled new entries sort after everything that was there when restored
+        return new Slot(new AudioQueueItem(mItems.size(), item), mNextSequence++);
+    }
+
+    /**
+     * Bring the index of every live entry from the given position on back in line with where it now sits.
+     * Rows hand the entry's index to whatever acts on a selected card.
+     */
+    private void reindex(int from) {
+        for (int i = from; i < mItems.size(); i++) {
+            AudioQueueItem entry = mItems.get(i).entry;
+            if (entry != null) entry.setIndex(i);
+        }
+    }
+
+    private void fireInserted(int position, int count) {
+        for (Listener listener : mListeners) {
+            listener.onItemsInserted(position, count);
+        }
+    }
+
+    private void fireChanged() {
+        for (Listener listener : mListeners) {
+            listener.onChanged();
+        }
+    }
+
+    /**
+     * One place in the queue - either a live entry or the stored form of one that hasn't been needed yet
+     */
+    public static class Slot {
+        private volatile AudioQueueItem entry;
+        private volatile String payload;
+        private final String id;
+        int sequence;
+
+        Slot(AudioQueueItem entry, int sequence) {
+            this.entry = entry;
+            this.id = entry.getItemId();
+            this.sequence = sequence;
+        }
+
+        public Slot(String id, int sequence, String payload) {
+            this.id = id;
+            this.sequence = sequence;
+            this.payload = payload;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getSequence() {
+            return sequence;
+        }
+
+        // ndx is only used if the entry has to be created from the stored form
+        AudioQueueItem getEntry(int ndx) {
+            if (entry == null) {
+                BaseItemDto item = (BaseItemDto) TvApp.getApplication().getSerializer().DeserializeFromString(payload, BaseItemDto.class);
+                entry = new AudioQueueItem(ndx, item);
+            }
+            return entry;
+        }
+
+        /**
+         * @return the serialized item - worked out once and kept since queue items don't change
+         */
+        public String getPayload() {
+            if (payload == null) payload = TvApp.getApplication().getSerializer().SerializeToString(entry.getBaseItem());
+            return payload;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+// app/src/main/java/org/jellyfin/androidtv/playback/AudioQueueAdapter.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.playback;
+
+import android.support.v17.leanback.widget.Presenter;
+
+import org.jellyfin.androidtv.itemhandling.ItemRowAdapter;
+import org.jellyfin.androidtv.querying.QueryType;
+
+import java.util.ArrayList;
+
+import mediabrowser.model.dto.BaseItemDto;
+
+/**
+ * Row adapter that shows the audio queue directly instead of holding a copy of it.
+ *
+ * Items are read from the queue on demand and queue events are passed on as ranged notifications,
+ * so adding to or advancing through a large queue only touches the affected cards.  When fromCurrent is
+ * set only the current track and what follows it are shown (the now playing row).
+ * It remains an ItemRowAdapter so the browse fragments can treat it like any other row.
+ */
+public class AudioQueueAdapter extends ItemRowAdapter implements AudioQueue.Listener {
+    private AudioQueue mQueue;
+    private boolean mFromCurrent;
+    private int mStart;
+
+    public AudioQueueAdapter(AudioQueue queue, Presenter presenter, boolean fromCurrent) {
+        super(new ArrayList<BaseItemDto>(), presenter, null, QueryType.StaticAudioQueueItems);
+        mQueue = queue;
+        mFromCurrent = fromCurrent;
+        mStart = getStart();
+        queue.addListener(this);
+    }
+
+    private int getStart() {
+        return mFromCurrent ? Math.max(mQueue.getPosition(), 0) : 0;
+    }
+
+    @Override
+    public int size() {
+        return Math.max(mQueue.size() - mStart, 0);
+    }
+
+    @Override
+    public Object get(int position) {
+        return mQueue.get(mStart + position);
+    }
+
+    @Override
+    public int indexOf(Object item) {
+        int ndx = mQueue.indexOf(item);
+        return ndx >= mStart ? ndx - mStart : -1;
+    }
+
+    @Override
+    public void onItemsInserted(int position, int count) {
+        int previousStart = mStart;
+        mStart = getStart();
+        if (mStart != previousStart) notifyChanged();
+        else if (position >= mStart) notifyItemRangeInserted(position - mStart, count);
+    }
+
+    @Override
+    public void onItemsRemoved(int position, int count) {
+        int previousStart = mStart;
+        mStart = getStart();
+        if (mStart != previousStart) notifyChanged();
+        else if (position >= mStart) notifyItemRangeRemoved(position - mStart, count);
+    }
+
+    @Override
+    public void onItemChanged(int position) {
+        if (position >= mStart) notifyItemRangeChanged(position - mStart, 1);
+    }
+
+    @Override
+    public void onPositionChanged(int previous, int position) {
+        int previousStart = mStart;
+        mStart = getStart();
+        // advancing one track drops the card that was playing off the front
+        if (mStart == previousStart + 1) notifyItemRangeRemoved(0, 1);
+        else if (mStart != previousStart) notifyChanged();
+    }
+
+    @Override
+    public void onChanged() {
+        mStart = getStart();
+        notifyChanged();
+    }
+}
@@ -7,7 +7,6 @@ import android.content.Intent;
 import android.graphics.Color;
 import android.graphics.Typeface;
 import android.media.AudioManager;
-import android.os.AsyncTask;
 import android.os.Bundle;
 import android.os.Handler;
 import android.support.annotation.Nullable;
@@ -42,7 +41,8 @@ import android.widget.RelativeLayout;
 import android.widget.ScrollView;
 import android.widget.TextView;
 
-import com.squareup.picasso.Picasso;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
 
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
@@ -51,6 +51,8 @@ import org.jellyfin.androidtv.base.IMessageListener;
 import org.jellyfin.androidtv.integration.RecommendationManager;
 import org.jellyfin.androidtv.itemhandling.BaseRowItem;
 import org.jellyfin.androidtv.itemhandling.ItemRowAdapter;
+import org.jellyfin.androidtv.livetv.ChannelPreTuner;
+import org.jellyfin.androidtv.livetv.GuideRowLayout;
 import org.jellyfin.androidtv.livetv.ILiveTvGuide;
 import org.jellyfin.androidtv.livetv.LiveTvGuideActivity;
 import org.jellyfin.androidtv.livetv.TvManager;
@@ -73,8 +75,8 @@ import org.jellyfin.androidtv.util.Utils;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Date;
 import java.util.List;
 
 import mediabrowser.apiinteraction.EmptyResponse;
@@ -431,6 +433,12 @@ public class CustomPlaybackOverlayFragment extends Fragment implements IPlayback
         Intent intent = mActivity.getIntent();
         //start playing
         int startPos = intent.getIntExtra("Position", 0);
+        // a video queue restored after the app was killed part way through picks up where it was
+        int startIndex = MediaManager.getVideoQueueIndex(mItemsToPlay);
+        if (startIndex > 0) {
+            mPlaybackController.setStartIndex(startIndex);
+            startPos = (int) MediaManager.getVideoQueuePosition();
+        }
         mPlaybackController.play(startPos);
 
         mPlayPauseBtn.requestFocus();
@@ -695,7 +703,18 @@ public class CustomPlaybackOverlayFragment extends Fragment implements IPlayback
             mPlaybackController.stop();
             mCurrentProgress.setVisibility(View.VISIBLE);
             hideGuide();
-            Utils.retrieveAndPlay(id, false, mActivity);
+            // a pre-tuned channel already has its current program so it can go straight to the player
+            BaseItemDto channel = ChannelPreTuner.zapTo(id);
+            if (channel != null) {
+                List<BaseItemDto> items = new ArrayList<>();
+                items.add(channel);
+                MediaManager.setCurrentVideoQueue(items);
+                Intent intent = new Intent(mActivity, PlaybackOverlayActivity.class);
+                intent.putExtra("Position", 0);
+                startActivity(intent);
+            } else {
+                Utils.retrieveAndPlay(id, false, mActivity);
+            }
             finish();
         }
     }
@@ -729,6 +748,8 @@ public class CustomPlaybackOverlayFragment extends Fragment implements IPlayback
             if (mPlaybackController.getCurrentlyPlayingItem() != null) RecommendationManager.getInstance().recommend(mPlaybackController.getCurrentlyPlayingItem().getId());
             mPlaybackController.removePreviousQueueItems();
         }
+        // a channel switch has already handed over to the next player
+        if (mPlaybackController != null && mPlaybackController.getCurrentlyPlayingItem() != null) ChannelPreTuner.stop(mPlaybackController.getCurrentlyPlayingItem().getId());
 
     }
 
@@ -885,168 +906,106 @@ public class CustomPlaybackOverlayFragment extends Fragment implements IPlayback
             @Override
             public void onResponse() {
                 TvApp.getApplication().getLogger().Debug("*** Programs response");
-                if (mDisplayProgramsTask != null) mDisplayProgramsTask.cancel(true);
-                mDisplayProgramsTask = new DisplayProgramsTask();
-                mDisplayProgramsTask.execute(mCurrentDisplayChannelStartNdx, mCurrentDisplayChannelEndNdx);
+                layoutPrograms(mCurrentDisplayChannelStartNdx, mCurrentDisplayChannelEndNdx);
             }
         });
     }
 
-    DisplayProgramsTask mDisplayProgramsTask;
-    class DisplayProgramsTask extends AsyncTask<Integer, Integer, Void> {
+    private int mLayoutGeneration;
 
-        View firstRow;
-        int displayedChannels = 0;
+    private void layoutPrograms(final int start, final int end) {
+        final int generation = ++mLayoutGeneration;
+        List<String> channelIds = new ArrayList<>();
+        for (int i = start; i <= end; i++) {
+            channelIds.add(TvManager.getChannel(i).getId());
+        }
 
-        @Override
-        protected void onPreExecute() {
-            TvApp.getApplication().getLogger().Debug("*** Display programs pre-execute");
-            mChannels.removeAllViews();
-            mProgramRows.removeAllViews();
-            mFirstFocusChannelId = mPlaybackController.getCurrentlyPlayingItem().getId();
-
-            if (mCurrentDisplayChannelStartNdx > 0) {
-                // Show a paging row for channels above
-                int pageUpStart = mCurrentDisplayChannelStartNdx - PAGE_SIZE;
-                if (pageUpStart < 0) pageUpStart = 0;
-
-                TextView placeHolder = new TextView(mActivity);
-                placeHolder.setHeight(LiveTvGuideActivity.PAGEBUTTON_HEIGHT);
-                mChannels.addView(placeHolder);
-                displayedChannels = 0;
-
-                mProgramRows.addView(new GuidePagingButton(mActivity, mFragment, pageUpStart, getString(R.string.lbl_load_channels)+mAllChannels.get(pageUpStart).getNumber() + " - "+mAllChannels.get(mCurrentDisplayChannelStartNdx-1).getNumber()));
+        GuideRowLayout.computeAsync(channelIds, null, mCurrentLocalGuideStart, mCurrentLocalGuideEnd, new Response<List<GuideRowLayout>>() {
+            @Override
+            public void onResponse(List<GuideRowLayout> response) {
+                if (generation == mLayoutGeneration) displayPrograms(start, response);
             }
-        }
+        });
+    }
 
-        @Override
-        protected Void doInBackground(Integer... params) {
-            int start = params[0];
-            int end = params[1];
-
-            boolean first = true;
-
-            TvApp.getApplication().getLogger().Debug("*** About to iterate programs");
-            LinearLayout prevRow = null;
-            for (int i = start; i <= end; i++) {
-                if (isCancelled()) return null;
-                final ChannelInfoDto channel = TvManager.getChannel(i);
-                List<BaseItemDto> programs = TvManager.getProgramsForChannel(channel.getId());
-                final LinearLayout row = getProgramRow(programs, channel.getId());
-                if (first) {
-                    first = false;
-                    firstRow = row;
-                }
+    private void displayPrograms(int start, List<GuideRowLayout> layouts) {
+        TvApp.getApplication().getLogger().Debug("*** Display programs");
+        mChannels.removeAllViews();
+        mProgramRows.removeAllViews();
+        mFirstFocusChannelId = mPlaybackController.getCurrentlyPlayingItem().getId();
 
-                // put focus on the last tuned channel
-                if (channel.getId().equals(mFirstFocusChannelId)) {
-                    firstRow = row;
-                    mFirstFocusChannelId = null; // only do this first time in not while paging around
-                }
+        if (mCurrentDisplayChannelStartNdx > 0) {
+            // Show a paging row for channels above
+            int pageUpStart = mCurrentDisplayChannelStartNdx - PAGE_SIZE;
+            if (pageUpStart < 0) pageUpStart = 0;
 
-                // set focus parameters if we are not on first row
-                // this makes focus movements more predictable for the grid view
-                if (prevRow != null) {
-                    TvManager.setFocusParms(row, prevRow, true);
-                    TvManager.setFocusParms(prevRow, row, false);
-                }
-                prevRow = row;
+            TextView placeHolder = new TextView(mActivity);
+            placeHolder.setHeight(LiveTvGuideActivity.PAGEBUTTON_HEIGHT);
+            mChannels.addView(placeHolder);
 
-                mActivity.runOnUiThread(new Runnable() {
-                    @Override
-                    public void run() {
-                        GuideChannelHeader header = new GuideChannelHeader(mActivity, channel);
-                        mChannels.addView(header);
-                        header.loadImage();
-                        mProgramRows.addView(row);
-                    }
-                });
-
-                displayedChannels++;
+            mProgramRows.addView(new GuidePagingButton(mActivity, mFragment, pageUpStart, getString(R.string.lbl_load_channels)+mAllChannels.get(pageUpStart).getNumber() + " - "+mAllChannels.get(mCurrentDisplayChannelStartNdx-1).getNumber()));
+        }
 
+        // all rows were laid out off the UI thread so just build and add the views in one pass
+        View firstRow = null;
+        LinearLayout prevRow = null;
+        for (int i = 0; i < layouts.size(); i++) {
+            ChannelInfoDto channel = TvManager.getChannel(start + i);
+            LinearLayout row = getProgramRow(layouts.get(i));
+            if (firstRow == null) firstRow = row;
+
+            // put focus on the last tuned channel
+            if (channel.getId().equals(mFirstFocusChannelId)) {
+                firstRow = row;
+                mFirstFocusChannelId = null; // only do this first time in not while paging around
             }
-            return null;
-        }
 
-        @Override
-        protected void onPostExecute(Void aVoid) {
-            TvApp.getApplication().getLogger().Debug("*** Display programs post execute");
-            if (mCurrentDisplayChannelEndNdx < mAllChannels.size()-1) {
-                // Show a paging row for channels below
-                int pageDnEnd = mCurrentDisplayChannelEndNdx + PAGE_SIZE;
-                if (pageDnEnd >= mAllChannels.size()) pageDnEnd = mAllChannels.size()-1;
-
-                TextView placeHolder = new TextView(mActivity);
-                placeHolder.setHeight(LiveTvGuideActivity.PAGEBUTTON_HEIGHT);
-                mChannels.addView(placeHolder);
-
-                mProgramRows.addView(new GuidePagingButton(mActivity, mFragment, mCurrentDisplayChannelEndNdx + 1, getString(R.string.lbl_load_channels)+mAllChannels.get(mCurrentDisplayChannelEndNdx+1).getNumber() + " - "+mAllChannels.get(pageDnEnd).getNumber()));
+            // set focus parameters if we are not on first row
+            // this makes focus movements more predictable for the grid view
+            if (prevRow != null) {
+                TvManager.setFocusParms(row, prevRow, true);
+                TvManager.setFocusParms(prevRow, row, false);
             }
+            prevRow = row;
+
+            GuideChannelHeader header = new GuideChannelHeader(mActivity, channel);
+            mChannels.addView(header);
+            header.loadImage();
+            mProgramRows.addView(row);
+        }
 
-            mChannelStatus.setText(displayedChannels+" of "+mAllChannels.size()+" channels");
-            mFilterStatus.setText(" for next "+ mGuideHours+" hours");
-            mFilterStatus.setTextColor(Color.GRAY);
+        if (mCurrentDisplayChannelEndNdx < mAllChannels.size()-1) {
+            // Show a paging row for channels below
+            int pageDnEnd = mCurrentDisplayChannelEndNdx + PAGE_SIZE;
+            if (pageDnEnd >= mAllChannels.size()) pageDnEnd = mAllChannels.size()-1;
 
-            mGuideSpinner.setVisibility(View.GONE);
-            if (firstRow != null) firstRow.requestFocus();
+            TextView placeHolder = new TextView(mActivity);
+            placeHolder.setHeight(LiveTvGuideActivity.PAGEBUTTON_HEIGHT);
+            mChannels.addView(placeHolder);
 
+            mProgramRows.addView(new GuidePagingButton(mActivity, mFragment, mCurrentDisplayChannelEndNdx + 1, getString(R.string.lbl_load_channels)+mAllChannels.get(mCurrentDisplayChannelEndNdx+1).getNumber() + " - "+mAllChannels.get(pageDnEnd).getNumber()));
         }
+
+        mChannelStatus.setText(layouts.size()+" of "+mAllChannels.size()+" channels");
+        mFilterStatus.setText(" for next "+ mGuideHours+" hours");
+        mFilterStatus.setTextColor(Color.GRAY);
+
+        mGuideSpinner.setVisibility(View.GONE);
+        if (firstRow != null) firstRow.requestFocus();
     }
 
     private int currentCellId = 0;
 
-    private LinearLayout getProgramRow(List<BaseItemDto> programs, String channelId) {
+    private LinearLayout getProgramRow(GuideRowLayout layout) {
 
         LinearLayout programRow = new LinearLayout(mActivity);
 
-        if (programs.size() == 0) {
-            BaseItemDto empty = new BaseItemDto();
-            empty.setName("  <No Program Data Available>");
-            empty.setChannelId(channelId);
-            empty.setStartDate(Utils.convertToUtcDate(new Date(mCurrentLocalGuideStart)));
-            empty.setEndDate(Utils.convertToUtcDate(new Date(mCurrentLocalGuideStart + (150 * 60000))));
-            ProgramGridCell cell = new ProgramGridCell(mActivity, mFragment, empty);
+        for (int i = 0; i < layout.getCount(); i++) {
+            ProgramGridCell cell = new ProgramGridCell(mActivity, mFragment, layout.getProgram(i));
             cell.setId(currentCellId++);
-            cell.setLayoutParams(new ViewGroup.LayoutParams(150 * PIXELS_PER_MINUTE, LiveTvGuideActivity.ROW_HEIGHT));
+            cell.setLayoutParams(new ViewGroup.LayoutParams(layout.getWidth(i) * PIXELS_PER_MINUTE, LiveTvGuideActivity.ROW_HEIGHT));
             cell.setFocusable(true);
             programRow.addView(cell);
-            return programRow;
-        }
-
-        long prevEnd = getCurrentLocalStartDate();
-        for (BaseItemDto item : programs) {
-            long start = item.getStartDate() != null ? Utils.convertToLocalDate(item.getStartDate()).getTime() : getCurrentLocalStartDate();
-            if (start < getCurrentLocalStartDate()) start = getCurrentLocalStartDate();
-            if (start > getCurrentLocalEndDate()) continue;
-            if (start > prevEnd) {
-                // fill empty time slot
-                BaseItemDto empty = new BaseItemDto();
-                empty.setName("  <No Program Data Available>");
-                empty.setChannelId(channelId);
-                empty.setStartDate(Utils.convertToUtcDate(new Date(prevEnd)));
-                Long duration = (start - prevEnd);
-                empty.setEndDate(Utils.convertToUtcDate(new Date(prevEnd + duration)));
-                ProgramGridCell cell = new ProgramGridCell(mActivity, mFragment, empty);
-                cell.setId(currentCellId++);
-                cell.setLayoutParams(new ViewGroup.LayoutParams(((Long) (duration / 60000)).intValue() * PIXELS_PER_MINUTE, LiveTvGuideActivity.ROW_HEIGHT));
-                cell.setFocusable(true);
-                programRow.addView(cell);
-            }
-            long end = item.getEndDate() != null ? Utils.convertToLocalDate(item.getEndDate()).getTime() : getCurrentLocalEndDate();
-            if (end > getCurrentLocalEndDate()) end = getCurrentLocalEndDate();
-            prevEnd = end;
-            Long duration = (end - start) / 60000;
-            //TvApp.getApplication().getLogger().Debug("Duration for "+item.getName()+" is "+duration.intValue());
-            if (duration > 0) {
-                ProgramGridCell program = new ProgramGridCell(mActivity, mFragment, item);
-                program.setId(currentCellId++);
-                program.setLayoutParams(new ViewGroup.LayoutParams(duration.intValue() * PIXELS_PER_MINUTE, LiveTvGuideActivity.ROW_HEIGHT));
-                program.setFocusable(true);
-
-                programRow.addView(program);
-
-            }
-
         }
 
         return programRow;
@@ -1185,7 +1144,7 @@ public class CustomPlaybackOverlayFragment extends Fragment implements IPlayback
             int height = Utils.convertDpToPixel(getActivity(), 300);
             int width = Utils.convertDpToPixel(getActivity(), 150);
             String posterImageUrl = Utils.getPrimaryImageUrl(item, mApplication.getApiClient(), false, false, false, preferSeries, height);
-            if (posterImageUrl != null) Picasso.with(getActivity()).load(posterImageUrl).skipMemoryCache().resize(width, height).centerInside().into(target);
+            if (posterImageUrl != null) Glide.with(getActivity()).load(posterImageUrl).diskCacheStrategy(DiskCacheStrategy.ALL).skipMemoryCache(true).override(width, height).fitCenter().into(target);
 
         }
 
@@ -1196,7 +1155,7 @@ public class CustomPlaybackOverlayFragment extends Fragment implements IPlayback
             int height = Utils.convertDpToPixel(getActivity(), 60);
             int width = Utils.convertDpToPixel(getActivity(), 180);
             String imageUrl = Utils.getLogoImageUrl(item, mApplication.getApiClient());
-            if (imageUrl != null) Picasso.with(getActivity()).load(imageUrl).skipMemoryCache().resize(width, height).centerInside().into(target);
+            if (imageUrl != null) Glide.with(getActivity()).load(imageUrl).diskCacheStrategy(DiskCacheStrategy.ALL).skipMemoryCache(true).override(width, height).fitCenter().into(target);
         }
     }
 
@@ -1207,20 +1166,20 @@ public class CustomPlaybackOverlayFragment extends Fragment implements IPlayback
             if (item.getStudios() != null && item.getStudios().length > 0 && item.getStudios()[0].getHasPrimaryImage()) {
                 String studioImageUrl = Utils.getPrimaryImageUrl(item.getStudios()[0], mApplication.getApiClient(), height);
                 if (studioImageUrl != null)
-                    Picasso.with(mActivity).load(studioImageUrl).resize(width, height).centerInside().into(mStudioImage);
+                    Glide.with(mActivity).load(studioImageUrl).diskCacheStrategy(DiskCacheStrategy.ALL).override(width, height).fitCenter().into(mStudioImage);
             } else {
                 if (item.getSeriesStudio() != null) {
                     String studioImageUrl = null;
                     try {
                         ImageOptions options = new ImageOptions();
-                        options.setMaxHeight(height);
+                        options.setMaxHeight(Utils.getImageSizeBucket(height));
                         options.setImageType(ImageType.Primary);
                         studioImageUrl = mApplication.getApiClient().GetStudioImageUrl(URLEncoder.encode(item.getSeriesStudio(), "utf-8"), options);
                     } catch (UnsupportedEncodingException e) {
                         e.printStackTrace();
                     }
                     if (studioImageUrl != null)
-                        Picasso.with(mActivity).load(studioImageUrl).resize(width, height).centerInside().into(mStudioImage);
+                        Glide.with(mActivity).load(studioImageUrl).diskCacheStrategy(DiskCacheStrategy.ALL).override(width, height).fitCenter().into(mStudioImage);
 
                 } else {
                     mStudioImage.setImageResource(R.drawable.blank30x30);
@@ -19,11 +19,9 @@ import com.devbrackets.android.exomedia.listener.EMProgressCallback;
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
 import org.jellyfin.androidtv.base.CustomMessage;
-import org.jellyfin.androidtv.itemhandling.AudioQueueItem;
 import org.jellyfin.androidtv.itemhandling.BaseRowItem;
 import org.jellyfin.androidtv.itemhandling.ItemRowAdapter;
 import org.jellyfin.androidtv.presentation.CardPresenter;
-import org.jellyfin.androidtv.querying.QueryType;
 import org.jellyfin.androidtv.util.ProfileHelper;
 import org.jellyfin.androidtv.util.RemoteControlReceiver;
 import org.jellyfin.androidtv.util.Utils;
@@ -34,6 +32,7 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedList;
 import java.util.List;
 
 import mediabrowser.apiinteraction.ApiClient;
@@ -42,6 +41,7 @@ import mediabrowser.model.dlna.AudioOptions;
 import mediabrowser.model.dlna.DeviceProfile;
 import mediabrowser.model.dlna.StreamInfo;
 import mediabrowser.model.dto.BaseItemDto;
+import mediabrowser.model.dto.UserDto;
 import mediabrowser.model.playlists.PlaylistCreationRequest;
 import mediabrowser.model.playlists.PlaylistCreationResult;
 
@@ -54,16 +54,15 @@ public class MediaManager {
     private static int mCurrentMediaPosition = -1;
     private static String currentMediaTitle;
 
-    private static ItemRowAdapter mCurrentAudioQueue;
-    private static ItemRowAdapter mManagedAudioQueue;
-    private static int mCurrentAudioQueuePosition = -1;
+    private static AudioQueue mAudioQueue = new AudioQueue();
+    private static AudioQueueAdapter mCurrentAudioQueue;
+    private static AudioQueueAdapter mManagedAudioQueue;
     private static BaseItemDto mCurrentAudioItem;
     private static StreamInfo mCurrentAudioStreamInfo;
     private static long mCurrentAudioPosition;
 
     private static LibVLC mLibVLC;
     private static org.videolan.libvlc.MediaPlayer mVlcPlayer;
-    private static VlcEventHandler mVlcHandler = new VlcEventHandler();
     private static EMAudioPlayer mExoplayer;
     private static AudioManager mAudioManager;
     private static boolean audioInitialized;
@@ -77,12 +76,35 @@ public class MediaManager {
 
     private static boolean mRepeat;
 
+    // the next track is resolved and opened in a second player ahead of time so it can start the moment the current one completes
+    private static final long PRELOAD_THRESHOLD = 20000;
+    private static EMAudioPlayer mNextExoplayer;
+    private static org.videolan.libvlc.MediaPlayer mNextVlcPlayer;
+    private static BaseItemDto mNextAudioItem;
+    private static StreamInfo mNextAudioStreamInfo;
+    private static boolean mPreloadingNext;
+    private static int mPreloadGeneration;
+
     private static List<BaseItemDto> mCurrentVideoQueue;
+    // where playback of the video queue had got to
+    private static int mVideoQueueIndex;
+    private static long mVideoQueuePosition;
+
+    // the rest of large "play all"s still to be loaded into the audio queue in the order they were added - only the first is loading
+    private static LinkedList<PagedItemList> mAudioPages = new LinkedList<>();
+
+    // the user the queues belong to and whether theirs have been read back from storage yet
+    private static String mQueueUserId;
+    private static boolean mQueuesRestored;
+    private static int mResumeAudioIndex = -1;
+    private static long mResumeAudioPosition;
+    // where to seek to once the current player has prepared its media
+    private static long mPendingAudioSeek;
 
     public static ItemRowAdapter getCurrentMediaAdapter() {
         return mCurrentMediaAdapter;
     }
-    public static boolean hasAudioQueueItems() { return mCurrentAudioQueue != null && mCurrentAudioQueue.size() > 0; }
+    public static boolean hasAudioQueueItems() { return mAudioQueue.size() > 0; }
     public static boolean hasVideoQueueItems() { return mCurrentVideoQueue != null && mCurrentVideoQueue.size() > 0; }
 
     public static void setCurrentMediaAdapter(ItemRowAdapter currentMediaAdapter) {
@@ -93,47 +115,151 @@ public class MediaManager {
         return mCurrentMediaPosition;
     }
 
-    public static void setCurrentVideoQueue(List<BaseItemDto> items) { mCurrentVideoQueue = items; }
+    public static void setCurrentVideoQueue(List<BaseItemDto> items) {
+        mCurrentVideoQueue = items;
+        saveVideoQueue();
+        followVideoPages(items);
+        saveVideoQueueState(items, 0, 0);
+    }
+
+    /**
+     * For playback to call after changing the list it was given in place - saved if it is the video queue
+     */
+    public static void videoQueueChanged(List<BaseItemDto> items) {
+        if (items == mCurrentVideoQueue) saveVideoQueue();
+    }
+
+    /**
+     * Record where playback of the video queue is - ignored for any other list being played
+     */
+    public static void saveVideoQueueState(List<BaseItemDto> items, int index, long position) {
+        if (items != mCurrentVideoQueue) return;
+        mVideoQueueIndex = index;
+        mVideoQueuePosition = position;
+        if (mQueuesRestored) QueueStore.getInstance().saveVideoState(index, position);
+    }
+
+    /**
+     * @return the index playback of the video queue had reached, or 0 if items isn't the video queue
+     */
+    public static int getVideoQueueIndex(List<BaseItemDto> items) {
+        return items == mCurrentVideoQueue && mVideoQueueIndex < items.size() ? mVideoQueueIndex : 0;
+    }
+
+    public static long getVideoQueuePosition() { return mVideoQueuePosition; }
+
+    private static void followVideoPages(final List<BaseItemDto> items) {
+        if (items instanceof PagedItemList) {
+            // pages land in the list itself (which playback holds) - just keep the saved copy up to date
+            ((PagedItemList) items).setPageListener(new PagedItemList.PageListener() {
+                @Override
+                public void onPageLoaded(List<BaseItemDto> page) {
+                    if (mCurrentVideoQueue == items) saveVideoQueue();
+                }
+            });
+        }
+    }
+
     public static List<BaseItemDto> getCurrentVideoQueue() { return mCurrentVideoQueue; }
 
-    public static int getCurrentAudioQueueSize() { return mCurrentAudioQueue != null ? mCurrentAudioQueue.size() : 0; }
-    public static int getCurrentAudioQueuePosition() { return mCurrentAudioQueuePosition; }
+    public static int getCurrentAudioQueueSize() { return mAudioQueue.size(); }
+    public static int getCurrentAudioQueuePosition() { return mAudioQueue.getPosition(); }
     public static long getCurrentAudioPosition() { return mCurrentAudioPosition; }
-    public static String getCurrentAudioQueueDisplayPosition() { return Integer.toString(mCurrentAudioQueuePosition >=0 ? mCurrentAudioQueuePosition+1 : 1); }
-    public static String getCurrentAudioQueueDisplaySize() { return mCurrentAudioQueue != null ? Integer.toString(mCurrentAudioQueue.size()) : "0"; }
+    public static String getCurrentAudioQueueDisplayPosition() { return Integer.toString(mAudioQueue.getPosition() >=0 ? mAudioQueue.getPosition()+1 : 1); }
+    public static String getCurrentAudioQueueDisplaySize() { return Integer.toString(mAudioQueue.size()); }
 
-    public static BaseItemDto getCurrentAudioItem() { return mCurrentAudioItem != null ? mCurrentAudioItem : hasAudioQueueItems() ? ((BaseRowItem)mCurrentAudioQueue.get(0)).getBaseItem() : null; }
+    public static BaseItemDto getCurrentAudioItem() { return mCurrentAudioItem != null ? mCurrentAudioItem : mAudioQueue.getItem(Math.max(mAudioQueue.getPosition(), 0)); }
 
     public static boolean toggleRepeat() { mRepeat = !mRepeat; return mRepeat; }
     public static boolean isRepeatMode() { return mRepeat; }
 
-    public static ItemRowAdapter getCurrentAudioQueue() { return mCurrentAudioQueue; }
-    public static ItemRowAdapter getManagedAudioQueue() {
-        createManagedAudioQueue();
-        return mManagedAudioQueue;
-    }
+    public static AudioQueue getAudioQueue() { return mAudioQueue; }
+
+    /**
+     * Swap in the queues journaled by {@link QueueStore} for whoever is now signed in.  Anything queued by the
+     * previous user is dropped.  The new user's queues are read back off the main thread and only fill queues
+     * that are still empty by then - the audio entries stay serialized until they are shown or played.
+     */
+    public static void onCurrentUserChanged() {
+        UserDto user = TvApp.getApplication().getCurrentUser();
+        final String userId = user != null ? user.getId() : null;
+        if (userId != null && userId.equals(mQueueUserId)) return;
+
+        releaseQueues();
+        mQueueUserId = userId;
+        mQueuesRestored = false;
+        if (userId == null) return;
 
-    public static void createManagedAudioQueue() {
-        if (mCurrentAudioQueue != null) {
-            if (mManagedAudioQueue != null) {
-                //re-create existing one
-                mManagedAudioQueue.clear();
-                for (int i = mCurrentAudioQueuePosition >= 0 ? mCurrentAudioQueuePosition : 0; i < mCurrentAudioQueue.size(); i++) {
-                    mManagedAudioQueue.add(mCurrentAudioQueue.get(i));
+        QueueStore.getInstance().restore(userId, new Response<QueueStore.Restored>() {
+            @Override
+            public void onResponse(QueueStore.Restored restored) {
+                // someone else signed in while it was being read
+                if (!userId.equals(mQueueUserId) || mQueuesRestored) return;
+                mQueuesRestored = true;
+
+                if (mAudioQueue.size() == 0) {
+                    if (restored.audioSlots.size() > 0) {
+                        mAudioQueue.restore(restored.audioSlots, restored.audioPosition, restored.shuffled, restored.nextSequence);
+                        mResumeAudioPosition = restored.resumePosition;
+                        mResumeAudioIndex = mAudioQueue.getPosition();
+                        TvApp.getApplication().getLogger().Debug("Restored audio queue of " + mAudioQueue.size() + " items");
+                    }
+                    QueueStore.getInstance().keep(mAudioQueue, false);
+                } else {
+                    // already built since sign in - just start keeping it
+                    QueueStore.getInstance().keep(mAudioQueue, true);
                 }
-            } else {
-                List<BaseItemDto> managedItems = new ArrayList<>();
-                for (int i = mCurrentAudioQueuePosition >= 0 ? mCurrentAudioQueuePosition : 0; i < mCurrentAudioQueue.size(); i++) {
-                    managedItems.add(((BaseRowItem)mCurrentAudioQueue.get(i)).getBaseItem());
+
+                if (mCurrentVideoQueue == null || mCurrentVideoQueue.isEmpty()) {
+                    if (restored.videoItems != null) {
+                        mCurrentVideoQueue = restored.videoItems;
+                        videoQueueModified = restored.videoModified;
+                        mVideoQueueIndex = restored.videoIndex;
+                        mVideoQueuePosition = restored.videoPosition;
+                        followVideoPages(mCurrentVideoQueue);
+                        TvApp.getApplication().setLastVideoQueueChange(System.currentTimeMillis());
+                    }
+                } else {
+                    saveVideoQueue();
                 }
-                mManagedAudioQueue = new ItemRowAdapter(managedItems, new CardPresenter(true, Utils.convertDpToPixel(TvApp.getApplication(), 150)), null, QueryType.StaticAudioQueueItems);
-                mManagedAudioQueue.Retrieve();
-            }
-            if (isPlayingAudio()) {
-                ((BaseRowItem)mManagedAudioQueue.get(0)).setIsPlaying(true);
+
+                fireQueueStatusChange();
             }
-        }
+        });
+    }
 
+    /**
+     * Stop playing and empty the queues in memory when their user logs out - what was journaled stays for their next sign in
+     */
+    public static void releaseQueues() {
+        if (mQueueUserId == null) return;
+        QueueStore.getInstance().release();
+        stopAudio();
+        clearAudioPages();
+        mCurrentAudioItem = null;
+        mResumeAudioIndex = -1;
+        mAudioQueue.clear();
+        mCurrentVideoQueue = null;
+        videoQueueModified = false;
+        mVideoQueueIndex = 0;
+        mVideoQueuePosition = 0;
+        mQueueUserId = null;
+        mQueuesRestored = false;
+        fireQueueStatusChange();
+    }
+
+    private static void saveVideoQueue() {
+        if (mQueuesRestored) QueueStore.getInstance().saveVideoQueue(mCurrentVideoQueue, videoQueueModified);
+    }
+
+    public static ItemRowAdapter getCurrentAudioQueue() {
+        if (mCurrentAudioQueue == null) mCurrentAudioQueue = new AudioQueueAdapter(mAudioQueue, new CardPresenter(true, Utils.convertDpToPixel(TvApp.getApplication(), 140)), false);
+        return mCurrentAudioQueue;
+    }
+
+    public static ItemRowAdapter getManagedAudioQueue() {
+        if (mManagedAudioQueue == null) mManagedAudioQueue = new AudioQueueAdapter(mAudioQueue, new CardPresenter(true, Utils.convertDpToPixel(TvApp.getApplication(), 150)), true);
+        return mManagedAudioQueue;
     }
 
     public static void addAudioEventListener(AudioEventListener listener) {
@@ -168,6 +294,11 @@ public class MediaManager {
 
         mCurrentAudioPosition = nativeMode ? mExoplayer.getCurrentPosition() : mVlcPlayer.getTime();
 
+        if (mCurrentAudioItem != null && mCurrentAudioItem.getRunTimeTicks() != null
+                && mCurrentAudioItem.getRunTimeTicks() / 10000 - mCurrentAudioPosition < PRELOAD_THRESHOLD) {
+            preloadNextAudioItem();
+        }
+
         //fire external listeners if there
         for (AudioEventListener listener : mAudioEventListeners) {
             listener.onProgress(mCurrentAudioPosition);
@@ -178,13 +309,13 @@ public class MediaManager {
             Utils.ReportProgress(mCurrentAudioItem, mCurrentAudioStreamInfo, mCurrentAudioPosition*10000, isPaused());
             lastProgressReport = System.currentTimeMillis();
             TvApp.getApplication().setLastUserInteraction(lastProgressReport);
+            if (mQueuesRestored) QueueStore.getInstance().saveAudioState(mCurrentAudioPosition);
         }
 
     }
 
     private static void onComplete() {
         Utils.ReportStopped(mCurrentAudioItem, mCurrentAudioStreamInfo, mCurrentAudioPosition);
-        nextAudioItem();
 
         //fire external listener if there
         for (AudioEventListener listener : mAudioEventListeners) {
@@ -192,6 +323,8 @@ public class MediaManager {
             listener.onPlaybackStateChange(PlaybackController.PlaybackState.IDLE, mCurrentAudioItem);
         }
 
+        if (!playPreloadedAudioItem()) nextAudioItem();
+
     }
 
     private static boolean createPlayer(int buffer) {
@@ -200,21 +333,7 @@ public class MediaManager {
             // Create a new media player based on platform
             if (Utils.is60()) {
                 nativeMode = true;
-                mExoplayer = new EMAudioPlayer(TvApp.getApplication());
-                mExoplayer.setProgressCallback(new EMProgressCallback() {
-                    @Override
-                    public boolean onProgressUpdated(EMMediaProgressEvent progressEvent) {
-                        reportProgress();
-                        return false;
-                    }
-                });
-
-                mExoplayer.setOnCompletionListener(new MediaPlayer.OnCompletionListener() {
-                    @Override
-                    public void onCompletion(MediaPlayer mp) {
-                        onComplete();
-                    }
-                });
+                mExoplayer = createExoPlayer();
             } else {
                 ArrayList<String> options = new ArrayList<>(20);
                 options.add("--network-caching=" + buffer);
@@ -233,25 +352,7 @@ public class MediaManager {
                     }
                 });
 
-                mVlcPlayer = new org.videolan.libvlc.MediaPlayer(mLibVLC);
-                mVlcPlayer.setAudioOutput(Utils.downMixAudio() ? "opensles_android" : "android_audiotrack");
-                mVlcPlayer.setAudioOutputDevice("hdmi");
-
-                mVlcHandler.setOnProgressListener(new PlaybackListener() {
-                    @Override
-                    public void onEvent() {
-                        reportProgress();
-                    }
-                });
-
-                mVlcHandler.setOnCompletionListener(new PlaybackListener() {
-                    @Override
-                    public void onEvent() {
-                        onComplete();
-                    }
-                });
-
-                mVlcPlayer.setEventListener(mVlcHandler);
+                mVlcPlayer = createVlcPlayer();
 
             }
 
@@ -264,6 +365,69 @@ public class MediaManager {
         return true;
     }
 
+    // players swap roles on each preloaded hand-off so events are only acted on for whichever one is current
+    private static EMAudioPlayer createExoPlayer() {
+        final EMAudioPlayer player = new EMAudioPlayer(TvApp.getApplication());
+        player.setProgressCallback(new EMProgressCallback() {
+            @Override
+            public boolean onProgressUpdated(EMMediaProgressEvent progressEvent) {
+                if (player == mExoplayer) reportProgress();
+                return false;
+            }
+        });
+
+        player.setOnCompletionListener(new MediaPlayer.OnCompletionListener() {
+            @Override
+            public void onCompletion(MediaPlayer mp) {
+                if (player == mExoplayer) onComplete();
+            }
+        });
+
+        player.setOnPreparedListener(new MediaPlayer.OnPreparedListener() {
+            @Override
+            public void onPrepared(MediaPlayer mp) {
+                if (player != mExoplayer) return;
+                if (mPendingAudioSeek > 0) player.seekTo((int) mPendingAudioSeek);
+                mPendingAudioSeek = 0;
+            }
+        });
+        return player;
+    }
+
+    private static org.videolan.libvlc.MediaPlayer createVlcPlayer() {
+        final org.videolan.libvlc.MediaPlayer player = new org.videolan.libvlc.MediaPlayer(mLibVLC);
+        player.setAudioOutput(Utils.downMixAudio() ? "opensles_android" : "android_audiotrack");
+        player.setAudioOutputDevice("hdmi");
+
+        VlcEventHandler handler = new VlcEventHandler();
+        handler.setOnProgressListener(new PlaybackListener() {
+            @Override
+            public void onEvent() {
+                if (player == mVlcPlayer) reportProgress();
+            }
+        });
+
+        handler.setOnCompletionListener(new PlaybackListener() {
+            @Override
+            public void onEvent() {
+                if (player == mVlcPlayer) onComplete();
+            }
+        });
+
+        // VLC ignores a seek before the media is actually playing
+        handler.setOnPreparedListener(new PlaybackListener() {
+            @Override
+            public void onEvent() {
+                if (player != mVlcPlayer) return;
+                if (mPendingAudioSeek > 0) player.setTime(mPendingAudioSeek);
+                mPendingAudioSeek = 0;
+            }
+        });
+
+        player.setEventListener(handler);
+        return player;
+    }
+
     private static AudioManager.OnAudioFocusChangeListener mAudioFocusChanged = new AudioManager.OnAudioFocusChangeListener() {
         @Override
         public void onAudioFocusChange(int focusChange) {
@@ -291,9 +455,9 @@ public class MediaManager {
     }
 
     private static void createAudioQueue(List<BaseItemDto> items) {
-        mCurrentAudioQueue = new ItemRowAdapter(items, new CardPresenter(true, Utils.convertDpToPixel(TvApp.getApplication(), 140)), null, QueryType.StaticAudioQueueItems);
-        mCurrentAudioQueue.Retrieve();
-        mManagedAudioQueue = null;
+        clearAudioPages();
+        mAudioQueue.replace(items);
+        if (items instanceof PagedItemList) addAudioPages((PagedItemList) items);
         fireQueueStatusChange();
     }
 
@@ -344,16 +508,7 @@ public class MediaManager {
     }
 
     private static ArrayList<String> getCurrentAudioQueueItemIds() {
-        ArrayList<String> result = new ArrayList<>();
-
-        if (mCurrentAudioQueue != null) {
-            for (int i = 0; i < mCurrentAudioQueue.size(); i++) {
-                AudioQueueItem item = (AudioQueueItem) mCurrentAudioQueue.get(i);
-                result.add(item.getItemId());
-            }
-        }
-
-        return result;
+        return new ArrayList<>(mAudioQueue.getItemIds());
     }
 
     private static ArrayList<String> getCurrentVideoQueueItemIds() {
@@ -369,22 +524,21 @@ public class MediaManager {
     }
 
     public static int queueAudioItem(int pos, BaseItemDto item) {
-        if (mCurrentAudioQueue == null) createAudioQueue(new ArrayList<BaseItemDto>());
-        mCurrentAudioQueue.add(new BaseRowItem(pos, item));
+        mAudioQueue.insert(pos, item);
         TvApp.getApplication().showMessage(TvApp.getApplication().getString(R.string.msg_added_item_to_queue) + (pos + 1), Utils.GetFullName(item), 4000, R.drawable.audioicon);
         return pos;
     }
 
     public static int queueAudioItem(BaseItemDto item) {
-        if (mCurrentAudioQueue == null) createAudioQueue(new ArrayList<BaseItemDto>());
-        mCurrentAudioQueue.add(new AudioQueueItem(mCurrentAudioQueue.size(), item));
-        return mCurrentAudioQueue.size()-1;
+        mAudioQueue.add(Collections.singletonList(item));
+        return mAudioQueue.size()-1;
     }
 
     public static int addToVideoQueue(BaseItemDto item) {
         if (mCurrentVideoQueue == null) mCurrentVideoQueue = new ArrayList<>();
         mCurrentVideoQueue.add(item);
         videoQueueModified = true;
+        saveVideoQueue();
         TvApp.getApplication().setLastVideoQueueChange(System.currentTimeMillis());
         if (mCurrentVideoQueue.size() == 1 && TvApp.getApplication().getCurrentActivity() != null) {
             TvApp.getApplication().getCurrentActivity().sendMessage(CustomMessage.RefreshRows);
@@ -400,61 +554,36 @@ public class MediaManager {
     }
 
     public static void clearAudioQueue() {
-        if (mCurrentAudioQueue == null) {
-            createAudioQueue(new ArrayList<BaseItemDto>());
-        }
-        else {
-            mCurrentAudioQueue.clear();
-            fireQueueStatusChange();
-        }
-        mCurrentAudioQueuePosition = -1;
-        if (mManagedAudioQueue != null) mManagedAudioQueue.clear();
+        clearAudioPages();
+        releaseNextAudioItem();
+        mAudioQueue.clear();
+        fireQueueStatusChange();
     }
 
     public static void addToAudioQueue(List<BaseItemDto> items) {
-        if (mCurrentAudioQueue == null) createAudioQueue(items);
-        else {
-            int ndx = mCurrentAudioQueue.size();
-            for (BaseItemDto item : items) {
-                AudioQueueItem queueItem = new AudioQueueItem(ndx++, item);
-                mCurrentAudioQueue.add(queueItem);
-                if (mManagedAudioQueue != null) mManagedAudioQueue.add(queueItem);
-            }
-            fireQueueStatusChange();
-        }
-        TvApp.getApplication().showMessage(items.size() + (items.size() > 1 ? TvApp.getApplication().getString(R.string.msg_items_added) : TvApp.getApplication().getString(R.string.msg_item_added)), mCurrentAudioQueue.size() + TvApp.getApplication().getString(R.string.msg_total_items_in_queue), 5000, R.drawable.audioicon);
+        // one that has to wait behind another "play all" is added when its turn comes
+        if (!(items instanceof PagedItemList) || !addAudioPages((PagedItemList) items)) mAudioQueue.add(items);
+        fireQueueStatusChange();
+        int count = getTotalSize(items);
+        TvApp.getApplication().showMessage(count + (count > 1 ? TvApp.getApplication().getString(R.string.msg_items_added) : TvApp.getApplication().getString(R.string.msg_item_added)), mAudioQueue.size() + TvApp.getApplication().getString(R.string.msg_total_items_in_queue), 5000, R.drawable.audioicon);
     }
 
     public static void removeFromAudioQueue(int ndx) {
-        if (mCurrentAudioQueuePosition == ndx) {
+        if (mAudioQueue.getPosition() == ndx) {
             // current item - stop audio, remove and re-start
             stopAudio();
-            if (mManagedAudioQueue != null) {
-                mManagedAudioQueue.remove(mCurrentAudioQueue.get(ndx));
-            }
-            mCurrentAudioQueue.removeItems(ndx, 1);
-            mCurrentAudioQueuePosition--;
+            mAudioQueue.remove(ndx);
             mCurrentAudioPosition = 0;
-            if (ndx >= 0 && ndx < mCurrentAudioQueue.size()) {
+            if (ndx < mAudioQueue.size()) {
                 nextAudioItem();
             } else {
-                if (mCurrentAudioQueuePosition >= 0) mCurrentAudioItem = ((BaseRowItem)mCurrentAudioQueue.get(mCurrentAudioQueuePosition)).getBaseItem();
+                if (mAudioQueue.getPosition() >= 0) mCurrentAudioItem = mAudioQueue.getItem(mAudioQueue.getPosition());
                 // fire a change to update current item
                 fireQueueStatusChange();
             }
         } else {
             //just remove it
-            mCurrentAudioQueue.removeItems(ndx, 1);
-            if (mManagedAudioQueue != null) {
-                mManagedAudioQueue.remove(mManagedAudioQueue.findByIndex(ndx));
-            }
-        }
-
-        // now need to update indexes for subsequent items
-        if (hasAudioQueueItems()) {
-            for (int i = ndx; i < mCurrentAudioQueue.size(); i++){
-                ((BaseRowItem)mCurrentAudioQueue.get(i)).setIndex(i);
-            }
+            mAudioQueue.remove(ndx);
         }
     }
 
@@ -501,15 +630,66 @@ public class MediaManager {
 
     private static void playNowInternal(List<BaseItemDto> items) {
         createAudioQueue(items);
-        mCurrentAudioQueuePosition = -1;
         nextAudioItem();
         if (TvApp.getApplication().getCurrentActivity().getClass() != AudioNowPlayingActivity.class) {
             Intent nowPlaying = new Intent(TvApp.getApplication(), AudioNowPlayingActivity.class);
             TvApp.getApplication().getCurrentActivity().startActivity(nowPlaying);
         } else {
-            TvApp.getApplication().showMessage(items.size() + (items.size() > 1 ? TvApp.getApplication().getString(R.string.msg_items_added) : TvApp.getApplication().getString(R.string.msg_item_added)), mCurrentAudioQueue.size() + TvApp.getApplication().getString(R.string.msg_total_items_in_queue), 5000, R.drawable.audioicon);
+            int count = getTotalSize(items);
+            TvApp.getApplication().showMessage(count + (count > 1 ? TvApp.getApplication().getString(R.string.msg_items_added) : TvApp.getApplication().getString(R.string.msg_item_added)), mAudioQueue.size() + TvApp.getApplication().getString(R.string.msg_total_items_in_queue), 5000, R.drawable.audioicon);
+        }
+
+    }
+
+    private static int getTotalSize(List<BaseItemDto> items) {
+        return items instanceof PagedItemList ? ((PagedItemList) items).getTotalSize() : items.size();
+    }
+
+    /**
+     * Keep feeding the audio queue from a partly loaded "play all".  One added while another is still loading waits
+     * its turn so their items stay in the order they were queued.
+     *
+     * @return true if the items it has loaded are being held back until the ones ahead of it are all in
+     */
+    private static boolean addAudioPages(PagedItemList items) {
+        boolean waiting = !mAudioPages.isEmpty();
+        if (!waiting && !items.hasMore()) return false;
+        mAudioPages.add(items);
+        if (!waiting) followAudioPages();
+        return waiting;
+    }
+
+    private static void followAudioPages() {
+        final PagedItemList pages = mAudioPages.getFirst();
+        pages.setPageListener(new PagedItemList.PageListener() {
+            @Override
+            public void onPageLoaded(List<BaseItemDto> page) {
+                mAudioQueue.add(page);
+                if (!pages.hasMore()) nextAudioPages();
+            }
+        });
+    }
+
+    private static void nextAudioPages() {
+        mAudioPages.removeFirst().setPageListener(null);
+        while (!mAudioPages.isEmpty()) {
+            // its turn has come - what it loaded while waiting goes in now
+            PagedItemList next = mAudioPages.getFirst();
+            mAudioQueue.add(next);
+            if (next.hasMore()) {
+                followAudioPages();
+                break;
+            }
+            mAudioPages.removeFirst();
         }
+        fireQueueStatusChange();
+    }
 
+    private static void clearAudioPages() {
+        for (PagedItemList pages : mAudioPages) {
+            pages.setPageListener(null);
+        }
+        mAudioPages.clear();
     }
 
     public static void playNow(final BaseItemDto item) {
@@ -521,12 +701,11 @@ public class MediaManager {
     }
 
     public static boolean playFrom(int ndx) {
-        if (ndx >= mCurrentAudioQueue.size()) return false;
+        if (ndx >= mAudioQueue.size()) return false;
 
         if (isPlayingAudio()) stopAudio();
 
-        mCurrentAudioQueuePosition = ndx-1;
-        createManagedAudioQueue();
+        mAudioQueue.setPosition(ndx-1);
         nextAudioItem();
         return true;
     }
@@ -544,10 +723,8 @@ public class MediaManager {
         return true;
     }
 
-    private static void playInternal(final BaseItemDto item, final int pos) {
-        if (!ensureInitialized()) return;
-        ensureAudioFocus();
-        final ApiClient apiClient = TvApp.getApplication().getApiClient();
+    private static void getAudioStreamInfo(BaseItemDto item, Response<StreamInfo> response) {
+        ApiClient apiClient = TvApp.getApplication().getApiClient();
         AudioOptions options = new AudioOptions();
         options.setDeviceId(apiClient.getDeviceId());
         options.setItemId(item.getId());
@@ -560,19 +737,37 @@ public class MediaManager {
             ProfileHelper.setVlcOptions(profile);
         }
         options.setProfile(profile);
-        TvApp.getApplication().getPlaybackManager().getAudioStreamInfo(apiClient.getServerInfo().getId(), options, false, apiClient, new Response<StreamInfo>() {
+        TvApp.getApplication().getPlaybackManager().getAudioStreamInfo(apiClient.getServerInfo().getId(), options, false, apiClient, response);
+    }
+
+    private static Uri getStreamUri(StreamInfo streamInfo) {
+        ApiClient apiClient = TvApp.getApplication().getApiClient();
+        return Uri.parse(streamInfo.ToUrl(apiClient.getApiUrl(), apiClient.getAccessToken()));
+    }
+
+    private static void playInternal(BaseItemDto item, int pos) {
+        playInternal(item, pos, 0);
+    }
+
+    private static void playInternal(final BaseItemDto item, final int pos, final long resumeAt) {
+        if (!ensureInitialized()) return;
+        ensureAudioFocus();
+        releaseNextAudioItem();
+        mResumeAudioIndex = -1;
+        getAudioStreamInfo(item, new Response<StreamInfo>() {
             @Override
             public void onResponse(StreamInfo response) {
                 mCurrentAudioItem = item;
                 mCurrentAudioStreamInfo = response;
-                mCurrentAudioQueuePosition = pos;
-                mCurrentAudioPosition = 0;
+                mAudioQueue.setPosition(pos);
+                mCurrentAudioPosition = resumeAt;
+                mPendingAudioSeek = resumeAt;
                 if (nativeMode) {
-                    mExoplayer.setDataSource(TvApp.getApplication(), Uri.parse(response.ToUrl(apiClient.getApiUrl(), apiClient.getAccessToken())));
+                    mExoplayer.setDataSource(TvApp.getApplication(), getStreamUri(response));
                     mExoplayer.start();
                 } else {
-                    TvApp.getApplication().getLogger().Info("Playback attempt via VLC of " + response.ToUrl(apiClient.getApiUrl(), apiClient.getAccessToken()));
-                    Media media = new Media(mLibVLC, Uri.parse(response.ToUrl(apiClient.getApiUrl(), apiClient.getAccessToken())));
+                    TvApp.getApplication().getLogger().Info("Playback attempt via VLC of " + getStreamUri(response));
+                    Media media = new Media(mLibVLC, getStreamUri(response));
                     media.parse();
                     mVlcPlayer.setMedia(media);
 
@@ -580,115 +775,194 @@ public class MediaManager {
                     mVlcPlayer.play();
 
                 }
-                if (mCurrentAudioQueuePosition == 0) {
-                    //we just started or repeated - re-create managed queue
-                    createManagedAudioQueue();
-                }
+                onAudioItemStarted(item);
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                Utils.showToast(TvApp.getApplication(), "Unable to play audio " + exception.getLocalizedMessage());
+            }
+        });
+
+    }
 
-                updateCurrentAudioItemPlaying(true);
-                TvApp.getApplication().setLastMusicPlayback(System.currentTimeMillis());
+    private static void onAudioItemStarted(BaseItemDto item) {
+        if (!mAudioPages.isEmpty()) mAudioPages.getFirst().loadMoreIfNeeded(mAudioQueue.size() - 1 - mAudioQueue.getPosition());
+        updateCurrentAudioItemPlaying(true);
+        TvApp.getApplication().setLastMusicPlayback(System.currentTimeMillis());
 
-                Utils.ReportStart(item, mCurrentAudioPosition * 10000);
-                for (AudioEventListener listener : mAudioEventListeners) {
-                    TvApp.getApplication().getLogger().Info("Firing playback state change listener for item start. " + mCurrentAudioItem.getName());
-                    listener.onPlaybackStateChange(PlaybackController.PlaybackState.PLAYING, mCurrentAudioItem);
+        Utils.ReportStart(item, mCurrentAudioPosition * 10000);
+        for (AudioEventListener listener : mAudioEventListeners) {
+            TvApp.getApplication().getLogger().Info("Firing playback state change listener for item start. " + mCurrentAudioItem.getName());
+            listener.onPlaybackStateChange(PlaybackController.PlaybackState.PLAYING, mCurrentAudioItem);
+        }
+    }
+
+    /**
+     * Resolve the stream for the next track and open it in the spare player without starting it
+     */
+    private static void preloadNextAudioItem() {
+        final BaseItemDto next = getNextAudioItem();
+        if (next == null || mPreloadingNext || next == mNextAudioItem) return;
+
+        releaseNextAudioItem();
+        mPreloadingNext = true;
+        final int generation = mPreloadGeneration;
+        getAudioStreamInfo(next, new Response<StreamInfo>() {
+            @Override
+            public void onResponse(StreamInfo response) {
+                if (generation != mPreloadGeneration) return;
+                mPreloadingNext = false;
+                if (next != getNextAudioItem()) return;
+
+                TvApp.getApplication().getLogger().Debug("Pre-buffering next audio item " + next.getName());
+                if (nativeMode) {
+                    if (mNextExoplayer == null) mNextExoplayer = createExoPlayer();
+                    mNextExoplayer.setDataSource(TvApp.getApplication(), getStreamUri(response));
+                } else {
+                    if (mNextVlcPlayer == null) mNextVlcPlayer = createVlcPlayer();
+                    Media media = new Media(mLibVLC, getStreamUri(response));
+                    media.parse();
+                    mNextVlcPlayer.setMedia(media);
+                    media.release();
                 }
+                mNextAudioItem = next;
+                mNextAudioStreamInfo = response;
             }
 
             @Override
             public void onError(Exception exception) {
-                Utils.showToast(TvApp.getApplication(), "Unable to play audio " + exception.getLocalizedMessage());
+                if (generation != mPreloadGeneration) return;
+                mPreloadingNext = false;
+                TvApp.getApplication().getLogger().ErrorException("Unable to pre-buffer next audio item", exception);
             }
         });
+    }
 
+    /**
+     * Hand off to the pre-opened next track if it is still the next one in the queue
+     * @return false if nothing usable was preloaded
+     */
+    private static boolean playPreloadedAudioItem() {
+        BaseItemDto next = mNextAudioItem;
+        StreamInfo nextStreamInfo = mNextAudioStreamInfo;
+        if (next == null || next != getNextAudioItem()) {
+            releaseNextAudioItem();
+            return false;
+        }
+        mNextAudioItem = null;
+        mNextAudioStreamInfo = null;
+
+        if (nativeMode) {
+            EMAudioPlayer finished = mExoplayer;
+            mExoplayer = mNextExoplayer;
+            mNextExoplayer = finished;
+            mExoplayer.start();
+            finished.stopPlayback();
+        } else {
+            org.videolan.libvlc.MediaPlayer finished = mVlcPlayer;
+            mVlcPlayer = mNextVlcPlayer;
+            mNextVlcPlayer = finished;
+            mVlcPlayer.play();
+            finished.stop();
+        }
+
+        updateCurrentAudioItemPlaying(false);
+        mCurrentAudioItem = next;
+        mCurrentAudioStreamInfo = nextStreamInfo;
+        mAudioQueue.setPosition(mAudioQueue.getNextPosition(mRepeat));
+        mCurrentAudioPosition = 0;
+        onAudioItemStarted(next);
+        return true;
     }
 
+    private static void releaseNextAudioItem() {
+        mPreloadGeneration++;
+        mPreloadingNext = false;
+        if (mNextAudioItem == null) return;
+        mNextAudioItem = null;
+        mNextAudioStreamInfo = null;
+        if (nativeMode) {
+            if (mNextExoplayer != null) mNextExoplayer.stopPlayback();
+        } else {
+            if (mNextVlcPlayer != null) mNextVlcPlayer.stop();
+        }
+    }
+
+    /**
+     * Shuffle the queue in place - whatever is playing carries on and becomes the first item
+     */
     public static void shuffleAudioQueue() {
         if (!hasAudioQueueItems()) return;
 
-        List<BaseItemDto> items = new ArrayList<>();
-        for(int i = 0; i < mCurrentAudioQueue.size(); i++) {
-            items.add(((BaseRowItem) mCurrentAudioQueue.get(i)).getBaseItem());
+        releaseNextAudioItem();
+        mAudioQueue.shuffle();
+        if (mCurrentAudioItem == null || !isPlayingAudio()) {
+            mAudioQueue.setPosition(-1);
+            nextAudioItem();
         }
+        fireQueueStatusChange();
+    }
 
-        Collections.shuffle(items);
-        playNow(items);
+    /**
+     * Put a shuffled queue back in its original order without interrupting playback
+     */
+    public static void unshuffleAudioQueue() {
+        if (!mAudioQueue.isShuffled()) return;
 
+        releaseNextAudioItem();
+        mAudioQueue.unshuffle();
+        fireQueueStatusChange();
     }
 
-    public static BaseItemDto getNextAudioItem() {
-        if (mCurrentAudioQueue == null || mCurrentAudioQueue.size() == 0 || (!mRepeat && mCurrentAudioQueuePosition == mCurrentAudioQueue.size() - 1)) return null;
+    public static boolean isAudioQueueShuffled() { return mAudioQueue.isShuffled(); }
 
-        int ndx = mCurrentAudioQueuePosition+1;
-        if (ndx >= mCurrentAudioQueue.size()) ndx = 0;
-        return ((BaseRowItem)mCurrentAudioQueue.get(ndx)).getBaseItem();
+    public static BaseItemDto getNextAudioItem() {
+        return mAudioQueue.getItem(mAudioQueue.getNextPosition(mRepeat));
     }
 
     public static BaseItemDto getPrevAudioItem() {
-        if (mCurrentAudioQueue == null || mCurrentAudioQueue.size() == 0 || (!mRepeat && mCurrentAudioQueuePosition == 0)) return null;
-
-        int ndx = mCurrentAudioQueuePosition-1;
-        if (ndx < 0) ndx = mCurrentAudioQueue.size() - 1;
-        return ((BaseRowItem)mCurrentAudioQueue.get(ndx)).getBaseItem();
+        return mAudioQueue.getItem(mAudioQueue.getPrevPosition(mRepeat));
     }
 
-    public static boolean hasNextAudioItem() { return mCurrentAudioQueue != null && mCurrentAudioQueue.size() > 0 && (mRepeat || mCurrentAudioQueuePosition < mCurrentAudioQueue.size()-1); }
-    public static boolean hasPrevAudioItem() { return mCurrentAudioQueue != null && mCurrentAudioQueue.size() > 0 && (mRepeat || mCurrentAudioQueuePosition > 0); }
+    public static boolean hasNextAudioItem() { return mAudioQueue.getNextPosition(mRepeat) >= 0; }
+    public static boolean hasPrevAudioItem() { return mAudioQueue.getPrevPosition(mRepeat) >= 0; }
 
     public static void updateCurrentAudioItemPlaying(boolean playing) {
-        if (mCurrentAudioQueuePosition < 0) return;
-        BaseRowItem rowItem = (BaseRowItem) mCurrentAudioQueue.get(mCurrentAudioQueuePosition);
-        if (rowItem != null) {
-            rowItem.setIsPlaying(playing);
-            mCurrentAudioQueue.notifyArrayItemRangeChanged(mCurrentAudioQueuePosition, 1);
-            if (mManagedAudioQueue != null && mManagedAudioQueue.size() > 0) {
-                BaseRowItem managedItem = (BaseRowItem) mManagedAudioQueue.get(0);
-                managedItem.setIsPlaying(playing);
-                mManagedAudioQueue.notifyArrayItemRangeChanged(0, 1);
-            }
-        }
+        int ndx = mAudioQueue.getPosition();
+        if (ndx < 0 || ndx >= mAudioQueue.size()) return;
+        mAudioQueue.get(ndx).setIsPlaying(playing);
+        mAudioQueue.notifyItemChanged(ndx);
     }
 
     public static int nextAudioItem() {
         //turn off indicator for current item
-        if (mCurrentAudioQueuePosition >= 0) {
-            updateCurrentAudioItemPlaying(false);
-        }
+        updateCurrentAudioItemPlaying(false);
 
-        if (mCurrentAudioQueue == null || mCurrentAudioQueue.size() == 0 || (!mRepeat && mCurrentAudioQueuePosition == mCurrentAudioQueue.size() - 1)) return -1;
+        int ndx = mAudioQueue.getNextPosition(mRepeat);
+        if (ndx < 0) return -1;
         stopAudio();
-        if (mManagedAudioQueue != null && mManagedAudioQueue.size() > 1) {
-            //don't remove last item as it causes framework crashes
-            mManagedAudioQueue.removeItems(0, 1);
-        }
-        int ndx = mCurrentAudioQueuePosition +1;
-        if (ndx >= mCurrentAudioQueue.size()) ndx = 0;
-        playInternal(getNextAudioItem(), ndx);
+        playInternal(mAudioQueue.getItem(ndx), ndx);
         return ndx;
     }
 
     public static int prevAudioItem() {
-        if (mCurrentAudioQueue == null || (!mRepeat && mCurrentAudioQueue.size() == 0)) return -1;
+        if (!hasAudioQueueItems()) return -1;
         if (isPlayingAudio() && mCurrentAudioPosition > 10000) {
             //just back up to the beginning of current item
             if (nativeMode) mExoplayer.seekTo(0);
             else mVlcPlayer.setTime(0);
-            return mCurrentAudioQueuePosition;
+            return mAudioQueue.getPosition();
         }
 
-        if ( !mRepeat && mCurrentAudioQueuePosition < 1) {
+        int ndx = mAudioQueue.getPrevPosition(mRepeat);
+        if (ndx < 0) {
             //nowhere to go
-            return mCurrentAudioQueuePosition;
+            return mAudioQueue.getPosition();
         }
 
-
         stopAudio();
-        int ndx = mCurrentAudioQueuePosition - 1;
-        if (mManagedAudioQueue != null) {
-            mManagedAudioQueue.add(0, mCurrentAudioQueue.get(ndx));
-        }
-        if (ndx < 0) ndx = mCurrentAudioQueue.size() - 1;
-        playInternal(getPrevAudioItem(), ndx);
+        playInternal(mAudioQueue.getItem(ndx), ndx);
         return ndx;
     }
 
@@ -698,6 +972,7 @@ public class MediaManager {
     }
 
     public static void stopAudio() {
+        releaseNextAudioItem();
         if (mCurrentAudioItem != null && isPlayingAudio()) {
             stop();
             updateCurrentAudioItemPlaying(false);
@@ -742,8 +1017,9 @@ public class MediaManager {
                 listener.onPlaybackStateChange(PlaybackController.PlaybackState.PLAYING, mCurrentAudioItem);
             }
         } else if (hasAudioQueueItems()) {
-            //play from start
-            playInternal(((BaseRowItem)mCurrentAudioQueue.get(0)).getBaseItem(), 0);
+            //play from where the queue was left (start if it is new)
+            int ndx = Math.max(mAudioQueue.getPosition(), 0);
+            playInternal(mAudioQueue.getItem(ndx), ndx, ndx == mResumeAudioIndex ? mResumeAudioPosition : 0);
         }
     }
 
@@ -798,10 +1074,13 @@ public class MediaManager {
 
     public static void setVideoQueueModified(boolean videoQueueModified) {
         MediaManager.videoQueueModified = videoQueueModified;
+        saveVideoQueue();
     }
 
     public static void clearVideoQueue() {
         mCurrentVideoQueue = new ArrayList<>();
         videoQueueModified = false;
+        saveVideoQueue();
+        saveVideoQueueState(mCurrentVideoQueue, 0, 0);
     }
 }
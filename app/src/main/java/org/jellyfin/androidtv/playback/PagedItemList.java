@@ -0,0 +1,232 @@
+// app/src/main/java/org/jellyfin/androidtv/playback/PagedItemList.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.playback;
+
+import org.jellyfin.androidtv.TvApp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import mediabrowser.apiinteraction.Response;
+import mediabrowser.model.dto.BaseItemDto;
+import mediabrowser.model.querying.ItemFields;
+import mediabrowser.model.querying.ItemQuery;
+import mediabrowser.model.querying.ItemSortBy;
+import mediabrowser.model.querying.ItemsResult;
+
+/**
+ * Items to play for a query that may be too large to load at once - a series, folder, artist or playlist.
+ *
+ * Only the first page is loaded before playback starts.  Whoever is playing calls {@link #loadMoreIfNeeded}
+ * as the queue advances and further pages are appended here (and passed to the page listener) in the
+ * background.  Shuffling asks the server for the ids alone in random order and then loads them a page at
+ * a time, so the order stays consistent across pages.  A list saved part way through can carry on paging
+ * after a restart from its {@link State}.
+ */
+public class PagedItemList extends ArrayList<BaseItemDto> {
+    public static final int PAGE_SIZE = 50;
+    // start on the next page when this few items are left to play
+    private static final int LOAD_AHEAD = 10;
+
+    public interface PageListener {
+        void onPageLoaded(List<BaseItemDto> items);
+    }
+
+    private final ItemQuery mQuery;
+    private String[] mIds;
+    private int mTotal;
+    private int mNextIndex;
+    private boolean mLoading;
+    private PageListener mListener;
+
+    private PagedItemList(ItemQuery query) {
+        mQuery = query;
+    }
+
+    /**
+     * Rebuild a list from the items it had loaded and its saved state - paging carries on where it left off
+     */
+    public static PagedItemList restore(State state, List<BaseItemDto> items) {
+        PagedItemList list = new PagedItemList(state.query);
+        list.mIds = state.ids;
+        list.mTotal = state.total;
+        list.mNextIndex = state.nextIndex;
+        list.addAll(items);
+        return list;
+    }
+
+    /**
+     * Run the query and respond with its first page.  The query should have everything but the paging set.
+     */
+    public static void load(ItemQuery query, boolean shuffle, final Response<List<BaseItemDto>> outerResponse) {
+        final PagedItemList list = new PagedItemList(query);
+        final Response<List<BaseItemDto>> firstPage = new Response<List<BaseItemDto>>() {
+            @Override
+            public void onResponse(List<BaseItemDto> response) {
+                outerResponse.onResponse(list);
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                outerResponse.onError(exception);
+            }
+        };
+
+        if (shuffle) list.loadShuffledIds(firstPage);
+        else list.loadPage(firstPage);
+    }
+
+    public boolean hasMore() {
+        return mNextIndex < (mIds != null ? mIds.length : mTotal);
+    }
+
+    /**
+     * @return the number of items in the whole result, including those not loaded yet
+     */
+    public int getTotalSize() {
+        return mIds != null ? mIds.length : Math.max(mTotal, size());
+    }
+
+    /**
+     * @return what is needed to carry on paging after a restart - saved alongside the loaded items
+     */
+    public State getState() {
+        State state = new State();
+        state.query = mQuery;
+        state.ids = mIds;
+        state.total = mTotal;
+        state.nextIndex = mNextIndex;
+        return state;
+    }
+
+    public void setPageListener(PageListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * @param remaining how many items are still to play from what is already loaded
+     */
+    public void loadMoreIfNeeded(int remaining) {
+        if (mLoading || !hasMore() || remaining > LOAD_AHEAD) return;
+        loadPage(new Response<List<BaseItemDto>>() {
+            @Override
+            public void onResponse(List<BaseItemDto> response) {
+                TvApp.getApplication().getLogger().Debug("Loaded " + response.size() + " more items to play. " + size() + " of " + getTotalSize());
+                // an empty page still tells the listener we have reached the end
+                if (mListener != null) mListener.onPageLoaded(response);
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                TvApp.getApplication().getLogger().ErrorException("Error loading more items to play", exception);
+            }
+        });
+    }
+
+    private void loadShuffledIds(final Response<List<BaseItemDto>> response) {
+        final ItemFields[] fields = mQuery.getFields();
+        mQuery.setSortBy(new String[] {ItemSortBy.Random});
+        mQuery.setFields(null);
+        mQuery.setEnableImages(false);
+        TvApp.getApplication().getApiClient().GetItemsAsync(mQuery, new Response<ItemsResult>() {
+            @Override
+            public void onResponse(ItemsResult result) {
+                BaseItemDto[] items = result.getItems() != null ? result.getItems() : new BaseItemDto[0];
+                mIds = new String[items.length];
+                for (int i = 0; i < items.length; i++) {
+                    mIds[i] = items[i].getId();
+                }
+                mQuery.setFields(fields);
+                mQuery.setEnableImages(null);
+                loadPage(response);
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                response.onError(exception);
+            }
+        });
+    }
+
+    private void loadPage(final Response<List<BaseItemDto>> response) {
+        mLoading = true;
+        final ItemQuery query;
+        final String[] ids;
+        if (mIds != null) {
+            ids = Arrays.copyOfRange(mIds, mNextIndex, Math.min(mNextIndex + PAGE_SIZE, mIds.length));
+            query = new ItemQuery();
+            query.setIds(ids);
+            query.setFields(mQuery.getFields());
+            query.setUserId(mQuery.getUserId());
+        } else {
+            ids = null;
+            query = mQuery;
+            query.setStartIndex(mNextIndex);
+            query.setLimit(PAGE_SIZE);
+        }
+
+        TvApp.getApplication().getApiClient().GetItemsAsync(query, new Response<ItemsResult>() {
+            @Override
+            public void onResponse(ItemsResult result) {
+                mLoading = false;
+                List<BaseItemDto> page = result.getItems() != null ? Arrays.asList(result.getItems()) : new ArrayList<BaseItemDto>();
+                if (ids != null) {
+                    page = inOrder(ids, page);
+                    mNextIndex += ids.length;
+                } else {
+                    mTotal = result.getTotalRecordCount();
+                    mNextIndex += page.size();
+                    // nothing came back - the library changed under us so stop here
+                    if (page.isEmpty()) mTotal = mNextIndex;
+                }
+                addAll(page);
+                response.onResponse(page);
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                mLoading = false;
+                response.onError(exception);
+            }
+        });
+    }
+
+    // items asked for by id come back in the server's order, not ours
+    private static List<BaseItemDto> inOrder(String[] ids, List<BaseItemDto> items) {
+        HashMap<String, BaseItemDto> byId = new HashMap<>();
+        for (BaseItemDto item : items) {
+            byId.put(item.getId(), item);
+        }
+        List<BaseItemDto> ordered = new ArrayList<>(items.size());
+        for (String id : ids) {
+            BaseItemDto item = byId.get(id);
+            if (item != null) ordered.add(item);
+        }
+        return ordered;
+    }
+
+    public static class State {
+        ItemQuery query;
+        String[] ids;
+        int total;
+        int nextIndex;
+    }
+}
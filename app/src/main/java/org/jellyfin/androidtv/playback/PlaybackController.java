@@ -9,6 +9,7 @@ import android.view.View;
 
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
+import org.jellyfin.androidtv.livetv.ChannelPreTuner;
 import org.jellyfin.androidtv.livetv.TvManager;
 import org.jellyfin.androidtv.ui.ImageButton;
 import org.jellyfin.androidtv.util.ProfileHelper;
@@ -75,6 +76,7 @@ public class PlaybackController {
     private boolean useVlc = false;
 
     private boolean updateProgress = true;
+    private int mStopCount = 0; // lets work started before a stop know it is no longer wanted
 
     public PlaybackController(List<BaseItemDto> items, IPlaybackOverlayFragment fragment) {
         mItems = items;
@@ -85,6 +87,13 @@ public class PlaybackController {
 
     }
 
+    /**
+     * Start from somewhere other than the first item - must be called before play
+     */
+    public void setStartIndex(int ndx) {
+        if (ndx >= 0 && ndx < mItems.size()) mCurrentIndex = ndx;
+    }
+
     public void init(VideoManager mgr, View spinner) {
         mVideoManager = mgr;
         mSpinner = spinner;
@@ -155,6 +164,7 @@ public class PlaybackController {
 
     private void play(long position, int transcodedSubtitle) {
         mApplication.getLogger().Debug("Play called with pos: " + position + " and sub index: "+transcodedSubtitle);
+        if (mItems instanceof PagedItemList) ((PagedItemList) mItems).loadMoreIfNeeded(mItems.size() - 1 - mCurrentIndex);
         switch (mPlaybackState) {
             case PLAYING:
                 // do nothing
@@ -178,6 +188,30 @@ public class PlaybackController {
                 BaseItemDto item = getCurrentlyPlayingItem();
                 lastProgressPosition = 0;
 
+                if (needsDetails(item)) {
+                    // only queued for display - get the streams and chapters first
+                    final long startPosition = position;
+                    final int startSubtitle = transcodedSubtitle;
+                    final int stopCount = mStopCount;
+                    startSpinner();
+                    loadDetails(mCurrentIndex, new Response<BaseItemDto>() {
+                        @Override
+                        public void onResponse(BaseItemDto response) {
+                            // we may have been stopped (and our fragment destroyed) while we waited
+                            if (stopCount != mStopCount) return;
+                            if (mPlaybackState == PlaybackState.IDLE && !needsDetails(getCurrentlyPlayingItem())) play(startPosition, startSubtitle);
+                        }
+
+                        @Override
+                        public void onError(Exception exception) {
+                            if (stopCount != mStopCount) return;
+                            stopSpinner();
+                            Utils.showToast(TvApp.getApplication(), mApplication.getString(R.string.msg_cannot_play_time));
+                        }
+                    });
+                    return;
+                }
+
                 // make sure item isn't missing
                 if (item.getLocationType() == LocationType.Virtual) {
                     if (hasNextItem()) {
@@ -224,12 +258,7 @@ public class PlaybackController {
                 }
 
                 startSpinner();
-                mCurrentOptions = new VideoOptions();
-                mCurrentOptions.setDeviceId(mApplication.getApiClient().getDeviceId());
-                mCurrentOptions.setItemId(item.getId());
-                mCurrentOptions.setMediaSources(item.getMediaSources());
-                mCurrentOptions.setMaxBitrate(getMaxBitrate());
-                if (Utils.downMixAudio()) mCurrentOptions.setMaxAudioChannels(2);
+                mCurrentOptions = createVideoOptions(item);
                 if (!mVideoManager.isNativeMode()) {
                     mCurrentOptions.setSubtitleStreamIndex(transcodedSubtitle >= 0 ? transcodedSubtitle : null);
                     mCurrentOptions.setMediaSourceId(transcodedSubtitle >= 0 ? getCurrentMediaSource().getId() : null);
@@ -241,36 +270,8 @@ public class PlaybackController {
                 TvApp.getApplication().getLogger().Debug("Max bitrate is: " + getMaxBitrate());
                 isLiveTv = item.getType().equals("TvChannel");
 
-                // Create our profile - use VLC unless live tv or on FTV stick and over SD
-                useVlc = (transcodedSubtitle >= 0 || (Utils.downMixAudio() && !isLiveTv) || ((!Utils.is60() && (!isLiveTv || mApplication.directStreamLiveTv())) || (isLiveTv && mApplication.directStreamLiveTv()) || (item.getPath() != null && item.getPath().toLowerCase().endsWith(".ts"))) && (!"ChannelVideoItem".equals(item.getType())) && TvApp.getApplication().getPrefs().getBoolean("pref_enable_vlc", true) && (item.getPath() == null || !item.getPath().toLowerCase().endsWith(".avi")));
-                if (useVlc && item.getMediaSources() != null && item.getMediaSources().size() > 0) {
-                    List<MediaStream> videoStreams = Utils.GetVideoStreams(item.getMediaSources().get(0));
-                    MediaStream video = videoStreams != null && videoStreams.size() > 0 ? videoStreams.get(0) : null;
-                    if (video != null && video.getWidth() > (Utils.isFireTvStick() ? 730 : Integer.parseInt(mApplication.getPrefs().getString("pref_vlc_max_res", "730")))) {
-                        useVlc = false;
-                        mApplication.getLogger().Info("Forcing a transcode of HD content");
-                    }
-                } else {
-                    useVlc = useVlc && !Utils.isFireTvStick();
-                }
-
-                DeviceProfile profile = ProfileHelper.getBaseProfile();
-                if (useVlc) {
-                    ProfileHelper.setVlcOptions(profile);
-                    TvApp.getApplication().getLogger().Info("*** Using VLC profile options");
-                } else {
-                    if (Utils.is60()) {
-                        ProfileHelper.setExoOptions(profile, isLiveTv, true);
-                        ProfileHelper.addAc3Streaming(profile, true);
-                        TvApp.getApplication().getLogger().Info("*** Using extended Exoplayer profile options for 6.0+");
-
-                    } else {
-                        TvApp.getApplication().getLogger().Info("*** Using default android profile");
-                    }
-
-                }
-
-                mCurrentOptions.setProfile(profile);
+                useVlc = shouldUseVlc(item, transcodedSubtitle);
+                mCurrentOptions.setProfile(createProfile(useVlc, isLiveTv));
 
                 playInternal(getCurrentlyPlayingItem(), position, mCurrentOptions);
                 mPlaybackState = PlaybackState.BUFFERING;
@@ -307,8 +308,95 @@ public class PlaybackController {
         }
     }
 
-    public int getMaxBitrate() {
-        SharedPreferences sharedPref = PreferenceManager.getDefaultSharedPreferences(mApplication);
+    /**
+     * Queues are built with display fields only - anything we would play without media sources still needs its full details
+     */
+    private boolean needsDetails(BaseItemDto item) {
+        if (item.getMediaSources() != null || item.getLocationType() == LocationType.Virtual) return false;
+        switch (item.getType()) {
+            case "Episode":
+            case "Movie":
+            case "Video":
+            case "MusicVideo":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void loadDetails(final int ndx, final Response<BaseItemDto> outerResponse) {
+        final String id = mItems.get(ndx).getId();
+        mApplication.getApiClient().GetItemAsync(id, mApplication.getCurrentUser().getId(), new Response<BaseItemDto>() {
+            @Override
+            public void onResponse(BaseItemDto response) {
+                // the queue may have moved on while we waited
+                if (ndx < mItems.size() && id.equals(mItems.get(ndx).getId())) {
+                    mItems.set(ndx, response);
+                    MediaManager.videoQueueChanged(mItems);
+                }
+                outerResponse.onResponse(response);
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                mApplication.getLogger().ErrorException("Error loading details for queued item", exception);
+                outerResponse.onError(exception);
+            }
+        });
+    }
+
+    /**
+     * The options we start an item with before any subtitle choice - the channel pre-tuner negotiates with these too
+     */
+    public static VideoOptions createVideoOptions(BaseItemDto item) {
+        VideoOptions options = new VideoOptions();
+        options.setDeviceId(TvApp.getApplication().getApiClient().getDeviceId());
+        options.setItemId(item.getId());
+        options.setMediaSources(item.getMediaSources());
+        options.setMaxBitrate(getMaxBitrate());
+        if (Utils.downMixAudio()) options.setMaxAudioChannels(2);
+        return options;
+    }
+
+    public static boolean shouldUseVlc(BaseItemDto item, int transcodedSubtitle) {
+        TvApp application = TvApp.getApplication();
+        boolean isLiveTv = "TvChannel".equals(item.getType());
+        // use VLC unless live tv or on FTV stick and over SD
+        boolean useVlc = (transcodedSubtitle >= 0 || (Utils.downMixAudio() && !isLiveTv) || ((!Utils.is60() && (!isLiveTv || application.directStreamLiveTv())) || (isLiveTv && application.directStreamLiveTv()) || (item.getPath() != null && item.getPath().toLowerCase().endsWith(".ts"))) && (!"ChannelVideoItem".equals(item.getType())) && application.getPrefs().getBoolean("pref_enable_vlc", true) && (item.getPath() == null || !item.getPath().toLowerCase().endsWith(".avi")));
+        if (useVlc && item.getMediaSources() != null && item.getMediaSources().size() > 0) {
+            List<MediaStream> videoStreams = Utils.GetVideoStreams(item.getMediaSources().get(0));
+            MediaStream video = videoStreams != null && videoStreams.size() > 0 ? videoStreams.get(0) : null;
+            if (video != null && video.getWidth() > (Utils.isFireTvStick() ? 730 : Integer.parseInt(application.getPrefs().getString("pref_vlc_max_res", "730")))) {
+                useVlc = false;
+                application.getLogger().Info("Forcing a transcode of HD content");
+            }
+        } else {
+            useVlc = useVlc && !Utils.isFireTvStick();
+        }
+        return useVlc;
+    }
+
+    public static DeviceProfile createProfile(boolean useVlc, boolean isLiveTv) {
+        DeviceProfile profile = ProfileHelper.getBaseProfile();
+        if (useVlc) {
+            ProfileHelper.setVlcOptions(profile);
+            TvApp.getApplication().getLogger().Info("*** Using VLC profile options");
+        } else {
+            if (Utils.is60()) {
+                ProfileHelper.setExoOptions(profile, isLiveTv, true);
+                ProfileHelper.addAc3Streaming(profile, true);
+                TvApp.getApplication().getLogger().Info("*** Using extended Exoplayer profile options for 6.0+");
+
+            } else {
+                TvApp.getApplication().getLogger().Info("*** Using default android profile");
+            }
+
+        }
+        return profile;
+    }
+
+    public static int getMaxBitrate() {
+        SharedPreferences sharedPref = PreferenceManager.getDefaultSharedPreferences(TvApp.getApplication());
         String maxRate = sharedPref.getString("pref_max_bitrate", "0");
         Float factor = Float.parseFloat(maxRate) * 10;
         return factor == 0 ? TvApp.getApplication().getAutoBitrate() : (factor.intValue() * 100000);
@@ -325,6 +413,16 @@ public class PlaybackController {
             liveTvChannelName = " ("+item.getName()+")";
             updateTvProgramInfo();
             TvManager.setLastLiveTvChannel(item.getId());
+            // a zap to a channel we negotiated ahead can skip the round trip
+            StreamInfo warm = options.getAudioStreamIndex() == null && options.getSubtitleStreamIndex() == null ? ChannelPreTuner.getStreamInfo(item.getId(), useVlc, options) : null;
+            ChannelPreTuner.preTune(item.getId());
+            if (warm != null) {
+                mApplication.getLogger().Info("Using pre-tuned playback info for " + item.getName());
+                startItem(item, position, apiClient, warm);
+                return;
+            }
+        } else {
+            ChannelPreTuner.stop();
         }
 
         mApplication.getPlaybackManager().getVideoStreamInfo(apiClient.getServerInfo().getId(), options, false, apiClient, new Response<StreamInfo>() {
@@ -427,6 +525,10 @@ public class PlaybackController {
         mFragment.updateDisplay();
         String path = response.ToUrl(apiClient.getApiUrl(), apiClient.getAccessToken());
 
+        // have the next one ready to go when this finishes
+        if (hasNextItem() && needsDetails(getNextItem())) loadDetails(mCurrentIndex + 1, new Response<BaseItemDto>());
+        MediaManager.saveVideoQueueState(mItems, mCurrentIndex, position);
+
         // if source is stereo or we're not on at least 5.1.1 with AC3 - use most compatible output
         if (!mVideoManager.isNativeMode() && (isLiveTv && !Utils.isGreaterThan51()) || (response.getMediaSource() != null && response.getMediaSource().getDefaultAudioStream() != null && response.getMediaSource().getDefaultAudioStream().getChannels() != null && (response.getMediaSource().getDefaultAudioStream().getChannels() <= 2
                 || (!Utils.isGreaterThan51() && "ac3".equals(response.getMediaSource().getDefaultAudioStream().getCodec()))))) {
@@ -630,6 +732,7 @@ public class PlaybackController {
     }
 
     public void stop() {
+        mStopCount++;
         stopReportLoop();
         if (mPlaybackState != PlaybackState.IDLE && mPlaybackState != PlaybackState.UNDEFINED) {
             mPlaybackState = PlaybackState.IDLE;
@@ -765,6 +868,7 @@ public class PlaybackController {
                     long currentTime = mVideoManager.getCurrentPosition();
 
                     Utils.ReportProgress(getCurrentlyPlayingItem(), getCurrentStreamInfo(), currentTime * 10000, false);
+                    MediaManager.saveVideoQueueState(mItems, mCurrentIndex, currentTime);
 
                     //Do this next up processing here because every 3 seconds is good enough
                     if (!nextItemReported && hasNextItem() && currentTime >= mNextItemThreshold){
@@ -839,6 +943,10 @@ public class PlaybackController {
         if (duration != null && mItems.size() > 0) {
             if (duration < 300000 || mCurrentPosition * 10000 > Math.floor(.90 * duration)) mItems.remove(0);
         } else if (duration == null) mItems.remove(0);
+
+        // what is left starts from the top next time
+        MediaManager.videoQueueChanged(mItems);
+        MediaManager.saveVideoQueueState(mItems, 0, 0);
     }
 
     private void itemComplete() {
@@ -0,0 +1,332 @@
+// app/src/main/java/org/jellyfin/androidtv/playback/QueueStore.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.playback;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import org.jellyfin.androidtv.TvApp;
+import org.jellyfin.androidtv.util.Debouncer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import mediabrowser.apiinteraction.Response;
+import mediabrowser.model.dto.BaseItemDto;
+
+/**
+ * Journal of the audio and video queues so they survive the process being killed.
+ *
+ * The audio queue is kept as one line per entry - id, original sequence and the serialized item - and
+ * is only rewritten when its contents change.  The current position and playback time go in a small
+ * separate file that is updated as playback moves on.  A video queue that is still paging in from a
+ * query keeps its paging state in the header so the rest of it can be loaded after a restore.  The index
+ * and playback time within the video queue have their own small file like the audio ones.  Restoring reads the lines back without
+ * deserializing any audio entry; the queue turns an entry into an item when it is first asked for it.
+ * Every read and write happens on a single background thread, so a restore always sees what was
+ * written before it.
+ */
+public class QueueStore implements AudioQueue.Listener {
+    private static final String AUDIO_FILE = "audioqueue";
+    private static final String AUDIO_STATE_FILE = "audioqueue.state";
+    private static final String VIDEO_FILE = "videoqueue";
+    private static final String VIDEO_STATE_FILE = "videoqueue.state";
+    private static final long WRITE_DELAY = 1000;
+
+    private static QueueStore instance;
+
+    private final File mDir;
+    private final ExecutorService mExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private AudioQueue mAudioQueue;
+
+    public static QueueStore getInstance() {
+        if (instance == null) instance = new QueueStore();
+        return instance;
+    }
+
+    private QueueStore() {
+        mDir = TvApp.getApplication().getFilesDir();
+    }
+
+    /**
+     * Read back the queues saved for a user off the main thread.  The response is called on the main thread,
+     * with nothing in either queue if none were saved.
+     */
+    public void restore(final String userId, final Response<Restored> response) {
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final Restored restored = new Restored();
+                readAudioQueue(userId, restored);
+                readVideoQueue(userId, restored);
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        response.onResponse(restored);
+                    }
+                });
+            }
+        });
+    }
+
+    private void readAudioQueue(String userId, Restored restored) {
+        try {
+            BufferedReader reader = open(AUDIO_FILE);
+            try {
+                String line = reader.readLine();
+                if (userId.equals(line)) {
+                    while ((line = reader.readLine()) != null) {
+                        String[] fields = line.split("\t", 3);
+                        if (fields.length == 3) restored.audioSlots.add(new AudioQueue.Slot(fields[0], Integer.parseInt(fields[1]), fields[2]));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+
+            restored.nextSequence = restored.audioSlots.size();
+            String[] state = readState(AUDIO_STATE_FILE, 5);
+            if (restored.audioSlots.size() > 0 && state != null && userId.equals(state[0])) {
+                restored.audioPosition = Integer.parseInt(state[1]);
+                restored.resumePosition = Long.parseLong(state[2]);
+                restored.shuffled = Boolean.parseBoolean(state[3]);
+                restored.nextSequence = Integer.parseInt(state[4]);
+            }
+        } catch (IOException e) {
+            // nothing saved
+        } catch (NumberFormatException e) {
+            TvApp.getApplication().getLogger().ErrorException("Unable to interpret saved audio queue", e);
+            restored.audioSlots.clear();
+        }
+    }
+
+    /**
+     * Journal changes to the queue from now on - saving it straight away if it isn't what was read back
+     */
+    public void keep(AudioQueue queue, boolean save) {
+        mAudioQueue = queue;
+        queue.addListener(this);
+        if (save) mSaveAudioQueue.run();
+    }
+
+    /**
+     * Stop journaling the queue - anything not yet written is dropped
+     */
+    public void release() {
+        Debouncer.cancel(mSaveAudioQueue);
+        if (mAudioQueue != null) mAudioQueue.removeListener(this);
+        mAudioQueue = null;
+    }
+
+    private void readVideoQueue(String userId, Restored restored) {
+        try {
+            BufferedReader reader = open(VIDEO_FILE);
+            try {
+                String line = reader.readLine();
+                String[] header = line != null ? line.split("\t") : null;
+                if (header == null || header.length < 2 || !userId.equals(header[0])) return;
+                restored.videoModified = Boolean.parseBoolean(header[1]);
+                List<BaseItemDto> items = new ArrayList<>();
+                while ((line = reader.readLine()) != null) {
+                    items.add((BaseItemDto) TvApp.getApplication().getSerializer().DeserializeFromString(line, BaseItemDto.class));
+                }
+                String[] state = readState(VIDEO_STATE_FILE, 3);
+                if (state != null && userId.equals(state[0])) {
+                    restored.videoIndex = Integer.parseInt(state[1]);
+                    restored.videoPosition = Long.parseLong(state[2]);
+                }
+                if (header.length > 2) {
+                    PagedItemList.State paging = (PagedItemList.State) TvApp.getApplication().getSerializer().DeserializeFromString(header[2], PagedItemList.State.class);
+                    restored.videoItems = PagedItemList.restore(paging, items);
+                } else {
+                    restored.videoItems = items;
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            // nothing saved
+        } catch (Exception e) {
+            TvApp.getApplication().getLogger().ErrorException("Unable to interpret saved video queue", e);
+            restored.videoItems = null;
+        }
+    }
+
+    public void saveVideoQueue(List<BaseItemDto> items, final boolean modified) {
+        final List<BaseItemDto> snapshot = items != null ? new ArrayList<>(items) : new ArrayList<BaseItemDto>();
+        final PagedItemList.State paging = items instanceof PagedItemList && ((PagedItemList) items).hasMore() ? ((PagedItemList) items).getState() : null;
+        final String userId = getUserId();
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                StringBuilder contents = new StringBuilder();
+                contents.append(userId).append('\t').append(modified);
+                if (paging != null) contents.append('\t').append(TvApp.getApplication().getSerializer().SerializeToString(paging));
+                contents.append('\n');
+                for (BaseItemDto item : snapshot) {
+                    contents.append(TvApp.getApplication().getSerializer().SerializeToString(item)).append('\n');
+                }
+                write(VIDEO_FILE, contents.toString());
+            }
+        });
+    }
+
+    /**
+     * Record where video queue playback is - cheap enough to call with every progress report
+     */
+    public void saveVideoState(int index, long playbackPosition) {
+        final String state = getUserId() + "\t" + index + "\t" + playbackPosition;
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                write(VIDEO_STATE_FILE, state);
+            }
+        });
+    }
+
+    /**
+     * Record where playback is - cheap enough to call with every progress report
+     */
+    public void saveAudioState(long playbackPosition) {
+        if (mAudioQueue == null) return;
+        final String state = getUserId() + "\t" + mAudioQueue.getPosition() + "\t" + playbackPosition + "\t"
+                + mAudioQueue.isShuffled() + "\t" + mAudioQueue.getNextSequence();
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                write(AUDIO_STATE_FILE, state);
+            }
+        });
+    }
+
+    private Runnable mSaveAudioQueue = new Runnable() {
+        @Override
+        public void run() {
+            if (mAudioQueue == null) return;
+            final List<AudioQueue.Slot> slots = mAudioQueue.getSlots();
+            final String userId = getUserId();
+            mExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    StringBuilder contents = new StringBuilder();
+                    contents.append(userId).append('\n');
+                    for (AudioQueue.Slot slot : slots) {
+                        contents.append(slot.getId()).append('\t').append(slot.getSequence()).append('\t').append(slot.getPayload()).append('\n');
+                    }
+                    write(AUDIO_FILE, contents.toString());
+                }
+            });
+            saveAudioState(MediaManager.getCurrentAudioPosition());
+        }
+    };
+
+    @Override
+    public void onItemsInserted(int position, int count) {
+        Debouncer.schedule(mSaveAudioQueue, WRITE_DELAY);
+    }
+
+    @Override
+    public void onItemsRemoved(int position, int count) {
+        Debouncer.schedule(mSaveAudioQueue, WRITE_DELAY);
+    }
+
+    @Override
+    public void onItemChanged(int position) {
+        // only the playing indicator - nothing we keep
+    }
+
+    @Override
+    public void onPositionChanged(int previous, int position) {
+        // a new entry always starts from the beginning
+        saveAudioState(0);
+    }
+
+    @Override
+    public void onChanged() {
+        Debouncer.schedule(mSaveAudioQueue, WRITE_DELAY);
+    }
+
+    private String getUserId() {
+        TvApp app = TvApp.getApplication();
+        return app.getCurrentUser() != null ? app.getCurrentUser().getId() : "";
+    }
+
+    private BufferedReader open(String name) throws IOException {
+        return new BufferedReader(new InputStreamReader(new FileInputStream(new File(mDir, name)), "UTF-8"));
+    }
+
+    private String[] readState(String name, int fields) {
+        try {
+            BufferedReader reader = open(name);
+            try {
+                String line = reader.readLine();
+                String[] state = line != null ? line.split("\t") : null;
+                return state != null && state.length == fields ? state : null;
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void write(String name, String contents) {
+        // write alongside and swap in so a kill part way through can't leave half a queue
+        File file = new File(mDir, name);
+        File temp = new File(mDir, name + ".tmp");
+        try {
+            Writer writer = new OutputStreamWriter(new FileOutputStream(temp), "UTF-8");
+            try {
+                writer.write(contents);
+            } finally {
+                writer.close();
+            }
+            if (!temp.renameTo(file)) temp.delete();
+        } catch (IOException e) {
+            TvApp.getApplication().getLogger().ErrorException("Error saving queue", e);
+            temp.delete();
+        }
+    }
+
+    /**
+     * The queues as they were saved for one user
+     */
+    public static class Restored {
+        public final List<AudioQueue.Slot> audioSlots = new ArrayList<>();
+        public int audioPosition = -1;
+        public long resumePosition;
+        public boolean shuffled;
+        public int nextSequence;
+        public List<BaseItemDto> videoItems;
+        public boolean videoModified;
+        public int videoIndex;
+        public long videoPosition;
+    }
+}
@@ -8,6 +8,8 @@ import android.view.View;
 import android.view.ViewGroup;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.request.target.Target;
 
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
@@ -23,7 +25,10 @@ import mediabrowser.model.livetv.ChannelInfoDto;
 
 public class CardPresenter extends Presenter {
     private static final String TAG = "CardPresenter";
-    private int mStaticHeight = 300;
+    // card heights for landscape and portrait images - binding and preloading must agree on these or preloads never hit
+    private static final int LANDSCAPE_HEIGHT = 260;
+    private static final int PORTRAIT_HEIGHT = 300;
+    private int mStaticHeight = PORTRAIT_HEIGHT;
     private String mImageType = ImageType.DEFAULT;
 
     private boolean mShowInfo = true;
@@ -52,6 +57,45 @@ public class CardPresenter extends Presenter {
         return TvApp.getApplication().getCurrentActivity() != null ? TvApp.getApplication().getCurrentActivity() : mViewParent.getContext();
     }
 
+    /**
+     * Aspect ratio of the image shown on a card for this item or null if the card size doesn't depend on the item
+     */
+    private static Double getImageAspect(BaseRowItem m, String imageType) {
+        switch (m.getItemType()) {
+            case BaseItem:
+                BaseItemDto itemDto = m.getBaseItem();
+                Double aspect = imageType.equals(ImageType.BANNER) ? 5.414 : imageType.equals(ImageType.THUMB) ? 1.779 : Utils.NullCoalesce(Utils.getImageAspectRatio(itemDto, m.getPreferParentThumb()), .7777777);
+                switch (itemDto.getType()) {
+                    case "Audio":
+                    case "MusicAlbum":
+                    case "MusicArtist":
+                        if (aspect < 0.8) aspect = 1.0;
+                        break;
+                }
+                return aspect;
+            case LiveTvChannel:
+                ChannelInfoDto channel = m.getChannelInfo();
+                return imageType.equals(ImageType.BANNER) ? 5.414 : imageType.equals(ImageType.THUMB) ? 1.779 : Utils.NullCoalesce(channel.getPrimaryImageAspectRatio(), .7777777);
+            case LiveTvProgram:
+                Double programAspect = m.getProgramInfo().getPrimaryImageAspectRatio();
+                return programAspect != null ? programAspect : .66667;
+            case LiveTvRecording:
+                BaseItemDto recording = m.getRecordingInfo();
+                return imageType.equals(ImageType.BANNER) ? 5.414 : (imageType.equals(ImageType.THUMB) ? 1.779 : Utils.NullCoalesce(recording.getPrimaryImageAspectRatio(), .7777777));
+            default:
+                return null;
+        }
+    }
+
+    private static int getCardHeight(BaseRowItem m, double aspect, int lHeight, int pHeight, int sHeight) {
+        return !m.isStaticHeight() ? aspect > 1 ? lHeight : pHeight : sHeight;
+    }
+
+    private static int getCardWidth(double aspect, int cardHeight) {
+        int cardWidth = (int)(aspect * cardHeight);
+        return cardWidth < 10 ? 230 : cardWidth;  //Guard against zero size images causing glide to barf
+    }
+
     static class ViewHolder extends Presenter.ViewHolder {
         private int cardWidth = 230;
 
@@ -72,7 +116,7 @@ public class CardPresenter extends Presenter {
         }
 
         public void setItem(BaseRowItem m) {
-            setItem(m, ImageType.DEFAULT, 260, 300, 300);
+            setItem(m, ImageType.DEFAULT, LANDSCAPE_HEIGHT, PORTRAIT_HEIGHT, PORTRAIT_HEIGHT);
         }
 
         public void setItem(BaseRowItem m, String imageType, int lHeight, int pHeight, int sHeight) {
@@ -81,19 +125,17 @@ public class CardPresenter extends Presenter {
 
                 case BaseItem:
                     BaseItemDto itemDto = mItem.getBaseItem();
-                    Double aspect = imageType.equals(ImageType.BANNER) ? 5.414 : imageType.equals(ImageType.THUMB) ? 1.779 : Utils.NullCoalesce(Utils.getImageAspectRatio(itemDto, m.getPreferParentThumb()), .7777777);
+                    Double aspect = getImageAspect(m, imageType);
                     switch (itemDto.getType()) {
                         case "Audio":
                         case "MusicAlbum":
                             mDefaultCardImage = TvApp.getApplication().getDrawableCompat(R.drawable.audio);
-                            if (aspect < 0.8) aspect = 1.0;
                             break;
                         case "Person":
                             mDefaultCardImage = TvApp.getApplication().getDrawableCompat(R.drawable.person);
                             break;
                         case "MusicArtist":
                             mDefaultCardImage = TvApp.getApplication().getDrawableCompat(R.drawable.person);
-                            if (aspect <.8) aspect = 1.0;
                             break;
                         case "RecordingGroup":
                             mDefaultCardImage = TvApp.getApplication().getDrawableCompat(R.drawable.recgroup);
@@ -135,30 +177,25 @@ public class CardPresenter extends Presenter {
                             break;
 
                     }
-                    cardHeight = !m.isStaticHeight() ? aspect > 1 ? lHeight : pHeight : sHeight;
-                    cardWidth = (int)((aspect) * cardHeight);
-                    if (cardWidth < 10) cardWidth = 230;  //Guard against zero size images causing picasso to barf
+                    cardHeight = getCardHeight(m, aspect, lHeight, pHeight, sHeight);
+                    cardWidth = getCardWidth(aspect, cardHeight);
                     if (itemDto.getLocationType() == LocationType.Offline) mCardView.setBanner(R.drawable.offlinebanner);
                     if (itemDto.getIsPlaceHolder() != null && itemDto.getIsPlaceHolder()) mCardView.setBanner(R.drawable.externaldiscbanner);
                     mCardView.setMainImageDimensions(cardWidth, cardHeight);
                     break;
                 case LiveTvChannel:
-                    ChannelInfoDto channel = mItem.getChannelInfo();
-                    Double tvAspect = imageType.equals(ImageType.BANNER) ? 5.414 : imageType.equals(ImageType.THUMB) ? 1.779 : Utils.NullCoalesce(channel.getPrimaryImageAspectRatio(), .7777777);
-                    cardHeight = !m.isStaticHeight() ? tvAspect > 1 ? lHeight : pHeight : sHeight;
-                    cardWidth = (int)((tvAspect) * cardHeight);
-                    if (cardWidth < 10) cardWidth = 230;  //Guard against zero size images causing picasso to barf
+                    Double tvAspect = getImageAspect(m, imageType);
+                    cardHeight = getCardHeight(m, tvAspect, lHeight, pHeight, sHeight);
+                    cardWidth = getCardWidth(tvAspect, cardHeight);
                     mCardView.setMainImageDimensions(cardWidth, cardHeight);
                     mDefaultCardImage = TvApp.getApplication().getDrawableCompat(R.drawable.tv);
                     break;
 
                 case LiveTvProgram:
                     BaseItemDto program = mItem.getProgramInfo();
-                    Double programAspect = program.getPrimaryImageAspectRatio();
-                    if (programAspect == null) programAspect = .66667;
-                    cardHeight = !m.isStaticHeight() ? programAspect > 1 ? lHeight : pHeight : sHeight;
-                    cardWidth = (int)((programAspect) * cardHeight);
-                    if (cardWidth < 10) cardWidth = 230;  //Guard against zero size images causing picasso to barf
+                    Double programAspect = getImageAspect(m, imageType);
+                    cardHeight = getCardHeight(m, programAspect, lHeight, pHeight, sHeight);
+                    cardWidth = getCardWidth(programAspect, cardHeight);
                     switch (program.getLocationType()) {
 
                         case FileSystem:
@@ -177,11 +214,9 @@ public class CardPresenter extends Presenter {
                     break;
 
                 case LiveTvRecording:
-                    BaseItemDto recording = mItem.getRecordingInfo();
-                    Double recordingAspect = imageType.equals(ImageType.BANNER) ? 5.414 : (imageType.equals(ImageType.THUMB) ? 1.779 : Utils.NullCoalesce(recording.getPrimaryImageAspectRatio(), .7777777));
-                    cardHeight = !m.isStaticHeight() ? recordingAspect > 1 ? lHeight : pHeight : sHeight;
-                    cardWidth = (int)((recordingAspect) * cardHeight);
-                    if (cardWidth < 10) cardWidth = 230;  //Guard against zero size images causing picasso to barf
+                    Double recordingAspect = getImageAspect(m, imageType);
+                    cardHeight = getCardHeight(m, recordingAspect, lHeight, pHeight, sHeight);
+                    cardWidth = getCardWidth(recordingAspect, cardHeight);
                     mCardView.setMainImageDimensions(cardWidth, cardHeight);
                     mDefaultCardImage = TvApp.getApplication().getDrawableCompat(R.drawable.tv);
                     break;
@@ -262,6 +297,7 @@ public class CardPresenter extends Presenter {
                     //TvApp.getApplication().getLogger().Debug("Loading card image");
                     Glide.with(getContext())
                             .load(url)
+                            .diskCacheStrategy(DiskCacheStrategy.ALL)
                             .override(cardWidth, cardHeight)
                             .centerCrop()
                             .error(mDefaultCardImage)
@@ -311,7 +347,7 @@ public class CardPresenter extends Presenter {
 
 
         ViewHolder holder = (ViewHolder) viewHolder;
-        holder.setItem(rowItem, mImageType, 260, 300, mStaticHeight);
+        holder.setItem(rowItem, mImageType, LANDSCAPE_HEIGHT, PORTRAIT_HEIGHT, mStaticHeight);
 
         holder.mCardView.setTitleText(rowItem.getCardName());
         holder.mCardView.setContentText(rowItem.getSubText());
@@ -332,6 +368,33 @@ public class CardPresenter extends Presenter {
 
     }
 
+    /**
+     * Start loading the image a card bound to this item would show, at the size it would show it, so it is
+     * in the memory cache by the time the card is bound.
+     *
+     * @return the load so it can be cancelled or null if there is nothing to load ahead for this item
+     */
+    public Target preloadImage(BaseRowItem item) {
+        if (!item.isValid()) return null;
+        Double aspect = getImageAspect(item, mImageType);
+        if (aspect == null) return null;
+        int height = getCardHeight(item, aspect, LANDSCAPE_HEIGHT, PORTRAIT_HEIGHT, mStaticHeight);
+        String url = item.getImageUrl(mImageType, height);
+        if (url == null) return null;
+
+        try {
+            return Glide.with(getContext())
+                    .load(url)
+                    .diskCacheStrategy(DiskCacheStrategy.ALL)
+                    .override(getCardWidth(aspect, height), height)
+                    .centerCrop()
+                    .preload();
+        } catch (IllegalArgumentException e) {
+            TvApp.getApplication().getLogger().Info("Image preload aborted due to activity closing");
+            return null;
+        }
+    }
+
     @Override
     public void onUnbindViewHolder(Presenter.ViewHolder viewHolder) {
         //TvApp.getApplication().getLogger().Debug("onUnbindViewHolder");
@@ -114,6 +114,12 @@ public class MyDetailsOverviewRowPresenter extends RowPresenter {
     public TextView getButtonHelpView() { return viewHolder.mButtonHelp; }
     public ImageView getPosterView() { return viewHolder.mPoster; }
 
+    public void updateImages(MyDetailsOverviewRow row) {
+        if (viewHolder == null) return;
+        viewHolder.mPoster.setImageDrawable(row.getImageDrawable());
+        viewHolder.mStudioImage.setImageDrawable(row.getStudioDrawable());
+    }
+
     public void updateEndTime(String text) {
         if (viewHolder != null && viewHolder.mTimeLine != null) viewHolder.mTimeLine.setText(text);
     }
@@ -0,0 +1,179 @@
+// app/src/main/java/org/jellyfin/androidtv/querying/CoalescingHttpClient.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.querying;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import mediabrowser.apiinteraction.Response;
+import mediabrowser.apiinteraction.android.VolleyHttpClient;
+import mediabrowser.apiinteraction.http.HttpRequest;
+import mediabrowser.model.logging.ILogger;
+
+/**
+ * Http client for the ApiClient that shares identical GET requests.
+ *
+ * A GET that matches one already in flight is attached to it instead of going to the network and every
+ * caller gets the same response.  Successful responses are also kept for a couple of seconds so the
+ * same request made by several screens in quick succession is only sent once.  Any other method
+ * (a played or favorite change, for instance) drops the kept responses and detaches the requests in
+ * flight, so a GET made after it always goes to the network and nothing sent before it is kept.
+ *
+ * It has to remain a VolleyHttpClient as the ApiClient reaches through to it for its image loader.
+ */
+public class CoalescingHttpClient extends VolleyHttpClient {
+    private static final long MAX_AGE = 2500;
+    private static final int MAX_RESPONSES = 24;
+
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private final HashMap<String, List<Response<String>>> mInFlight = new HashMap<>();
+    // bumped by clear() - responses to requests sent in an earlier generation aren't kept
+    private int mGeneration;
+    private final LinkedHashMap<String, CachedResponse> mResponses = new LinkedHashMap<String, CachedResponse>(MAX_RESPONSES, .75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > MAX_RESPONSES;
+        }
+    };
+
+    public CoalescingHttpClient(ILogger logger, Context context) {
+        super(logger, context);
+    }
+
+    @Override
+    public void Send(HttpRequest request, final Response<String> response) {
+        if (!"GET".equalsIgnoreCase(request.getMethod())) {
+            clear();
+            super.Send(request, response);
+            return;
+        }
+
+        final String key = getKey(request);
+        final List<Response<String>> callers;
+        final int generation;
+        synchronized (this) {
+            final CachedResponse cached = mResponses.get(key);
+            if (cached != null) {
+                if (System.currentTimeMillis() - cached.time < MAX_AGE) {
+                    // callers expect to hear back later on the main thread just like from the network
+                    mHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            response.onResponse(cached.payload);
+                        }
+                    });
+                    return;
+                }
+                mResponses.remove(key);
+            }
+
+            List<Response<String>> waiting = mInFlight.get(key);
+            if (waiting != null) {
+                waiting.add(response);
+                return;
+            }
+            waiting = new ArrayList<>();
+            waiting.add(response);
+            mInFlight.put(key, waiting);
+            callers = waiting;
+            generation = mGeneration;
+        }
+
+        super.Send(request, new Response<String>() {
+            @Override
+            public void onResponse(String payload) {
+                synchronized (CoalescingHttpClient.this) {
+                    finished(key, callers);
+                    if (payload != null && generation == mGeneration) {
+                        trimExpired();
+                        mResponses.put(key, new CachedResponse(payload));
+                    }
+                }
+                for (Response<String> caller : callers) {
+                    caller.onResponse(payload);
+                }
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                synchronized (CoalescingHttpClient.this) {
+                    finished(key, callers);
+                }
+                for (Response<String> caller : callers) {
+                    caller.onError(exception);
+                }
+            }
+        });
+    }
+
+    /**
+     * Forget every kept response and stop new GETs joining the ones in flight - those still complete for
+     * the callers already waiting on them
+     */
+    public synchronized void clear() {
+        mGeneration++;
+        mResponses.clear();
+        mInFlight.clear();
+    }
+
+    // a clear() may already have detached these callers and a newer request taken their place
+    private void finished(String key, List<Response<String>> callers) {
+        if (mInFlight.get(key) == callers) mInFlight.remove(key);
+    }
+
+    private synchronized void trimExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<CachedResponse> responses = mResponses.values().iterator();
+        while (responses.hasNext()) {
+            if (now - responses.next().time >= MAX_AGE) responses.remove();
+        }
+    }
+
+    // the url carries the whole query; the auth header tells apart the same url for different users
+    private static String getKey(HttpRequest request) {
+        StringBuilder key = new StringBuilder(request.getUrl());
+        if (request.getRequestHeaders() != null) {
+            key.append('|').append(request.getRequestHeaders().getAuthorizationScheme())
+                    .append(' ').append(request.getRequestHeaders().getAuthorizationParameter());
+            for (Map.Entry<String, String> header : new TreeMap<>(request.getRequestHeaders()).entrySet()) {
+                key.append('|').append(header.getKey()).append('=').append(header.getValue());
+            }
+        }
+        return key.toString();
+    }
+
+    private static class CachedResponse {
+        final String payload;
+        final long time;
+
+        CachedResponse(String payload) {
+            this.payload = payload;
+            time = System.currentTimeMillis();
+        }
+    }
+}
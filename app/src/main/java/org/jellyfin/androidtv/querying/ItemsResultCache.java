@@ -0,0 +1,227 @@
+// app/src/main/java/org/jellyfin/androidtv/querying/ItemsResultCache.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.querying;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import org.jellyfin.androidtv.TvApp;
+import org.jellyfin.androidtv.util.Utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import mediabrowser.apiinteraction.Response;
+import mediabrowser.model.querying.ItemQuery;
+import mediabrowser.model.querying.ItemsResult;
+
+/**
+ * Persistent, size-bounded cache of item query responses.
+ *
+ * Entries are keyed by the serialized query (which covers parent, sort, filters and paging) plus the
+ * current server and user so rows can be shown from disk while the live request is still running.
+ * All file access and (de)serialization happens on a single background thread and results are posted
+ * back to the main thread.
+ */
+public class ItemsResultCache {
+    private static final String CACHE_DIR = "itemsresults";
+    private static final long MAX_CACHE_BYTES = 8 * 1024 * 1024;
+
+    private static ItemsResultCache instance;
+
+    private final File mCacheDir;
+    private final ExecutorService mExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private long mCurrentSize = -1;
+
+    public static ItemsResultCache getInstance() {
+        if (instance == null) instance = new ItemsResultCache();
+        return instance;
+    }
+
+    private ItemsResultCache() {
+        mCacheDir = new File(TvApp.getApplication().getCacheDir(), CACHE_DIR);
+    }
+
+    /**
+     * Builds the normalized key for a query. The query is mutated as rows page, so callers should
+     * capture the key at the time the request is issued.
+     */
+    public static String getKey(ItemQuery query) {
+        TvApp app = TvApp.getApplication();
+        String serverId = app.getApiClient() != null && app.getApiClient().getServerInfo() != null ? app.getApiClient().getServerInfo().getId() : "";
+        // not every query carries the user so add it here - one user's rows must never be shown to another
+        String userId = app.getCurrentUser() != null ? app.getCurrentUser().getId() : "";
+        return serverId + "|" + userId + "|" + app.getSerializer().SerializeToString(query);
+    }
+
+    /**
+     * Look up a cached response. Responds on the main thread with the cached entry or null on a miss.
+     */
+    public void get(final String key, final Response<Entry> outerResponse) {
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                String payload = read(key);
+                ItemsResult result = payload != null ? deserialize(payload) : null;
+                final Entry entry = result != null ? new Entry(payload, result) : null;
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        outerResponse.onResponse(entry);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Store a fresh response.  If a previous payload is given, responds on the main thread with whether the fresh one differs from it.
+     */
+    public void put(final String key, final ItemsResult result, final String previousPayload, final Response<Boolean> outerResponse) {
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                String payload = TvApp.getApplication().getSerializer().SerializeToString(result);
+                final boolean changed = !payload.equals(previousPayload);
+                if (changed) write(key, payload);
+                if (outerResponse != null) mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        outerResponse.onResponse(changed);
+                    }
+                });
+            }
+        });
+    }
+
+    private ItemsResult deserialize(String payload) {
+        try {
+            return (ItemsResult) TvApp.getApplication().getSerializer().DeserializeFromString(payload, ItemsResult.class);
+        } catch (Exception e) {
+            TvApp.getApplication().getLogger().ErrorException("Unable to interpret cached items", e);
+            return null;
+        }
+    }
+
+    private File getFile(String key) {
+        return new File(mCacheDir, Utils.MD5(key));
+    }
+
+    private String read(String key) {
+        File file = getFile(key);
+        if (!file.exists()) return null;
+        try {
+            StringBuilder builder = new StringBuilder((int) file.length());
+            Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+            try {
+                char[] buffer = new char[8192];
+                int count;
+                while ((count = reader.read(buffer)) > 0) {
+                    builder.append(buffer, 0, count);
+                }
+            } finally {
+                reader.close();
+            }
+            String contents = builder.toString();
+            // first line is the full key so a hash collision can't serve the wrong row
+            int split = contents.indexOf('\n');
+            if (split < 0 || !key.equals(contents.substring(0, split))) return null;
+            file.setLastModified(System.currentTimeMillis());
+            return contents.substring(split + 1);
+        } catch (IOException e) {
+            TvApp.getApplication().getLogger().ErrorException("Error reading cached items", e);
+            return null;
+        }
+    }
+
+    private void write(String key, String payload) {
+        if (!mCacheDir.exists() && !mCacheDir.mkdirs()) return;
+        if (mCurrentSize < 0) mCurrentSize = measure();
+
+        File file = getFile(key);
+        long previous = file.length();
+        try {
+            OutputStream stream = new FileOutputStream(file);
+            stream.write((key.replace('\n', ' ') + "\n" + payload).getBytes("UTF-8"));
+            stream.close();
+            mCurrentSize += file.length() - previous;
+        } catch (IOException e) {
+            TvApp.getApplication().getLogger().ErrorException("Error caching items", e);
+            file.delete();
+            mCurrentSize = measure();
+        }
+
+        if (mCurrentSize > MAX_CACHE_BYTES) trim();
+    }
+
+    private long measure() {
+        long size = 0;
+        File[] files = mCacheDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                size += file.length();
+            }
+        }
+        return size;
+    }
+
+    private void trim() {
+        File[] files = mCacheDir.listFiles();
+        if (files == null) return;
+
+        // least recently used first
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File lhs, File rhs) {
+                return Long.valueOf(lhs.lastModified()).compareTo(rhs.lastModified());
+            }
+        });
+
+        long target = MAX_CACHE_BYTES * 3 / 4;
+        for (File file : files) {
+            if (mCurrentSize <= target) break;
+            long length = file.length();
+            if (file.delete()) mCurrentSize -= length;
+        }
+        TvApp.getApplication().getLogger().Debug("Items cache trimmed to " + mCurrentSize + " bytes");
+    }
+
+    /**
+     * A cached response along with the payload it was read from, to compare against the live one
+     */
+    public static class Entry {
+        public final String payload;
+        public final ItemsResult result;
+
+        Entry(String payload, ItemsResult result) {
+            this.payload = payload;
+            this.result = result;
+        }
+    }
+}
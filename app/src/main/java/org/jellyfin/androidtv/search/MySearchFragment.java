@@ -15,10 +15,8 @@ import android.support.v17.leanback.widget.Row;
 import android.support.v17.leanback.widget.RowPresenter;
 import android.util.DisplayMetrics;
 
-import com.squareup.picasso.Target;
 
 import org.jellyfin.androidtv.R;
-import org.jellyfin.androidtv.imagehandling.PicassoBackgroundManagerTarget;
 import org.jellyfin.androidtv.itemhandling.BaseRowItem;
 import org.jellyfin.androidtv.itemhandling.ItemLauncher;
 import org.jellyfin.androidtv.itemhandling.ItemRowAdapter;
@@ -38,7 +36,6 @@ public class MySearchFragment extends SearchFragment
     private SearchRunnable mDelayedLoad;
 
     private Drawable mDefaultBackground;
-    private Target mBackgroundTarget;
     private DisplayMetrics mMetrics;
     private Timer mBackgroundTimer;
     private String mBackgroundUrl;
@@ -100,7 +97,6 @@ public class MySearchFragment extends SearchFragment
 
         BackgroundManager backgroundManager = BackgroundManager.getInstance(getActivity());
         backgroundManager.attach(getActivity().getWindow());
-        mBackgroundTarget = new PicassoBackgroundManagerTarget(backgroundManager);
 
         mDefaultBackground = getResources().getDrawable(R.drawable.moviebg);
 
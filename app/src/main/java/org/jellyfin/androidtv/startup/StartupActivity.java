@@ -19,6 +19,7 @@ import org.jellyfin.androidtv.browsing.MainActivity;
 import org.jellyfin.androidtv.details.FullDetailsActivity;
 import org.jellyfin.androidtv.eventhandling.TvApiEventListener;
 import org.jellyfin.androidtv.playback.MediaManager;
+import org.jellyfin.androidtv.querying.CoalescingHttpClient;
 import org.jellyfin.androidtv.util.Utils;
 
 import java.util.ArrayList;
@@ -87,9 +88,7 @@ public class StartupActivity extends Activity {
             startActivity(intent);
 
         } else {
-            //clear audio queue in case left over from last run
-            MediaManager.clearAudioQueue();
-            MediaManager.clearVideoQueue();
+            //queues left from the last run are kept (or restored once signed in) so they can be resumed
             establishConnection(this);
         }
 
@@ -123,7 +122,7 @@ public class StartupActivity extends Activity {
 
     private void establishConnection(final Activity activity){
         // The underlying http stack. Developers can inject their own if desired
-        VolleyHttpClient volleyHttpClient = new VolleyHttpClient(logger, application);
+        VolleyHttpClient volleyHttpClient = new CoalescingHttpClient(logger, application);
         TvApp.getApplication().setHttpClient(volleyHttpClient);
         ClientCapabilities capabilities = new ClientCapabilities();
         ArrayList<String> playableTypes = new ArrayList<>();
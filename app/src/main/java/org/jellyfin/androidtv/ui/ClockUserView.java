@@ -10,7 +10,8 @@ import android.widget.RelativeLayout;
 import android.widget.TextClock;
 import android.widget.TextView;
 
-import com.squareup.picasso.Picasso;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
 
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
@@ -42,7 +43,7 @@ public class ClockUserView extends RelativeLayout {
             username.setText(TvApp.getApplication().getCurrentUser().getName());
             ImageView userImage = (ImageView) v.findViewById(R.id.userImage);
             if (TvApp.getApplication().getCurrentUser().getHasPrimaryImage()) {
-                Picasso.with(context).load(Utils.getPrimaryImageUrl(TvApp.getApplication().getCurrentUser(), TvApp.getApplication().getApiClient())).error(R.drawable.user).resize(30,30).centerInside().into(userImage);
+                Glide.with(context).load(Utils.getPrimaryImageUrl(TvApp.getApplication().getCurrentUser(), TvApp.getApplication().getApiClient())).diskCacheStrategy(DiskCacheStrategy.ALL).error(R.drawable.user).override(30,30).fitCenter().into(userImage);
             } else {
                 userImage.setImageResource(R.drawable.user);
             }
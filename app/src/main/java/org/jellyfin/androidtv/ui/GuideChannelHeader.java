@@ -8,7 +8,8 @@ import android.widget.ImageView;
 import android.widget.RelativeLayout;
 import android.widget.TextView;
 
-import com.squareup.picasso.Picasso;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
 
 import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.TvApp;
@@ -42,13 +43,19 @@ public class GuideChannelHeader extends RelativeLayout {
         v.setLayoutParams(new AbsListView.LayoutParams(HEADER_WIDTH, LiveTvGuideActivity.ROW_HEIGHT));
         this.addView(v);
         this.setFocusable(false);
+        mChannelImage = (ImageView) findViewById(R.id.channelImage);
+        setChannel(channel);
+    }
+
+    public void setChannel(ChannelInfoDto channel) {
+        mChannel = channel;
         ((TextView) findViewById(R.id.channelName)).setText(channel.getName());
         ((TextView) findViewById(R.id.channelNumber)).setText(channel.getNumber());
-        mChannelImage = (ImageView) findViewById(R.id.channelImage);
+        mChannelImage.setImageDrawable(null);
     }
 
     public void loadImage() {
-        Picasso.with(mActivity).load(Utils.getPrimaryImageUrl(mChannel, TvApp.getApplication().getApiClient())).resize(IMAGE_WIDTH, IMAGE_HEIGHT).centerInside().into(mChannelImage);
+        Glide.with(mActivity).load(Utils.getPrimaryImageUrl(mChannel, TvApp.getApplication().getApiClient())).diskCacheStrategy(DiskCacheStrategy.ALL).override(IMAGE_WIDTH, IMAGE_HEIGHT).fitCenter().into(mChannelImage);
     }
 
 }
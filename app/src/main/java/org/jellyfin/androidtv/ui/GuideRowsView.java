@@ -0,0 +1,67 @@
+// app/src/main/java/org/jellyfin/androidtv/ui/GuideRowsView.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.ui;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Recycled list of guide program rows.
+ *
+ * Rows are only created for the channels in view and re-bound as the user scrolls, so up/down focus
+ * targets are worked out when focus moves instead of being wired between every pair of rows up front.
+ */
+public class GuideRowsView extends RecyclerView {
+
+    public GuideRowsView(Context context) {
+        super(context);
+    }
+
+    public GuideRowsView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    public GuideRowsView(Context context, AttributeSet attrs, int defStyle) {
+        super(context, attrs, defStyle);
+    }
+
+    @Override
+    public View focusSearch(View focused, int direction) {
+        View next = super.focusSearch(focused, direction);
+        if (next == null || (direction != FOCUS_UP && direction != FOCUS_DOWN)) return next;
+
+        View currentRow = findContainingItemView(focused);
+        View otherRow = findContainingItemView(next);
+        if (currentRow == null || otherRow == null || currentRow == otherRow || !(otherRow instanceof ViewGroup)) return next;
+
+        // find first cell in other row where our left edge is within its body (will be first one who's right edge is greater than our left)
+        View cell = focused;
+        while (cell.getParent() != currentRow && cell.getParent() instanceof View) cell = (View) cell.getParent();
+        ViewGroup row = (ViewGroup) otherRow;
+        for (int i = 0; i < row.getChildCount(); i++) {
+            View otherCell = row.getChildAt(i);
+            if (otherCell.isFocusable() && otherCell.getRight() > cell.getLeft()) return otherCell;
+        }
+
+        return next;
+    }
+}
@@ -25,6 +25,7 @@ import mediabrowser.model.dto.BaseItemDto;
  */
 public class ProgramGridCell extends RelativeLayout implements IRecordingIndicatorView {
 
+    private Activity mContext;
     private ILiveTvGuide mActivity;
     private TextView mProgramName;
     private LinearLayout mInfoRow;
@@ -39,20 +40,37 @@ public class ProgramGridCell extends RelativeLayout implements IRecordingIndicat
     }
 
     private void initComponent(Activity context, ILiveTvGuide activity, BaseItemDto program) {
+        mContext = context;
         mActivity = activity;
-        mProgram = program;
         LayoutInflater inflater = LayoutInflater.from(context);
         View v = inflater.inflate(R.layout.program_grid_cell, this, false);
         this.addView(v);
 
         mProgramName = (TextView) findViewById(R.id.programName);
         mInfoRow = (LinearLayout) findViewById(R.id.infoRow);
-        mProgramName.setText(program.getName());
-        mProgram = program;
         mProgramName.setFocusable(false);
         mInfoRow.setFocusable(false);
         mRecIndicator = (ImageView) findViewById(R.id.recIndicator);
 
+        setOnClickListener(new OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                mActivity.showProgramOptions();
+            }
+        });
+
+        setProgram(program);
+    }
+
+    /**
+     * Bind this cell to a program - used both on creation and when a recycled cell is re-used by the guide.
+     */
+    public void setProgram(BaseItemDto program) {
+        mProgram = program;
+        mProgramName.setText(program.getName());
+        mInfoRow.removeAllViews();
+
+        mBackgroundColor = 0;
         if (Utils.isTrue(program.getIsMovie()))
             mBackgroundColor = getResources().getColor(R.color.guide_movie_bg);
         else if (Utils.isTrue(program.getIsNews()))
@@ -62,40 +80,35 @@ public class ProgramGridCell extends RelativeLayout implements IRecordingIndicat
         else if (Utils.isTrue(program.getIsKids()))
             mBackgroundColor = getResources().getColor(R.color.guide_kids_bg);
 
-        setBackgroundColor(mBackgroundColor);
+        setBackgroundColor(hasFocus() ? getResources().getColor(R.color.lb_default_brand_color) : mBackgroundColor);
 
         if (program.getStartDate() != null && program.getEndDate() != null) {
-            TextView time = new TextView(context);
+            TextView time = new TextView(mContext);
             Date localStart = Utils.convertToLocalDate(program.getStartDate());
-            if (localStart.getTime() + 60000 < activity.getCurrentLocalStartDate()) mProgramName.setText("<< "+mProgramName.getText());
+            if (localStart.getTime() + 60000 < mActivity.getCurrentLocalStartDate()) mProgramName.setText("<< "+mProgramName.getText());
             time.setText(android.text.format.DateFormat.getTimeFormat(TvApp.getApplication()).format(Utils.convertToLocalDate(program.getStartDate()))
                     + "-" + android.text.format.DateFormat.getTimeFormat(TvApp.getApplication()).format(Utils.convertToLocalDate(program.getEndDate())));
             mInfoRow.addView(time);
         }
 
         if (program.getOfficialRating() != null && !program.getOfficialRating().equals("0")) {
-            InfoLayoutHelper.addSpacer(context, mInfoRow, "  ", 10);
-            InfoLayoutHelper.addBlockText(context, mInfoRow, program.getOfficialRating(), 10);
+            InfoLayoutHelper.addSpacer(mContext, mInfoRow, "  ", 10);
+            InfoLayoutHelper.addBlockText(mContext, mInfoRow, program.getOfficialRating(), 10);
         }
 
         if (program.getIsHD() != null && program.getIsHD()) {
-            InfoLayoutHelper.addSpacer(context, mInfoRow, "  ", 10);
-            InfoLayoutHelper.addBlockText(context, mInfoRow, "HD", 10);
+            InfoLayoutHelper.addSpacer(mContext, mInfoRow, "  ", 10);
+            InfoLayoutHelper.addBlockText(mContext, mInfoRow, "HD", 10);
         }
 
         if (program.getSeriesTimerId() != null) {
             mRecIndicator.setImageResource(R.drawable.recseries);
         } else if (program.getTimerId() != null) {
             mRecIndicator.setImageResource(R.drawable.rec);
+        } else {
+            mRecIndicator.setImageDrawable(null);
         }
 
-        setOnClickListener(new OnClickListener() {
-            @Override
-            public void onClick(View v) {
-                mActivity.showProgramOptions();
-            }
-        });
-
     }
 
     @Override
@@ -0,0 +1,45 @@
+// app/src/main/java/org/jellyfin/androidtv/util/Debouncer.java
+// Part of the Jellyfin project (https://jellyfin.media)
+//
+//    All copyright belongs to the Jellyfin contributors; a full list can
+//    be found in the file CONTRIBUTORS.md
+//
+//    This program is free software: you can redistribute it and/or modify
+//    it under the terms of the GNU General Public License as published by
+//    the Free Software Foundation, version 2.
+//
+//    This program is distributed in the hope that it will be useful,
+//    but WITHOUT ANY WARRANTY; without even the implied warranty of
+//    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//    GNU General Public License for more details.
+//
+//    You should have received a copy of the GNU General Public License
+// along with this program. If not, see <https://www.gnu.org/licenses/>.
+
+package org.jellyfin.androidtv.util;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/**
+ * Shared scheduler for work that should only run once selection has settled - background changes,
+ * info panels, detail refreshes.
+ *
+ * Everything runs on the main thread's looper, so scheduling never creates a thread.  Scheduling a
+ * task that is already pending pushes it back by the new delay instead of running it twice.
+ */
+public class Debouncer {
+    private static final Handler handler = new Handler(Looper.getMainLooper());
+
+    private Debouncer() {
+    }
+
+    public static void schedule(Runnable task, long delay) {
+        handler.removeCallbacks(task);
+        handler.postDelayed(task, delay);
+    }
+
+    public static void cancel(Runnable task) {
+        handler.removeCallbacks(task);
+    }
+}
@@ -35,6 +35,7 @@ import org.jellyfin.androidtv.details.FullDetailsActivity;
 import org.jellyfin.androidtv.details.ItemListActivity;
 import org.jellyfin.androidtv.model.ChapterItemInfo;
 import org.jellyfin.androidtv.playback.MediaManager;
+import org.jellyfin.androidtv.playback.PagedItemList;
 import org.jellyfin.androidtv.playback.PlaybackOverlayActivity;
 import org.jellyfin.androidtv.startup.DpadPwActivity;
 import org.jellyfin.androidtv.startup.LogonCredentials;
@@ -109,6 +110,20 @@ public class Utils {
 
     private static int maxPrimaryImageHeight = 370;
 
+    // heights images are rendered at by the server - requests snap up to one of these and are scaled down
+    // locally so one download serves cards, posters and the now playing views
+    private static final int[] IMAGE_SIZE_BUCKETS = new int[] {120, 240, 480, 720, 1080};
+
+    /**
+     * @return the smallest server render size that covers the requested one, or the largest for anything bigger
+     */
+    public static int getImageSizeBucket(int size) {
+        for (int bucket : IMAGE_SIZE_BUCKETS) {
+            if (size <= bucket) return bucket;
+        }
+        return IMAGE_SIZE_BUCKETS[IMAGE_SIZE_BUCKETS.length - 1];
+    }
+
     /**
      * Returns the screen/display size
      *
@@ -274,7 +289,7 @@ public class Utils {
     public static String getPrimaryImageUrl(BaseItemPerson item, ApiClient apiClient, int maxHeight) {
         ImageOptions options = new ImageOptions();
         options.setTag(item.getPrimaryImageTag());
-        options.setMaxHeight(maxHeight);
+        options.setMaxHeight(getImageSizeBucket(maxHeight));
         options.setImageType(ImageType.Primary);
         return apiClient.GetPersonImageUrl(item, options);
     }
@@ -282,7 +297,7 @@ public class Utils {
     public static String getPrimaryImageUrl(StudioDto studio, ApiClient apiClient, int maxHeight) {
         ImageOptions options = new ImageOptions();
         options.setTag(studio.getPrimaryImageTag());
-        options.setMaxHeight(maxHeight);
+        options.setMaxHeight(getImageSizeBucket(maxHeight));
         options.setImageType(ImageType.Primary);
         return apiClient.GetImageUrl(studio.getId(), options);
     }
@@ -290,7 +305,7 @@ public class Utils {
     public static String getPrimaryImageUrl(UserDto item, ApiClient apiClient) {
         ImageOptions options = new ImageOptions();
         options.setTag(item.getPrimaryImageTag());
-        options.setMaxHeight(maxPrimaryImageHeight);
+        options.setMaxHeight(getImageSizeBucket(maxPrimaryImageHeight));
         options.setImageType(ImageType.Primary);
         return apiClient.GetUserImageUrl(item, options);
     }
@@ -310,7 +325,7 @@ public class Utils {
         if (!item.getHasPrimaryImage()) return null;
         ImageOptions options = new ImageOptions();
         options.setTag(item.getImageTags().get(ImageType.Primary));
-        options.setMaxHeight(maxPrimaryImageHeight);
+        options.setMaxHeight(getImageSizeBucket(maxPrimaryImageHeight));
         options.setImageType(ImageType.Primary);
         return apiClient.GetImageUrl(item, options);
     }
@@ -319,7 +334,7 @@ public class Utils {
         if (!item.getHasPrimaryImage()) return null;
         ImageOptions options = new ImageOptions();
         options.setTag(item.getImageTags().get(ImageType.Primary));
-        options.setMaxHeight(maxPrimaryImageHeight);
+        options.setMaxHeight(getImageSizeBucket(maxPrimaryImageHeight));
         options.setImageType(ImageType.Primary);
         return apiClient.GetImageUrl(item, options);
     }
@@ -328,7 +343,7 @@ public class Utils {
 
     public static String getImageUrl(String itemId, ImageType imageType, String imageTag, ApiClient apiClient) {
         ImageOptions options = new ImageOptions();
-        options.setMaxHeight(maxPrimaryImageHeight);
+        options.setMaxHeight(getImageSizeBucket(maxPrimaryImageHeight));
         options.setImageType(imageType);
         options.setTag(imageTag);
 
@@ -340,6 +355,7 @@ public class Utils {
         ImageOptions options = new ImageOptions();
         options.setTag(item.getImageTags().get(ImageType.Banner));
         options.setImageType(ImageType.Banner);
+        options.setMaxHeight(getImageSizeBucket(maxHeight));
         UserItemDataDto userData = item.getUserData();
         if (userData != null && !"MusicArtist".equals(item.getType()) && !"MusicAlbum".equals(item.getType())) {
             if (Arrays.asList(ProgressIndicatorTypes).contains(item.getType()) && userData.getPlayedPercentage() != null
@@ -363,6 +379,7 @@ public class Utils {
         ImageOptions options = new ImageOptions();
         options.setTag(item.getImageTags().get(ImageType.Thumb));
         options.setImageType(ImageType.Thumb);
+        options.setMaxHeight(getImageSizeBucket(maxHeight));
         UserItemDataDto userData = item.getUserData();
         if (userData != null && !"MusicArtist".equals(item.getType()) && !"MusicAlbum".equals(item.getType())) {
             if (Arrays.asList(ProgressIndicatorTypes).contains(item.getType()) && userData.getPlayedPercentage() != null
@@ -424,7 +441,7 @@ public class Utils {
                 imageTag = null;
             }
         }
-        options.setMaxHeight(maxHeight);
+        options.setMaxHeight(getImageSizeBucket(maxHeight));
         options.setImageType(imageType);
         UserItemDataDto userData = item.getUserData();
         if (userData != null) {
@@ -493,6 +510,9 @@ public class Utils {
         return null;
     }
 
+    // just enough to show queued items - the playback details are loaded as each one comes up to play
+    private static final ItemFields[] QUEUE_FIELDS = new ItemFields[] {ItemFields.PrimaryImageAspectRatio};
+
     public static void getItemsToPlay(final BaseItemDto mainItem, boolean allowIntros, final boolean shuffle, final Response<List<BaseItemDto>> outerResponse) {
         final List<BaseItemDto> items = new ArrayList<>();
         ItemQuery query = new ItemQuery();
@@ -509,7 +529,7 @@ public class Utils {
                         query.setMinIndexNumber(mainItem.getIndexNumber() + 1);
                         query.setSortBy(new String[] {ItemSortBy.SortName});
                         query.setIncludeItemTypes(new String[]{"Episode"});
-                        query.setFields(new ItemFields[] {ItemFields.MediaSources, ItemFields.MediaStreams, ItemFields.Path, ItemFields.Chapters, ItemFields.Overview, ItemFields.PrimaryImageAspectRatio});
+                        query.setFields(QUEUE_FIELDS);
                         query.setUserId(TvApp.getApplication().getCurrentUser().getId());
                         TvApp.getApplication().getApiClient().GetItemsAsync(query, new Response<ItemsResult>() {
                             @Override
@@ -547,18 +567,12 @@ public class Utils {
                 query.setIsMissing(false);
                 query.setIsVirtualUnaired(false);
                 query.setIncludeItemTypes(new String[]{"Episode", "Movie", "Video"});
-                query.setSortBy(new String[]{shuffle ? ItemSortBy.Random : ItemSortBy.SortName});
+                query.setSortBy(new String[]{ItemSortBy.SortName});
                 query.setRecursive(true);
-                query.setLimit(50); // guard against too many items
-                query.setFields(new ItemFields[] {ItemFields.MediaSources, ItemFields.MediaStreams, ItemFields.Chapters, ItemFields.Path, ItemFields.PrimaryImageAspectRatio});
+                query.setFields(QUEUE_FIELDS);
                 query.setUserId(TvApp.getApplication().getCurrentUser().getId());
-                TvApp.getApplication().getApiClient().GetItemsAsync(query, new Response<ItemsResult>() {
-                    @Override
-                    public void onResponse(ItemsResult response) {
-                        Collections.addAll(items, response.getItems());
-                        outerResponse.onResponse(items);
-                    }
-                });
+                // the rest is loaded as the queue plays
+                PagedItemList.load(query, shuffle, outerResponse);
                 break;
             case "MusicAlbum":
             case "MusicArtist":
@@ -566,17 +580,11 @@ public class Utils {
                 query.setIsMissing(false);
                 query.setIsVirtualUnaired(false);
                 query.setIncludeItemTypes(new String[]{"Audio"});
-                query.setSortBy(shuffle ? new String[] {ItemSortBy.Random} : "MusicArtist".equals(mainItem.getType()) ? new String[] {ItemSortBy.Album} : new String[] {ItemSortBy.SortName});
+                query.setSortBy("MusicArtist".equals(mainItem.getType()) ? new String[] {ItemSortBy.Album} : new String[] {ItemSortBy.SortName});
                 query.setRecursive(true);
-                query.setLimit(150); // guard against too many items
                 query.setFields(new ItemFields[] {ItemFields.PrimaryImageAspectRatio, ItemFields.Genres});
                 query.setUserId(TvApp.getApplication().getCurrentUser().getId());
-                TvApp.getApplication().getApiClient().GetItemsAsync(query, new Response<ItemsResult>() {
-                    @Override
-                    public void onResponse(ItemsResult response) {
-                        outerResponse.onResponse(Arrays.asList(response.getItems()));
-                    }
-                });
+                PagedItemList.load(query, shuffle, outerResponse);
                 break;
             case "Playlist":
                 if (mainItem.getId().equals(ItemListActivity.FAV_SONGS)) {
@@ -586,17 +594,10 @@ public class Utils {
                 }
                 query.setIsMissing(false);
                 query.setIsVirtualUnaired(false);
-                if (shuffle) query.setSortBy(new String[] {ItemSortBy.Random});
                 query.setRecursive(true);
-                query.setLimit(150); // guard against too many items
-                query.setFields(new ItemFields[] {ItemFields.MediaSources, ItemFields.MediaStreams, ItemFields.Chapters, ItemFields.Path, ItemFields.PrimaryImageAspectRatio});
+                query.setFields(QUEUE_FIELDS);
                 query.setUserId(TvApp.getApplication().getCurrentUser().getId());
-                TvApp.getApplication().getApiClient().GetItemsAsync(query, new Response<ItemsResult>() {
-                    @Override
-                    public void onResponse(ItemsResult response) {
-                        outerResponse.onResponse(Arrays.asList(response.getItems()));
-                    }
-                });
+                PagedItemList.load(query, shuffle, outerResponse);
                 break;
 
             case "Program":